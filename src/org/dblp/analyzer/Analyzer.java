@@ -0,0 +1,72 @@
+package org.dblp.analyzer;
+
+import org.dblp.field.PublicationData;
+import org.dblp.helper.MyPath;
+
+/**
+ * One statistical analysis of the publications of the dblp XML document,<br/>
+ * e.g. the number of new authors/editors per year.<br/>
+ * An analyzer gets each publication (add), computes what it derives from<br/>
+ * all publications at the end (finish) and writes its output file and its<br/>
+ * part of the log file (render). Its result can also be written by a<br/>
+ * ResultSink (getResult). It releases its output file in flushAndClose.<br/>
+ * For a parallel parse, each thread has its own analyzers which are merged<br/>
+ * afterward; for the incremental mode, a publication can be taken out again<br/>
+ * (retract).<br/>
+ * The analyzers are found with a ServiceLoader: an implementation is<br/>
+ * registered in META-INF/services/org.dblp.analyzer.Analyzer and needs a<br/>
+ * public constructor without parameters (see Analyzers).
+ * @author SergeOliver
+ *
+ */
+public interface Analyzer extends MyPath {
+
+	/**
+	 * @return The name which selects the analyzer on the command line. e.g. new-authors
+	 */
+	String getName();
+
+	/**
+	 * @return The names of the field elements whose data the analyzer reads,<br/>
+	 * e.g. author. The parser skips the text of the other fields (see<br/>
+	 * PublicationHandler.project); they are still counted by<br/>
+	 * Publication.getNumberOfFields.
+	 */
+	String[] getElements();
+
+	/**
+	 * Counts a publication.
+	 * @param publication
+	 */
+	void add(PublicationData publication);
+
+	/**
+	 * Takes a publication out of the statistical data: the opposite of add.<br/>
+	 * Entries which fall to zero are removed, so that the statistical data<br/>
+	 * are the same as if the publication had never been added.
+	 * @param publication which was given to add.
+	 */
+	void retract(PublicationData publication);
+
+	/**
+	 * Adds the statistical data of another analyzer of the same class to this one.<br/>
+	 * The result does not depend on the order in which the analyzers are merged.
+	 * @param other
+	 */
+	void merge(Analyzer other);
+
+	/**
+	 * Called once after the last publication was added, before render.
+	 */
+	void finish();
+
+	/**
+	 * Computes the result and writes it in the output file and the log file.
+	 */
+	void render();
+
+	/**
+	 * @return The result computed by render, or null before render.
+	 */
+	Result getResult();
+}
@@ -0,0 +1,81 @@
+package org.dblp.analyzer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Finds the analyzers which are registered in<br/>
+ * META-INF/services/org.dblp.analyzer.Analyzer with a ServiceLoader and<br/>
+ * keeps the ones which were selected on the command line (see select).<br/>
+ * Each Field object gets new instances of the selected analyzers, in the<br/>
+ * order of the registration file, which is the order of the output.
+ * @author SergeOliver
+ *
+ */
+public class Analyzers {
+
+	/**
+	 * Names of the selected analyzers, or null to run all of them.
+	 */
+	private static List<String> selection;
+
+	/**
+	 * Do the analyzers compute approximate results in a bounded memory?
+	 */
+	private static boolean approximate = false;
+
+	/**
+	 * @return The names of all registered analyzers.
+	 */
+	public static List<String> getNames(){
+		List<String> names = new ArrayList<>();
+		for(Analyzer analyzer : ServiceLoader.load(Analyzer.class))
+			names.add(analyzer.getName());
+		return names;
+	}
+
+	/**
+	 * Runs only the analyzers of the list. Must be called before the Field<br/>
+	 * objects are created.
+	 * @param names of the analyzers or null to run all of them.
+	 * @throws IllegalArgumentException if an analyzer is not registered.
+	 */
+	public static void select(List<String> names){
+		if(names != null){
+			List<String> registered = getNames();
+			for(String name : names){
+				if(!registered.contains(name))
+					throw new IllegalArgumentException("Unknown analyzer "+name+", known analyzers: "+registered);
+			}
+			names = new ArrayList<>(names);
+		}
+		selection = names;
+	}
+
+	/**
+	 * Approximate mode: the analyzers which keep data of each author/editor<br/>
+	 * estimate their result with sketches in a bounded memory instead<br/>
+	 * (see CareerSketch). Must be called before the Field objects are created.
+	 * @param approximate
+	 */
+	public static void setApproximate(boolean approximate){
+		Analyzers.approximate = approximate;
+	}
+
+	public static boolean isApproximate(){
+		return approximate;
+	}
+
+	/**
+	 * @return New instances of the selected analyzers.
+	 */
+	public static List<Analyzer> newAnalyzers(){
+		List<Analyzer> analyzers = new ArrayList<>();
+		for(Analyzer analyzer : ServiceLoader.load(Analyzer.class)){
+			if(selection == null || selection.contains(analyzer.getName()))
+				analyzers.add(analyzer);
+		}
+		return analyzers;
+	}
+}
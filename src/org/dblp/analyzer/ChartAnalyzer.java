@@ -0,0 +1,283 @@
+package org.dblp.analyzer;
+
+import java.io.IOException;
+import java.util.Map.Entry;
+
+import org.dblp.helper.DistributionSummary;
+import org.dblp.helper.HtmlCode;
+import org.dblp.helper.IntHistogram;
+import org.dblp.helper.ReportWriter;
+import org.dblp.helper.StatisticalDistributionComputation;
+
+/**
+ * Analyzer whose output is a web page with a column chart and a box plot<br/>
+ * (see HtmlCode). Creates the output file when the result is rendered, so<br/>
+ * that the parser can use as many analyzers as it needs (e.g. one per<br/>
+ * thread) and merge them afterward, and closes it in flushAndClose.<br/>
+ * Subclasses compute their Result in computeResult; the web page is written<br/>
+ * from the Result in writeResult, with a ReportWriter which formats the<br/>
+ * numbers without a Formatter.
+ * @author SergeOliver
+ *
+ */
+public abstract class ChartAnalyzer implements Analyzer {
+
+	private final String name;
+
+	private final String[] elements;
+
+	private final String output;
+
+	private final String columnChartTitle;
+
+	private final String columnChartyAxisName;
+
+	private final String boxPlotTitle;
+
+	private final String seriesName;
+
+	/**
+	 * Number of rows of the table which the column chart shows.
+	 */
+	private int chartRows = Integer.MAX_VALUE;
+
+	/**
+	 * Output file, created by render.
+	 */
+	protected ReportWriter out;
+
+	/**
+	 * Result computed by render, or null.
+	 */
+	private Result result;
+
+	/**
+	 * @param name: name of the analyzer on the command line.
+	 * @param elements: names of the field elements which the analyzer reads.
+	 * @param output: path of the web page.
+	 * @param columnChartTitle
+	 * @param columnChartyAxisName
+	 * @param boxPlotTitle
+	 * @param seriesName
+	 */
+	protected ChartAnalyzer(String name, String[] elements, String output, String columnChartTitle,
+			String columnChartyAxisName, String boxPlotTitle, String seriesName){
+		this.name = name;
+		this.elements = elements;
+		this.output = output;
+		this.columnChartTitle = columnChartTitle;
+		this.columnChartyAxisName = columnChartyAxisName;
+		this.boxPlotTitle = boxPlotTitle;
+		this.seriesName = seriesName;
+	}
+
+	@Override
+	public String getName(){
+		return name;
+	}
+
+	@Override
+	public String[] getElements(){
+		return elements;
+	}
+
+	/**
+	 * @param chartRows: number of rows of the table which the column chart<br/>
+	 * shows; the result contains all rows.
+	 */
+	protected void setChartRows(int chartRows){
+		this.chartRows = chartRows;
+	}
+
+	@Override
+	public Result getResult(){
+		return result;
+	}
+
+	/**
+	 * Does nothing; subclasses override it if they derive data from all publications.
+	 */
+	@Override
+	public void finish(){
+	}
+
+	/**
+	 * Computes the result, creates the output file, adds the HTML code of the<br/>
+	 * charts and invokes writeResult.
+	 */
+	@Override
+	public void render(){
+		result = computeResult();
+		try {
+			out = new ReportWriter(output);
+			HtmlCode.addHTMLHCode(out, columnChartTitle, columnChartyAxisName, boxPlotTitle, seriesName, HtmlCode.getDefaultWidth());
+			writeResult(result);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Computes the rows of the table and their distributions. Called once by render.
+	 * @return The result, see newResult.
+	 */
+	protected abstract Result computeResult();
+
+	/**
+	 * @param columns: name of the label column followed by the names of the value columns.
+	 * @return An empty result of this analyzer, with the title of the column chart.
+	 */
+	protected Result newResult(String... columns){
+		return new Result(name, columnChartTitle, columns);
+	}
+
+	/**
+	 * Computes the distribution of the values (see StatisticalDistributionComputation)<br/>
+	 * and adds it to the result.
+	 * @param result
+	 * @param title of the distribution.
+	 * @param values: sorted in place.
+	 */
+	protected static void addDistribution(Result result, String title, double[] values){
+		result.addDistribution(title, StatisticalDistributionComputation.computeStatisticalDistribution(values, title));
+	}
+
+	/**
+	 * Computes the per-record distribution of a histogram (see<br/>
+	 * StatisticalDistributionComputation) and adds it to the result.
+	 * @param result
+	 * @param title of the distribution in the result and on the web page, e.g. Words per title.
+	 * @param histogram
+	 * @param computationTitle: title in operation_result_output.csv, e.g. Words Per Title.
+	 */
+	protected static void addRecordDistribution(Result result, String title, IntHistogram histogram, String computationTitle){
+		result.addRecordDistribution(title, StatisticalDistributionComputation.computeRecordDistribution(histogram, computationTitle));
+	}
+
+	/**
+	 * Writes the web page of a result in out: the table of the column chart,<br/>
+	 * the box plot of the first distribution (or the no data section if there<br/>
+	 * is none, e.g. when the filters leave no publication) followed by the<br/>
+	 * note, and the per-record distributions. Subclasses override it to change<br/>
+	 * the page or to write their part of the log file.
+	 * @param result
+	 * @throws IOException
+	 */
+	protected void writeResult(Result result) throws IOException{
+		writeHeader(result);
+		for(int row=0; row<Math.min(result.size(), chartRows); row++)
+			writeRow(result, row);
+		DistributionSummary boxPlot = result.getBoxPlot();
+		if(boxPlot != null)
+			writeBoxPlot(boxPlot);
+		else
+			writeNoData();
+		if(result.getNote() != null)
+			out.println("<div id=\"error_bound\">"+result.getNote()+"</div>");
+		for(Entry<String, DistributionSummary> e : result.getRecordDistributions().entrySet())
+			writeRecordDistribution(e.getKey(), e.getValue());
+	}
+
+	/**
+	 * Writes the names of the columns, the first line of the data of the column chart.
+	 * @param result
+	 * @throws IOException
+	 */
+	protected void writeHeader(Result result) throws IOException{
+		for(int column=0; column<result.getColumns().size(); column++){
+			if(column > 0)
+				out.print(" ,  ");
+			out.print(result.getColumns().get(column));
+		}
+		out.print("\n ");
+	}
+
+	/**
+	 * Writes a row of the table: label , value...
+	 * @param result
+	 * @param row
+	 * @throws IOException
+	 */
+	protected void writeRow(Result result, int row) throws IOException{
+		out.print(result.getLabel(row));
+		for(int column=0; column<result.getColumns().size()-1; column++)
+			out.print(" , ").print(result.getValue(row, column));
+		out.print('\n');
+	}
+
+	/**
+	 * Writes the data of the box plot: the five numbers, the mean, the variance<br/>
+	 * and the standard deviation of a distribution.
+	 * @param summary: distribution computed by StatisticalDistributionComputation.
+	 * @throws IOException
+	 */
+	protected void writeBoxPlot(DistributionSummary summary) throws IOException{
+		out.println("</pre>");
+		out.println("<p><h3>Box plot   "+HtmlCode.getDateAndTime()+"</h3></p>");
+		out.println("<div id=\"containerBoxPlot\" style=\"width:1280px; height: 500px; margin: 0 auto\"></div>");
+		out.println("<pre id=\"csvBoxPlot\" style=\"display:none\">");
+		out.print(summary.getMinimum(), 2).print(", ")
+			.print(summary.getLowerQuartile(), 2).print(", ")
+			.print(summary.getMedian(), 2).print(", ")
+			.print(summary.getUpperQuartile(), 2).print(", ")
+			.print(summary.getMaximum(), 2).print('\n');
+		out.println("</pre>");
+		
+		out.println("<pre id=\"meanBoxPlot\" style=\"display:none\">");
+		out.print(summary.getMean(), 2).print('\n');
+		out.println("</pre>");
+		
+		out.println("<div id=\"variance_and_standard_deviation\">");
+		out.print("\nVariance:  ").print(summary.getVariance(), 2).print("\n<br/>");
+		out.print("\nStandard Deviation:  ").print(summary.getStandardDeviation(), 2).print("\n<br/>");
+		out.println("</div>");
+	}
+
+	/**
+	 * Closes the data of the column chart and writes, instead of the box plot,<br/>
+	 * that the result is empty.
+	 * @throws IOException
+	 */
+	protected void writeNoData() throws IOException{
+		out.println("</pre>");
+		out.println("<div id=\"no_data\">");
+		out.print("\nNo data for this chart.\n<br/>");
+		out.println("</div>");
+	}
+
+	/**
+	 * Writes the statistics of a per-record distribution after the box plot:<br/>
+	 * e.g. the median number of words of all titles, next to the distribution<br/>
+	 * of the number of titles per number of words.
+	 * @param title of the per-record distribution.
+	 * @param summary: distribution computed by<br/>
+	 * StatisticalDistributionComputation.computeRecordDistribution.
+	 * @throws IOException
+	 */
+	protected void writeRecordDistribution(String title, DistributionSummary summary) throws IOException{
+		out.println("<div id=\"record_distribution\">");
+		out.print("\n<h3>").print(title).print("</h3>\n");
+		out.print("\nRecords:  ").print(summary.getRecords()).print("\n<br/>");
+		out.print("\nMinimum, lower quartile, median, upper quartile, maximum:  ")
+			.print(summary.getMinimum(), 2).print(", ")
+			.print(summary.getLowerQuartile(), 2).print(", ")
+			.print(summary.getMedian(), 2).print(", ")
+			.print(summary.getUpperQuartile(), 2).print(", ")
+			.print(summary.getMaximum(), 2).print("\n<br/>");
+		out.print("\nMean:  ").print(summary.getMean(), 2).print("\n<br/>");
+		out.print("\nVariance:  ").print(summary.getVariance(), 2).print("\n<br/>");
+		out.print("\nStandard Deviation:  ").print(summary.getStandardDeviation(), 2).print("\n<br/>");
+		out.println("</div>");
+	}
+
+	@Override
+	public void flushAndClose(){
+		if(out == null) return;
+		try {
+			HtmlCode.closeHTMLTags(out);
+			out.close();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package org.dblp.analyzer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.dblp.helper.DistributionSummary;
+import org.dblp.helper.ReportWriter;
+
+/**
+ * Writes the results in one CSV file (RFC 4180), with one value per line:<br/>
+ * analyzer,section,label,column,value<br/>
+ * new-authors,rows,1990,New Authors / Editors,12<br/>
+ * new-authors,distribution,New Authors Or Editors Per Year,median,25.0<br/>
+ * person-names,record distribution,Characters per person name,median,14.0<br/>
+ * new-authors,note,,,Approximate result (HyperLogLog): ...<br/>
+ * For a row, label is the label of the row and column the name of the value<br/>
+ * column; for a distribution, label is its title and column the statistic;<br/>
+ * for the note of a result, label and column are empty.
+ * @author SergeOliver
+ *
+ */
+public class CsvResultSink implements ResultSink {
+
+	private final ReportWriter out;
+
+	/**
+	 * @param path of the CSV file.
+	 * @throws IOException
+	 */
+	public CsvResultSink(String path) throws IOException{
+		out = new ReportWriter(path);
+		out.print("analyzer,section,label,column,value\r\n");
+	}
+
+	@Override
+	public void write(Result result) throws IOException{
+		int numberOfValues = result.getColumns().size() - 1;
+		for(int row=0; row<result.size(); row++){
+			for(int column=0; column<numberOfValues; column++){
+				begin(result, "rows", result.getLabel(row), result.getColumns().get(column + 1));
+				out.print(result.getValue(row, column)).print("\r\n");
+			}
+		}
+		distributions(result, "distribution", result.getDistributions());
+		distributions(result, "record distribution", result.getRecordDistributions());
+		if(result.getNote() != null){
+			begin(result, "note", "", "");
+			value(result.getNote());
+			out.print("\r\n");
+		}
+	}
+
+	private void distributions(Result result, String section, Map<String, DistributionSummary> distributions) throws IOException{
+		for(Entry<String, DistributionSummary> e : distributions.entrySet()){
+			DistributionSummary summary = e.getValue();
+			statistic(result, section, e.getKey(), "minimum", summary.getMinimum());
+			statistic(result, section, e.getKey(), "lowerQuartile", summary.getLowerQuartile());
+			statistic(result, section, e.getKey(), "median", summary.getMedian());
+			statistic(result, section, e.getKey(), "upperQuartile", summary.getUpperQuartile());
+			statistic(result, section, e.getKey(), "maximum", summary.getMaximum());
+			statistic(result, section, e.getKey(), "mean", summary.getMean());
+			statistic(result, section, e.getKey(), "variance", summary.getVariance());
+			statistic(result, section, e.getKey(), "standardDeviation", summary.getStandardDeviation());
+			statistic(result, section, e.getKey(), "total", summary.getTotal());
+			begin(result, section, e.getKey(), "records");
+			out.print(summary.getRecords()).print("\r\n");
+		}
+	}
+
+	private void statistic(Result result, String section, String title, String name, double value) throws IOException{
+		begin(result, section, title, name);
+		out.print(Double.toString(value)).print("\r\n");
+	}
+
+	/**
+	 * Writes the fields of a line before the value.
+	 */
+	private void begin(Result result, String section, String label, String column) throws IOException{
+		field(result.getAnalyzer());
+		field(section);
+		field(label);
+		field(column);
+	}
+
+	/**
+	 * Writes a field followed by a comma.
+	 */
+	private void field(String value) throws IOException{
+		value(value);
+		out.print(',');
+	}
+
+	/**
+	 * Writes a field; quoted if it contains a comma, a quote or a line break.
+	 */
+	private void value(String value) throws IOException{
+		if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0){
+			out.print(value);
+			return;
+		}
+		out.print('"').print(value.replace("\"", "\"\"")).print('"');
+	}
+
+	@Override
+	public void close() throws IOException{
+		out.close();
+	}
+}
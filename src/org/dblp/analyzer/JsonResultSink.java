@@ -0,0 +1,152 @@
+package org.dblp.analyzer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.dblp.helper.DistributionSummary;
+import org.dblp.helper.ReportWriter;
+
+/**
+ * Writes the results in one compact JSON document:<br/>
+ * {"results":[{"analyzer":"new-authors","title":"...","columns":["Year","New Authors / Editors"],<br/>
+ * "rows":[["1990",12],...],"distributions":{"title":{"minimum":1.0,...}},<br/>
+ * "recordDistributions":{...},"note":"..."},...]}<br/>
+ * Labels are strings, values are integers, the statistics of the<br/>
+ * distributions are numbers with full precision (null if not finite).<br/>
+ * note is only written if the result has one.
+ * @author SergeOliver
+ *
+ */
+public class JsonResultSink implements ResultSink {
+
+	private final ReportWriter out;
+
+	/**
+	 * Is the next result the first one?
+	 */
+	private boolean first = true;
+
+	/**
+	 * @param path of the JSON file.
+	 * @throws IOException
+	 */
+	public JsonResultSink(String path) throws IOException{
+		out = new ReportWriter(path);
+		out.print("{\"results\":[");
+	}
+
+	@Override
+	public void write(Result result) throws IOException{
+		if(!first)
+			out.print(',');
+		first = false;
+		out.print("{\"analyzer\":");
+		string(result.getAnalyzer());
+		out.print(",\"title\":");
+		string(result.getTitle());
+		out.print(",\"columns\":");
+		strings(result.getColumns());
+		out.print(",\"rows\":[");
+		int numberOfValues = result.getColumns().size() - 1;
+		for(int row=0; row<result.size(); row++){
+			if(row > 0)
+				out.print(',');
+			out.print('[');
+			string(result.getLabel(row));
+			for(int column=0; column<numberOfValues; column++)
+				out.print(',').print(result.getValue(row, column));
+			out.print(']');
+		}
+		out.print("],\"distributions\":");
+		distributions(result.getDistributions());
+		out.print(",\"recordDistributions\":");
+		distributions(result.getRecordDistributions());
+		if(result.getNote() != null){
+			out.print(",\"note\":");
+			string(result.getNote());
+		}
+		out.print('}');
+	}
+
+	private void distributions(Map<String, DistributionSummary> distributions) throws IOException{
+		out.print('{');
+		boolean firstDistribution = true;
+		for(Entry<String, DistributionSummary> e : distributions.entrySet()){
+			if(!firstDistribution)
+				out.print(',');
+			firstDistribution = false;
+			string(e.getKey());
+			DistributionSummary summary = e.getValue();
+			out.print(":{\"minimum\":");
+			number(summary.getMinimum());
+			out.print(",\"lowerQuartile\":");
+			number(summary.getLowerQuartile());
+			out.print(",\"median\":");
+			number(summary.getMedian());
+			out.print(",\"upperQuartile\":");
+			number(summary.getUpperQuartile());
+			out.print(",\"maximum\":");
+			number(summary.getMaximum());
+			out.print(",\"mean\":");
+			number(summary.getMean());
+			out.print(",\"variance\":");
+			number(summary.getVariance());
+			out.print(",\"standardDeviation\":");
+			number(summary.getStandardDeviation());
+			out.print(",\"total\":");
+			number(summary.getTotal());
+			out.print(",\"records\":").print(summary.getRecords()).print('}');
+		}
+		out.print('}');
+	}
+
+	private void number(double value) throws IOException{
+		if(Double.isNaN(value) || Double.isInfinite(value))
+			out.print("null");
+		else
+			out.print(Double.toString(value));
+	}
+
+	private void strings(List<String> values) throws IOException{
+		out.print('[');
+		for(int i=0; i<values.size(); i++){
+			if(i > 0)
+				out.print(',');
+			string(values.get(i));
+		}
+		out.print(']');
+	}
+
+	/**
+	 * Writes a JSON string: quotes, backslashes and control characters are escaped.
+	 */
+	private void string(String value) throws IOException{
+		out.print('"');
+		int start = 0;
+		for(int i=0; i<value.length(); i++){
+			char c = value.charAt(i);
+			if(c != '"' && c != '\\' && c >= 0x20) continue;
+			out.print(value.substring(start, i));
+			if(c == '"' || c == '\\')
+				out.print('\\').print(c);
+			else
+				out.print(String.format("\\u%04x", (int) c));
+			start = i + 1;
+		}
+		out.print(value.substring(start)).print('"');
+	}
+
+	/**
+	 * Ends the JSON document and closes the file.
+	 */
+	@Override
+	public void close() throws IOException{
+		try{
+			out.print("]}").print('\n');
+		}finally{
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package org.dblp.analyzer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.dblp.helper.DistributionSummary;
+
+/**
+ * Result of an analyzer, independent of any output format: a table of<br/>
+ * rows, e.g. (year, new authors/editors), and the distributions which were<br/>
+ * computed from it (see StatisticalDistributionComputation).<br/>
+ * The analyzer fills it once (see ChartAnalyzer.computeResult); the web<br/>
+ * page and the ResultSinks, e.g. JSON and CSV, are written from it without<br/>
+ * computing it again.<br/>
+ * The table contains all rows, even if the column chart only shows the<br/>
+ * first ones.
+ * @author SergeOliver
+ *
+ */
+public class Result {
+
+	/**
+	 * Name of the analyzer, e.g. new-authors.
+	 */
+	private final String analyzer;
+
+	private final String title;
+
+	/**
+	 * Name of the label column followed by the names of the value columns.
+	 */
+	private final List<String> columns;
+
+	/**
+	 * Label of each row, e.g. the year.
+	 */
+	private final List<String> labels = new ArrayList<>();
+
+	/**
+	 * Values of each row, one per value column.
+	 */
+	private final List<long[]> values = new ArrayList<>();
+
+	/**
+	 * List of (title -> distribution of the values) pairs; the first one is<br/>
+	 * drawn as box plot.
+	 */
+	private final Map<String, DistributionSummary> distributions = new LinkedHashMap<>();
+
+	/**
+	 * List of (title -> per-record distribution) pairs.
+	 */
+	private final Map<String, DistributionSummary> recordDistributions = new LinkedHashMap<>();
+
+	/**
+	 * Remark on the result, e.g. the error bound of an approximate result, or null.
+	 */
+	private String note;
+
+	/**
+	 * @param analyzer: name of the analyzer.
+	 * @param title: e.g. the title of the column chart.
+	 * @param columns: name of the label column followed by the names of the value columns.
+	 */
+	public Result(String analyzer, String title, String... columns){
+		this.analyzer = analyzer;
+		this.title = title;
+		this.columns = Collections.unmodifiableList(Arrays.asList(columns.clone()));
+	}
+
+	/**
+	 * Adds a row at the end of the table.
+	 * @param label
+	 * @param rowValues: one per value column.
+	 * @throws IllegalArgumentException if the number of values does not match the columns.
+	 */
+	public void addRow(String label, long... rowValues){
+		if(rowValues.length != columns.size() - 1)
+			throw new IllegalArgumentException("A row of "+analyzer+" needs "+(columns.size() - 1)+" values");
+		labels.add(label);
+		values.add(rowValues.clone());
+	}
+
+	/**
+	 * See addRow(String, long...).
+	 */
+	public void addRow(long label, long... rowValues){
+		addRow(Long.toString(label), rowValues);
+	}
+
+	/**
+	 * @param title: e.g. Number Of Words Per Title.
+	 * @param summary: distribution of the values, or null if there are none.
+	 */
+	public void addDistribution(String title, DistributionSummary summary){
+		if(summary != null)
+			distributions.put(title, summary);
+	}
+
+	/**
+	 * @param title: e.g. Words per title.
+	 * @param summary: per-record distribution, or null if there are no records.
+	 */
+	public void addRecordDistribution(String title, DistributionSummary summary){
+		if(summary != null)
+			recordDistributions.put(title, summary);
+	}
+
+	public void setNote(String note){
+		this.note = note;
+	}
+
+	public String getAnalyzer(){
+		return analyzer;
+	}
+
+	public String getTitle(){
+		return title;
+	}
+
+	public List<String> getColumns(){
+		return columns;
+	}
+
+	/**
+	 * @return The number of rows.
+	 */
+	public int size(){
+		return labels.size();
+	}
+
+	public String getLabel(int row){
+		return labels.get(row);
+	}
+
+	/**
+	 * @param row
+	 * @param column: index of the value column, from 0.
+	 * @return The value.
+	 */
+	public long getValue(int row, int column){
+		return values.get(row)[column];
+	}
+
+	/**
+	 * @return The list of (title -> distribution) pairs, in the order in which they were added.
+	 */
+	public Map<String, DistributionSummary> getDistributions(){
+		return Collections.unmodifiableMap(distributions);
+	}
+
+	/**
+	 * @return The distribution drawn as box plot, or null.
+	 */
+	public DistributionSummary getBoxPlot(){
+		return distributions.isEmpty() ? null : distributions.values().iterator().next();
+	}
+
+	public Map<String, DistributionSummary> getRecordDistributions(){
+		return Collections.unmodifiableMap(recordDistributions);
+	}
+
+	public String getNote(){
+		return note;
+	}
+}
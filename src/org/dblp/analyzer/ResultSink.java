@@ -0,0 +1,22 @@
+package org.dblp.analyzer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Output format of the results of the analyzers, e.g. JSON or CSV, which<br/>
+ * other tools read without parsing the web pages.<br/>
+ * The results are written one after the other, in the order of the<br/>
+ * analyzers; close ends the output.
+ * @author SergeOliver
+ *
+ */
+public interface ResultSink extends Closeable {
+
+	/**
+	 * Writes the result of an analyzer.
+	 * @param result
+	 * @throws IOException
+	 */
+	void write(Result result) throws IOException;
+}
@@ -0,0 +1,12 @@
+/**
+ * Contains the interface Analyzer.java, which is implemented by each<br/>
+ * statistical analysis of the application, and Analyzers.java, which finds<br/>
+ * the analyzers with a ServiceLoader and keeps the ones selected on the<br/>
+ * command line.
+ * 
+ */
+/**
+ * @author SergeOliver
+ *
+ */
+package org.dblp.analyzer;
@@ -0,0 +1,127 @@
+package org.dblp.field;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.Analyzers;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+
+/**
+ * Analyzer which derives its result from the careers of the authors/editors<br/>
+ * (see CareerTracker), e.g. the number of new authors/editors per year.<br/>
+ * The career analyzers of a Field object share one CareerTracker: the first<br/>
+ * one fills it, the other ones only read it when they finish (see Field).<br/>
+ * Subclasses compute their distribution in finish, with one scan of the ids.<br/>
+ * In the approximate mode (see Analyzers.setApproximate) they share a<br/>
+ * CareerSketch instead, and careers is null.
+ * @author SergeOliver
+ *
+ */
+public abstract class CareerAnalyzer extends ChartAnalyzer {
+
+	protected CareerTracker careers;
+
+	/**
+	 * Sketch of the approximate mode, or null.
+	 */
+	protected CareerSketch sketch;
+
+	/**
+	 * Does this analyzer fill the tracker?
+	 */
+	private boolean owner = true;
+
+	protected CareerAnalyzer(String name, String output, String columnChartTitle,
+			String columnChartyAxisName, String boxPlotTitle, String seriesName){
+		super(name, new String[]{"author", "editor", "year"}, output, columnChartTitle,
+				columnChartyAxisName, boxPlotTitle, seriesName);
+		if(Analyzers.isApproximate())
+			sketch = new CareerSketch();
+		else
+			careers = new CareerTracker();
+	}
+
+	/**
+	 * Reads the tracker or the sketch which another career analyzer of the<br/>
+	 * same Field object fills.
+	 * @param owner: the career analyzer which fills the tracker.
+	 */
+	void share(CareerAnalyzer owner){
+		careers = owner.careers;
+		sketch = owner.sketch;
+		this.owner = false;
+	}
+
+	@Override
+	public void add(PublicationData publication){
+		if(!owner) return;
+		if(sketch != null)
+			sketch.add(publication);
+		else
+			careers.add(publication);
+	}
+
+	/**
+	 * @throws UnsupportedOperationException in the approximate mode.
+	 */
+	@Override
+	public void retract(PublicationData publication){
+		if(!owner) return;
+		if(sketch != null)
+			throw new UnsupportedOperationException("A sketch cannot take a publication out");
+		careers.retract(publication);
+	}
+
+	/**
+	 * The analyzers of both Field objects are in the same order, so the<br/>
+	 * owner of the other tracker is merged into the owner of this one.
+	 */
+	@Override
+	public void merge(Analyzer analyzer){
+		if(!owner) return;
+		if(sketch != null)
+			sketch.merge(((CareerAnalyzer) analyzer).sketch);
+		else
+			careers.merge(((CareerAnalyzer) analyzer).careers);
+	}
+
+	/**
+	 * @return The list of (year -> number of publications with authors/editors) pairs.
+	 */
+	protected IntHistogram getPublicationsPerYear(){
+		return (sketch != null) ? sketch.getPublicationsPerYear() : careers.getPublicationsPerYear();
+	}
+
+	/**
+	 * Adds an error bound to the result, in the approximate mode only: it is<br/>
+	 * written after the box plot.
+	 * @param result
+	 * @param errorBound: e.g. CareerSketch.ERROR_BOUND.
+	 */
+	protected void addErrorBound(Result result, String errorBound){
+		if(sketch != null)
+			result.setNote(errorBound);
+	}
+
+	/**
+	 * Called by the analyzers which need the data of each author/editor,<br/>
+	 * whose result is not available in the approximate mode.
+	 * @return False in the approximate mode.
+	 */
+	protected boolean isExact(){
+		return sketch == null;
+	}
+
+	/**
+	 * Notes in an empty result that it is not available in the approximate<br/>
+	 * mode: the web page, results.json and results.csv carry the note instead<br/>
+	 * of the rows.
+	 * @param result
+	 * @return The result.
+	 */
+	protected Result notAvailable(Result result){
+		System.out.println("\n"+getName()+" is not available in the approximate mode");
+		result.setNote(CareerSketch.NOT_AVAILABLE);
+		return result;
+	}
+}
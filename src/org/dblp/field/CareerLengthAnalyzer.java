@@ -0,0 +1,57 @@
+package org.dblp.field;
+
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+
+/**
+ * Number of authors/editors whose career has the same length: the number<br/>
+ * of years from their first to their last publication, both included.<br/>
+ * Not available in the approximate mode (see CareerSketch).
+ * @author SergeOliver
+ *
+ */
+public class CareerLengthAnalyzer extends CareerAnalyzer {
+
+	/**
+	 * List of (number of years -> number of authors/editors whose career<br/>
+	 * has the same number of years) pairs.
+	 */
+	private IntHistogram authorsPerCareerLength = new IntHistogram();
+
+	public CareerLengthAnalyzer(){
+		super("career-lengths", CAREERLENGTHOUTPUT,
+				"Number of authors/editors whose career has the same number of years", "Authors / Editors",
+				"Frequency distribution of career lengths", "Authors / Editors");
+	}
+
+	@Override
+	public void finish(){
+		if(!isExact()) return;
+		for(int id=0; id<careers.size(); id++){
+			if(careers.getPublications(id) > 0)
+				authorsPerCareerLength.increment(careers.getLastYear(id) - careers.getFirstYear(id) + 1);
+		}
+	}
+
+	/**
+	 * Output format years, authors/editors
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... career length of authors");
+		Result result = newResult("Years", "Authors / Editors");
+		if(!isExact())
+			return notAvailable(result);
+		double[] values = new double[authorsPerCareerLength.size()];
+		int i = 0;
+		long numberOfAuthors = 0;
+		for(int years : authorsPerCareerLength.keys()){
+			numberOfAuthors = authorsPerCareerLength.get(years);
+			result.addRow(years, numberOfAuthors);
+			values[i++] = numberOfAuthors;
+		}
+		addDistribution(result, "Career Length Of Authors Or Editors", values);
+		addRecordDistribution(result, "Years per career", authorsPerCareerLength, "Years Per Career");
+		return result;
+	}
+}
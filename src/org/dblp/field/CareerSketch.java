@@ -0,0 +1,182 @@
+package org.dblp.field;
+
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.dblp.helper.HyperLogLog;
+import org.dblp.helper.IntHistogram;
+
+/**
+ * Approximate careers of the authors/editors in a bounded memory: replaces<br/>
+ * the CareerTracker in the approximate mode (see Analyzers.setApproximate).<br/>
+ * No name is kept. The names of each year and the names of each length<br/>
+ * are counted by a HyperLogLog sketch, so the memory depends on the number<br/>
+ * of years and name lengths (about 100 sketches of 16 KB each), not on the<br/>
+ * number of authors/editors.<br/>
+ * New authors/editors per year: the union of the sketches of the years up<br/>
+ * to a year estimates the number of authors/editors who published up to<br/>
+ * this year; the difference with the previous year is the number of new<br/>
+ * ones. The error of a year is about the error of the union, i.e. 0.8% of<br/>
+ * all authors/editors up to this year, so it is large for the years in<br/>
+ * which few authors/editors appear.<br/>
+ * Names per length: each length has its own sketch, so the error is 0.8%<br/>
+ * of the number of names of the length.<br/>
+ * The sketches cannot take a publication out: the approximate mode cannot<br/>
+ * be combined with the incremental mode. Career lengths and publications<br/>
+ * per author/editor need the data of each author/editor and are not<br/>
+ * computed.<br/>
+ * Only the publications with authors/editors and a valid year are counted.<br/>
+ * The unreliable names of all publications are logged, as by CareerTracker.
+ * @author SergeOliver
+ *
+ */
+public class CareerSketch {
+
+	/**
+	 * Error bound of the results which are estimated by one sketch each, e.g.<br/>
+	 * the names of a length. Not valid for the new authors/editors per year<br/>
+	 * (see getNewAuthorsErrorBound).
+	 */
+	public static final String ERROR_BOUND = String.format("Approximate result (HyperLogLog): relative standard error %.1f%%,"
+			+ " 95%% of the estimates within %.1f%%", HyperLogLog.STANDARD_ERROR * 100, HyperLogLog.STANDARD_ERROR * 200);
+
+	/**
+	 * Note which is written instead of the results which need the data of<br/>
+	 * each author/editor (see CareerAnalyzer.isExact).
+	 */
+	public static final String NOT_AVAILABLE = "Not available in the approximate mode (HyperLogLog):"
+			+ " the sketch does not keep the career of each author/editor, run without --approximate";
+
+	/**
+	 * List of (year -> number of publications with authors/editors) pairs.
+	 */
+	private final IntHistogram publicationsPerYear = new IntHistogram();
+
+	/**
+	 * List of (year -> sketch of the names which published in the year) pairs.
+	 */
+	private final TreeMap<Integer, HyperLogLog> namesPerYear = new TreeMap<>();
+
+	/**
+	 * List of (number of characters -> sketch of the names which have the same length) pairs.
+	 */
+	private final TreeMap<Integer, HyperLogLog> namesPerLength = new TreeMap<>();
+
+	/**
+	 * Counts the authors/editors of a publication, if it has a valid year.<br/>
+	 * Logs the unreliable names.
+	 * @param publication
+	 */
+	public void add(PublicationData publication){
+		int numberOfPersons = publication.getNumberOfPersons();
+		if(numberOfPersons == 0) return;
+		int year = publication.getYear().getIntKeyValue();
+		HyperLogLog names = null;
+		if(year != -1){
+			publicationsPerYear.increment(year);
+			names = sketch(namesPerYear, year);
+		}
+		for(int i=0; i<numberOfPersons; i++){
+			CharSequence name = publication.getPersonName(i);
+			if(!Person.isReliable(name))
+				Person.logUnreliableName(name.toString(), publication.getKey());
+			if(names == null) continue;
+			long hash = HyperLogLog.hash(name);
+			names.add(hash);
+			sketch(namesPerLength, Person.getNameLength(name)).add(hash);
+		}
+	}
+
+	/**
+	 * Adds the sketches of another CareerSketch to this one.
+	 * @param other
+	 */
+	public void merge(CareerSketch other){
+		publicationsPerYear.merge(other.publicationsPerYear);
+		for(Entry<Integer, HyperLogLog> e : other.namesPerYear.entrySet())
+			sketch(namesPerYear, e.getKey()).merge(e.getValue());
+		for(Entry<Integer, HyperLogLog> e : other.namesPerLength.entrySet())
+			sketch(namesPerLength, e.getKey()).merge(e.getValue());
+	}
+
+	/**
+	 * @return The sketch of the key, which is created if it is new.
+	 */
+	private static HyperLogLog sketch(TreeMap<Integer, HyperLogLog> sketches, int key){
+		HyperLogLog sketch = sketches.get(key);
+		if(sketch == null){
+			sketch = new HyperLogLog();
+			sketches.put(key, sketch);
+		}
+		return sketch;
+	}
+
+	/**
+	 * @return The estimated list of (year -> number of authors/editors which<br/>
+	 * made their first publication in the same year) pairs.
+	 */
+	public IntHistogram getNewAuthorsPerYear(){
+		IntHistogram newAuthorsPerYear = new IntHistogram();
+		HyperLogLog union = new HyperLogLog();
+		long previous = 0;
+		for(Entry<Integer, HyperLogLog> e : namesPerYear.entrySet()){
+			union.merge(e.getValue());
+			long authors = union.estimate();
+			if(authors > previous){
+				newAuthorsPerYear.add(e.getKey(), authors - previous);
+				previous = authors;
+			}
+		}
+		return newAuthorsPerYear;
+	}
+
+	/**
+	 * The new authors/editors of a year are the difference of two estimates<br/>
+	 * of all authors/editors up to a year, so their error is relative to the<br/>
+	 * authors/editors up to the year, not to the value of the year.
+	 * @param newAuthorsPerYear: see getNewAuthorsPerYear.
+	 * @return The error bound which is written with the new authors/editors<br/>
+	 * per year, with the largest bound relative to the value of a year.
+	 */
+	public static String getNewAuthorsErrorBound(IntHistogram newAuthorsPerYear){
+		double bound = HyperLogLog.STANDARD_ERROR * 2;
+		String note = String.format("Approximate result (HyperLogLog): the value of a year is the difference of two estimates"
+				+ " of all authors/editors up to the year, 95%% of the values are within %.1f%% x (authors/editors up to"
+				+ " the year) / (value of the year)", bound * 100);
+		long authors = 0;
+		double largest = 0;
+		int largestYear = -1;
+		for(int year : newAuthorsPerYear.keys()){
+			long newAuthors = newAuthorsPerYear.get(year);
+			authors += newAuthors;
+			if(bound * authors / newAuthors > largest){
+				largest = bound * authors / newAuthors;
+				largestYear = year;
+			}
+		}
+		if(largestYear != -1)
+			note += String.format(", i.e. up to %.1f%% of the value in %d", largest * 100, largestYear);
+		return note;
+	}
+
+	/**
+	 * @return The estimated list of (number of characters -> number of<br/>
+	 * author/editor names which have the same length) pairs.
+	 */
+	public IntHistogram getNamesPerLength(){
+		IntHistogram namesPerLengthEstimate = new IntHistogram();
+		for(Entry<Integer, HyperLogLog> e : namesPerLength.entrySet()){
+			long names = e.getValue().estimate();
+			if(names > 0)
+				namesPerLengthEstimate.add(e.getKey(), names);
+		}
+		return namesPerLengthEstimate;
+	}
+
+	/**
+	 * @return The list of (year -> number of publications with authors/editors) pairs.
+	 */
+	public IntHistogram getPublicationsPerYear(){
+		return publicationsPerYear;
+	}
+}
@@ -0,0 +1,284 @@
+package org.dblp.field;
+
+import java.util.Arrays;
+
+import org.dblp.helper.IntHistogram;
+import org.dblp.helper.NameDictionary;
+
+/**
+ * Careers of the authors/editors: the first year, the last year and the<br/>
+ * number of publications of each author/editor.<br/>
+ * An author/editor dictionary gives each name an int id, and the data of<br/>
+ * the id are kept in primitive arrays instead of a set of Person objects<br/>
+ * per year, so the distributions (new authors per year, name length, career<br/>
+ * length, productivity) are computed in one scan of the ids. The names are<br/>
+ * kept outside of the heap (see NameDictionary) and looked up from the<br/>
+ * characters of the parser: no Person object or String is kept for them.<br/>
+ * The number of publications per year of an author/editor is only kept if<br/>
+ * the author/editor published in more than one year: it is needed to find<br/>
+ * the first and the last year again when a publication is taken out<br/>
+ * (see retract).<br/>
+ * Only the publications with authors/editors and a valid year are counted.<br/>
+ * The unreliable names of all publications are logged, as by<br/>
+ * Publication.getPersons.
+ * @author SergeOliver
+ *
+ */
+public class CareerTracker {
+
+	private final NameDictionary names = new NameDictionary();
+
+	/**
+	 * Number of ids whose name was measured, i.e. whose nameLength and<br/>
+	 * unreliable are set. The same as names.size() after each lookup.
+	 */
+	private int size = 0;
+
+	/**
+	 * nameLengths[id]: number of characters of the name without its spaces (see Person).
+	 */
+	private int[] nameLengths = new int[1024];
+
+	/**
+	 * unreliable[id]: is the name logged as unreliable (see Person)?
+	 */
+	private boolean[] unreliable = new boolean[1024];
+
+	/**
+	 * firstYear[id], lastYear[id]: first and last year in which the person published.
+	 */
+	private int[] firstYear = new int[1024], lastYear = new int[1024];
+
+	/**
+	 * publications[id]: number of publications of the person, 0 if all of them were taken out.
+	 */
+	private int[] publications = new int[1024];
+
+	/**
+	 * years[id]: (year, number of publications) pairs sorted by year, or null<br/>
+	 * if the person published in one year only.
+	 */
+	private int[][] years = new int[1024][];
+
+	/**
+	 * List of (year -> number of publications with authors/editors) pairs.
+	 */
+	private final IntHistogram publicationsPerYear = new IntHistogram();
+
+	/**
+	 * Counts a publication for each of its authors/editors, if it has a<br/>
+	 * valid year. Logs the unreliable names.
+	 * @param publication
+	 */
+	public void add(PublicationData publication){
+		int numberOfPersons = publication.getNumberOfPersons();
+		if(numberOfPersons == 0) return;
+		int year = publication.getYear().getIntKeyValue();
+		if(year != -1)
+			publicationsPerYear.increment(year);
+		for(int i=0; i<numberOfPersons; i++){
+			int id = id(publication, i);
+			if(unreliable[id])
+				Person.logUnreliableName(names.getName(id), publication.getKey());
+			if(year != -1)
+				add(id, year, 1);
+		}
+	}
+
+	/**
+	 * Takes a publication out: the opposite of add.
+	 * @param publication which was given to add.
+	 */
+	public void retract(PublicationData publication){
+		int numberOfPersons = publication.getNumberOfPersons();
+		int year = publication.getYear().getIntKeyValue();
+		if(numberOfPersons == 0 || year == -1) return;
+		publicationsPerYear.decrement(year);
+		for(int i=0; i<numberOfPersons; i++){
+			int id = id(publication, i);
+			if(publications[id] > 0)
+				retract(id, year);
+		}
+	}
+
+	/**
+	 * Adds the careers of another tracker to this one.
+	 * @param other
+	 */
+	public void merge(CareerTracker other){
+		publicationsPerYear.merge(other.publicationsPerYear);
+		for(int i=0; i<other.size; i++){
+			if(other.publications[i] == 0) continue;
+			int id = names.id(other.names, i);
+			if(id == size)
+				measure(id);
+			if(other.years[i] == null)
+				add(id, other.firstYear[i], other.publications[i]);
+			else{
+				int[] pairs = other.years[i];
+				for(int j=0; j<pairs.length; j+=2)
+					add(id, pairs[j], pairs[j + 1]);
+			}
+		}
+	}
+
+	/**
+	 * @param publication
+	 * @param i: index of an author/editor of the publication.
+	 * @return The id of the author/editor.
+	 */
+	private int id(PublicationData publication, int i){
+		int id = publication.getPersonId(i, names);
+		if(id == size)
+			measure(id);
+		return id;
+	}
+
+	/**
+	 * Gives a new id its arrays and measures its name. The name is decoded<br/>
+	 * once, when it is met for the first time.
+	 * @param id
+	 */
+	private void measure(int id){
+		if(size == publications.length){
+			int capacity = size * 2;
+			nameLengths = Arrays.copyOf(nameLengths, capacity);
+			unreliable = Arrays.copyOf(unreliable, capacity);
+			firstYear = Arrays.copyOf(firstYear, capacity);
+			lastYear = Arrays.copyOf(lastYear, capacity);
+			publications = Arrays.copyOf(publications, capacity);
+			years = Arrays.copyOf(years, capacity);
+		}
+		Person person = new Person(names.getName(id));
+		nameLengths[id] = person.getNameLength().getIntKeyValue();
+		unreliable[id] = !person.isReliable();
+		++size;
+	}
+
+	/**
+	 * Counts publications of a person in a year.
+	 * @param id of the person.
+	 * @param year
+	 * @param count: number of publications.
+	 */
+	private void add(int id, int year, int count){
+		if(publications[id] == 0){
+			firstYear[id] = year;
+			lastYear[id] = year;
+		}else if(years[id] != null || year != firstYear[id]){
+			if(years[id] == null)//second year of the person
+				years[id] = new int[]{firstYear[id], publications[id]};
+			years[id] = addPair(years[id], year, count);
+			firstYear[id] = Math.min(firstYear[id], year);
+			lastYear[id] = Math.max(lastYear[id], year);
+		}
+		publications[id] += count;
+	}
+
+	/**
+	 * Takes a publication of a person in a year out.
+	 * @param id of the person.
+	 * @param year
+	 */
+	private void retract(int id, int year){
+		int[] pairs = years[id];
+		if(pairs == null){
+			if(year == firstYear[id])
+				--publications[id];
+			return;
+		}
+		int i = indexOf(pairs, year);
+		if(i < 0) return;
+		--publications[id];
+		if(--pairs[i + 1] > 0) return;
+		pairs = removePair(pairs, i);
+		firstYear[id] = pairs[0];
+		lastYear[id] = pairs[pairs.length - 2];
+		years[id] = (pairs.length == 2) ? null : pairs;//back to one year
+	}
+
+	/**
+	 * @param pairs: (year, count) pairs sorted by year.
+	 * @param year
+	 * @return The index of the year in pairs, or -1.
+	 */
+	private static int indexOf(int[] pairs, int year){
+		for(int i=0; i<pairs.length; i+=2){
+			if(pairs[i] == year)
+				return i;
+		}
+		return -1;
+	}
+
+	private static int[] addPair(int[] pairs, int year, int count){
+		int i = 0;
+		while(i < pairs.length && pairs[i] < year)
+			i += 2;
+		if(i < pairs.length && pairs[i] == year){
+			pairs[i + 1] += count;
+			return pairs;
+		}
+		int[] result = new int[pairs.length + 2];
+		System.arraycopy(pairs, 0, result, 0, i);
+		result[i] = year;
+		result[i + 1] = count;
+		System.arraycopy(pairs, i, result, i + 2, pairs.length - i);
+		return result;
+	}
+
+	private static int[] removePair(int[] pairs, int i){
+		int[] result = new int[pairs.length - 2];
+		System.arraycopy(pairs, 0, result, 0, i);
+		System.arraycopy(pairs, i + 2, result, i, pairs.length - i - 2);
+		return result;
+	}
+
+	/**
+	 * @return The number of ids, including the ones of the persons whose<br/>
+	 * publications were all taken out (see getPublications).
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * @param id
+	 * @return The name of the id, decoded into a new String.
+	 */
+	public String getName(int id){
+		return names.getName(id);
+	}
+
+	/**
+	 * @param id
+	 * @return The number of characters of the name without its spaces, -1<br/>
+	 * for an empty name (see Person.getNameLength).
+	 */
+	public int getNameLength(int id){
+		return nameLengths[id];
+	}
+
+	/**
+	 * @param id
+	 * @return The number of publications of the person, 0 if the person no<br/>
+	 * longer has publications and must be ignored.
+	 */
+	public int getPublications(int id){
+		return publications[id];
+	}
+
+	public int getFirstYear(int id){
+		return firstYear[id];
+	}
+
+	public int getLastYear(int id){
+		return lastYear[id];
+	}
+
+	/**
+	 * @return The list of (year -> number of publications with authors/editors) pairs.
+	 */
+	public IntHistogram getPublicationsPerYear(){
+		return publicationsPerYear;
+	}
+}
@@ -0,0 +1,173 @@
+package org.dblp.field;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+import org.dblp.helper.NameDictionary;
+import org.dblp.parser.MyParser;
+
+/**
+ * Number of books which have the same number of cross references.<br/>
+ * Cross references to homepages are ignored. Logs the books which have<br/>
+ * more than 3000 cross references.<br/>
+ * The cross references are looked up in a dictionary which gives each of<br/>
+ * them an int id (see PublicationData.getCrossrefId), and the number of<br/>
+ * publications which refer to an id is an element of an int array. The<br/>
+ * distribution is the count of counts of this array (see<br/>
+ * IntHistogram.ofCounts).
+ * @author SergeOliver
+ *
+ */
+public class CrossrefAnalyzer extends ChartAnalyzer {
+
+	private final NameDictionary crossrefs = new NameDictionary();
+
+	/**
+	 * Number of ids whose book is set. The same as crossrefs.size() after each lookup.
+	 */
+	private int size = 0;
+
+	/**
+	 * crossReferencesPerBooks[id]: number of publications which refer to the<br/>
+	 * cross reference, always 0 for a cross reference which is not counted.
+	 */
+	private int[] crossReferencesPerBooks = new int[1024];
+
+	/**
+	 * books[id]: is the cross reference counted (see isBook)?
+	 */
+	private boolean[] books = new boolean[1024];
+
+	/**
+	 * Stores the key of book which have too many fields compared to the <br/>
+	 * median value of the distribution.
+	 */
+	private SortedSet<String> setOfBookKeyWithUnreliableNbrOfCrossrefs = new TreeSet<String>();
+
+	public CrossrefAnalyzer(){
+		super("crossrefs", new String[]{"crossref"}, CROSSREFPERBOOKOUTPUT,
+				"Number of cross reference numbers which have the same number of cross references from 1 to 150", "Books",
+				"Frequency distribution of cross references on books", "Cross References");
+		setChartRows(150);
+	}
+
+	/**
+	 * @param crossref
+	 * @return True if the cross reference is counted.
+	 */
+	private static boolean isBook(String crossref){
+		return crossref != null && !crossref.isEmpty() && !crossref.startsWith("homepages");
+	}
+
+	/**
+	 * Increments the number of publications which refer to the cross reference.
+	 */
+	@Override
+	public void add(PublicationData publication){
+		int id = id(publication.getCrossrefId(crossrefs));
+		if(id != -1 && books[id])
+			++crossReferencesPerBooks[id];
+	}
+
+	@Override
+	public void retract(PublicationData publication){
+		int id = id(publication.getCrossrefId(crossrefs));
+		if(id != -1 && crossReferencesPerBooks[id] > 0)
+			--crossReferencesPerBooks[id];
+	}
+
+	@Override
+	public void merge(Analyzer analyzer){
+		CrossrefAnalyzer other = (CrossrefAnalyzer) analyzer;
+		for(int i=0; i<other.size; i++){
+			if(other.crossReferencesPerBooks[i] == 0) continue;
+			int id = id(crossrefs.id(other.crossrefs, i));
+			crossReferencesPerBooks[id] += other.crossReferencesPerBooks[i];
+		}
+	}
+
+	/**
+	 * Gives a new id its elements: the cross reference is decoded once, when<br/>
+	 * it is met for the first time, to know whether it is counted.
+	 * @param id of a cross reference or -1.
+	 * @return The id.
+	 */
+	private int id(int id){
+		if(id != size)
+			return id;
+		if(size == books.length){
+			crossReferencesPerBooks = Arrays.copyOf(crossReferencesPerBooks, size * 2);
+			books = Arrays.copyOf(books, size * 2);
+		}
+		books[id] = isBook(crossrefs.getName(id));
+		++size;
+		return id;
+	}
+
+	/**
+	 * Keeps at most MyParser.getMAX() keys in the set: the smallest ones.<br/>
+	 * So the content of the set does not depend on the order in which the<br/>
+	 * publications are parsed.
+	 * @param set
+	 * @param unreliableKey
+	 */
+	private static void addUnreliableKey(SortedSet<String> set, String unreliableKey){
+		set.add(unreliableKey);
+		if(set.size() > MyParser.getMAX())
+			set.remove(set.last());
+	}
+
+	/**
+	 * The books which have more than 3000 cross references are stored for a<br/>
+	 * late analysis.
+	 */
+	@Override
+	public void finish(){
+		for(int id=0; id<size; id++){
+			if(crossReferencesPerBooks[id] > 3000)
+				addUnreliableKey(setOfBookKeyWithUnreliableNbrOfCrossrefs, crossrefs.getName(id));
+		}
+	}
+
+	/**
+	 * Output format cross references , books.<br/>
+	 * The column chart only shows the numbers of books which have 1 to 150 cross references.
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of cross references per book");
+		Result result = newResult("Cross References", "Books");
+		IntHistogram booksPerNumberOfCrossrefs = IntHistogram.ofCounts(crossReferencesPerBooks, size);
+		double[] values = new double[booksPerNumberOfCrossrefs.size()];
+		int i = 0;
+		long numberOfBook = 0;
+		for(int numberOfCrossref : booksPerNumberOfCrossrefs.keys()){
+			numberOfBook = booksPerNumberOfCrossrefs.get(numberOfCrossref);
+			result.addRow(numberOfCrossref, numberOfBook);
+			values[i++] = numberOfBook;
+		}
+		addDistribution(result, "Number Of Cross References Per Book", values);
+		addRecordDistribution(result, "Cross references per book", booksPerNumberOfCrossrefs, "Cross References Per Book");
+		return result;
+	}
+
+	/**
+	 * Logs the keys of the books which have a number of cross references<br/>
+	 * very large compared to other.
+	 */
+	@Override
+	protected void writeResult(Result result) throws IOException {
+		super.writeResult(result);
+		MyParser.getLog().println("\n\nKeys of books which have a number of cross references very large compared to other");
+		for(String bookKey : setOfBookKeyWithUnreliableNbrOfCrossrefs){
+			MyParser.getLog().println(bookKey);
+		}
+		MyParser.getLog().println("\n______________________________________________________________\n");
+	}
+}
@@ -0,0 +1,66 @@
+package org.dblp.field;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+
+/**
+ * Number of electronic versions per year.
+ * @author SergeOliver
+ *
+ */
+public class ElectronicVersionAnalyzer extends ChartAnalyzer {
+
+	/**
+	 * List of (year -> number of electronic versions produced in the same year) pairs.
+	 */
+	private IntHistogram electronicVersionsPerYear = new IntHistogram();
+
+	public ElectronicVersionAnalyzer(){
+		super("ee", new String[]{"ee", "year"}, EEPERYEAROUPTUT,
+				"Number of electronic versions made the same year", "Electronic Versions",
+				"Frequency distribution of electronic versions un to now", "Electronic Versions");
+	}
+
+	/**
+	 * Creates a new entry (year -> number of electronic versions) for a new year.
+	 * Or increment the number of electronic versions for an existing year.<br/>
+	 * Does nothing for publications without valid year.
+	 */
+	@Override
+	public void add(PublicationData publication){
+		if(publication.hasEe() && publication.getYear().getIntKeyValue() != -1)
+			electronicVersionsPerYear.increment(publication.getYear().getIntKeyValue());
+	}
+
+	@Override
+	public void retract(PublicationData publication){
+		if(publication.hasEe() && publication.getYear().getIntKeyValue() != -1)
+			electronicVersionsPerYear.decrement(publication.getYear().getIntKeyValue());
+	}
+
+	@Override
+	public void merge(Analyzer analyzer){
+		electronicVersionsPerYear.merge(((ElectronicVersionAnalyzer) analyzer).electronicVersionsPerYear);
+	}
+
+	/**
+	 * Output format year, electronic versions
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of electronic versions per year");
+		Result result = newResult("Year", "Electronic versions");
+		double[] values = new double[electronicVersionsPerYear.size()];
+		int i = 0;
+		long numberOfEe = 0;
+		for(int year : electronicVersionsPerYear.keys()){
+			numberOfEe = electronicVersionsPerYear.get(year);
+			result.addRow(year, numberOfEe);
+			values[i++] = numberOfEe;
+		}
+		addDistribution(result, "Number Of Electronic Versions Per Year", values);
+		return result;
+	}
+}
@@ -0,0 +1,257 @@
+package org.dblp.field;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.helper.DistributionSummary;
+import org.dblp.helper.HtmlCode;
+import org.dblp.helper.IntHistogram;
+import org.dblp.helper.StatisticalDistributionComputation;
+import org.dblp.parser.MyParser;
+
+/**
+ * Number of fields per publication, for articles, inproceedings and the<br/>
+ * other publication types. Ignores www publications because they are not<br/>
+ * relevant for our analysis.<br/>
+ * Logs the keys of publications which have too many fields.
+ * @author SergeOliver
+ *
+ */
+public class FieldDistributionAnalyzer extends ChartAnalyzer {
+
+	/**
+	 * List of (publication type -> (number of fields -> number of publications<br/>
+	 * which have the same number of fields) pairs) pairs.
+	 */
+	private Map<String, IntHistogram> fieldDistributionList = new HashMap<>();
+
+	/**
+	 * Stores the key of publications which have too many fields compared <br/>
+	 * to the median value of the distribution. Only the first MyParser.getMAX()<br/>
+	 * keys are displayed.
+	 */
+	private SortedSet<String> setOfPubKeyWithUnreliableNbrOfFields = new TreeSet<String>();
+
+	public FieldDistributionAnalyzer(){
+		super("fields", new String[0], FIELDPERPUBLICATIONOUTPUT,
+				"Number of publication which have the same number of fields from 1 to 50", "Publications",
+				"Frequency distribution of fields inside publications", "Fields");
+	}
+
+	/**
+	 * Inserts a new publication type in the list. Associates it to a new <br/>
+	 * fields -> publications pair in which fields = number of fields and publication = 1.<br/> 
+	 * Associates a new fields -> publications pair to publication types that are <br/>
+	 * already in the list.<br/>
+	 * Increments the number of publications when a existing number of fields<br/>
+	 * is found inside the current publication. 
+	 */
+	@Override
+	public void add(PublicationData publication){
+		String qName = publication.getType();
+		if(qName.equals("www")) return;
+		if(!fieldDistributionList.containsKey(qName))
+			fieldDistributionList.put(qName, new IntHistogram());
+		fieldDistributionList.get(qName).increment(publication.getNumberOfFields());
+		
+//		add the key of publications, which too many fields, into log.log 
+		String unreliableKey = unreliableNumberOfFields(qName, publication.getKey(), publication.getNumberOfFields());
+		if(unreliableKey != null)
+			setOfPubKeyWithUnreliableNbrOfFields.add(unreliableKey);
+	}
+
+	@Override
+	public void retract(PublicationData publication){
+		String type = publication.getType();
+		if(type.equals("www")) return;
+		IntHistogram fields = fieldDistributionList.get(type);
+		if(fields != null){
+			fields.decrement(publication.getNumberOfFields());
+			if(fields.isEmpty())
+				fieldDistributionList.remove(type);
+		}
+		String unreliableKey = unreliableNumberOfFields(type, publication.getKey(), publication.getNumberOfFields());
+		if(unreliableKey != null)
+			setOfPubKeyWithUnreliableNbrOfFields.remove(unreliableKey);
+	}
+
+	@Override
+	public void merge(Analyzer analyzer){
+		FieldDistributionAnalyzer other = (FieldDistributionAnalyzer) analyzer;
+		for(Entry<String, IntHistogram> e : other.fieldDistributionList.entrySet()){
+			if(!fieldDistributionList.containsKey(e.getKey()))
+				fieldDistributionList.put(e.getKey(), new IntHistogram());
+			fieldDistributionList.get(e.getKey()).merge(e.getValue());
+		}
+		setOfPubKeyWithUnreliableNbrOfFields.addAll(other.setOfPubKeyWithUnreliableNbrOfFields);
+	}
+
+	/**
+	 * @param qName: name of the publication.
+	 * @param key: key of the publication.
+	 * @param fieldCounter: number of fields inside the publication.
+	 * @return The entry of the log file for a publication which has too many<br/>
+	 * fields, or null.
+	 */
+	private static String unreliableNumberOfFields(String qName, String key, int fieldCounter){
+		if(qName.equals("article") && fieldCounter > 260)
+			return "Article key: "+key+" --> # fields = "+fieldCounter;
+		else if(qName.equals("book") && fieldCounter > 400)
+			return "Book key: "+key+" --> # fields = "+fieldCounter;
+		else if(qName.equals("proceedings") && fieldCounter > 200)
+			return "Proceedings key: "+key+" --> # fields = "+fieldCounter;
+		return null;
+	}
+
+	/**
+	 * number of fields -> number of [articles, inproceedings, other]
+	 */
+	private final IntHistogram[] columns = {new IntHistogram(), new IntHistogram(), new IntHistogram()};
+	/**
+	 * Collects the number of fields per masterthesis, phdthesis, book, incollection, 
+	 * proceedings in the column other.<br/>
+	 * Adds the number of publications of existing number of fields<br/>
+	 * Or creates an entry for new number of fields.<br/>
+	 * @return List of aggregate number of publications.
+	 */
+	private double[] unionOfMaps(){
+		IntHistogram others = new IntHistogram();
+		SortedSet<String> publicationTypeSet = new TreeSet<String>(fieldDistributionList.keySet());
+		for(String publicationType: publicationTypeSet){
+			//masterthesis, phdthesis, book, incollection, proceedings
+			if(!publicationType.equals("article") && !publicationType.equals("inproceedings"))
+				others.merge(fieldDistributionList.get(publicationType));//number of fields -> number of publications
+		}
+		double[] numberOfpublicationsArray = new double[others.size()];
+		int j = 0;
+		for(int numberOfField : others.keys())
+			numberOfpublicationsArray[j++] = others.get(numberOfField);//number of publications
+		columns[2] = others;
+		return numberOfpublicationsArray;
+	}
+
+	/**
+	 * Number of fields -> number of articles, inproceedings and other (masterthesis, <br/>
+	 * phdthesis, book, incollection, proceedings), with the distribution of<br/>
+	 * each of the three columns.
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of field per publication");
+		Result result = newResult("Fields", "Articles", "Inproceedings", "Other");
+		SortedSet<String> publicationTypeSet = new TreeSet<String>(fieldDistributionList.keySet()); 
+		double[] numberOfpublicationsArray = unionOfMaps();
+		int count = 0;
+		addDistribution(result, "Number Of Fields Per Other (incollection+proceedings+book+phdthesis+masterthesis)", numberOfpublicationsArray);
+		for(String publicationType: publicationTypeSet){//publication type
+			if(!publicationType.equals("article") && !publicationType.equals("inproceedings")) continue;
+			IntHistogram fields = fieldDistributionList.get(publicationType);//number of fields -> number of publications
+			double[] values = new double[fields.size()];
+			int i = 0;
+			for(int numberOfField : fields.keys())
+				values[i++] = fields.get(numberOfField);
+			columns[publicationType.equals("article") ? 0 : 1] = fields;
+//			the title of inproceedings in operation_result_output.csv has no space
+			String title = publicationType.equals("article") ? "Number Of Fields Per " : "Number Of Fields Per";
+			result.addDistribution("Number Of Fields Per "+publicationType,
+					StatisticalDistributionComputation.computeStatisticalDistribution(values, title+publicationType));
+		}
+		for(DistributionSummary summary : result.getDistributions().values())
+			System.out.println(++count+". M = "+summary.getMean()+" V = "+summary.getVariance()+" SD = "+summary.getStandardDeviation());
+		IntHistogram allFields = new IntHistogram();
+		for(IntHistogram column : columns)
+			allFields.merge(column);
+		for(int field : allFields.keys())
+			result.addRow(field, columns[0].get(field), columns[1].get(field), columns[2].get(field));
+		return result;
+	}
+
+	/**
+	 * Writes the number of publications which have 1 to 50 fields. The box<br/>
+	 * plot shows the sums of the five numbers of the three distributions and<br/>
+	 * the maximal mean, variance and standard deviation (see writeBoxPlot).<br/>
+	 * Logs the keys of publications which have too many fields.
+	 */
+	@Override
+	protected void writeResult(Result result) throws IOException {
+		out.println("Fields , Articles , Inproceedings , Other");
+		int maxNumberOfFields = 50;
+		for(int row=0; row<result.size(); row++){
+			if(--maxNumberOfFields == 0) break;
+			writeRow(result, row);
+		}
+		if(result.getDistributions().isEmpty())
+			writeNoData();
+		else
+			writeBoxPlot(result.getDistributions().values());
+		MyParser.getLog().println("\n\nKeys of publication which have a number of fields very large compared to other");
+		int displayed = 0;
+		for(String publicationKey : setOfPubKeyWithUnreliableNbrOfFields){
+			if(displayed++ == MyParser.getMAX()) break;
+			MyParser.getLog().println(publicationKey);
+		}
+		MyParser.getLog().println("\n______________________________________________________________\n");
+	}
+
+	/**
+	 * Writes the sums of the five numbers of the distributions and their<br/>
+	 * maximal mean, variance and standard deviation.
+	 * @param distributions
+	 * @throws IOException
+	 */
+	private void writeBoxPlot(Collection<DistributionSummary> distributions) throws IOException {
+		double[] fiveNumbers = new double[5];
+		double mean = 0;
+		double variance = 0;
+		double standardDeviation = 0;
+		for(DistributionSummary summary : distributions){
+			fiveNumbers[0] += summary.getMinimum();
+			fiveNumbers[1] += summary.getLowerQuartile();
+			fiveNumbers[2] += summary.getMedian();
+			fiveNumbers[3] += summary.getUpperQuartile();
+			fiveNumbers[4] += summary.getMaximum();
+			mean = Math.max(mean, summary.getMean());
+			variance = Math.max(variance, summary.getVariance());
+			standardDeviation = Math.max(standardDeviation, summary.getStandardDeviation());
+		}
+		out.println("</pre>");
+		out.println("<p><h3>Box plot   "+HtmlCode.getDateAndTime()+"</h3></p>");
+		out.println("<div id=\"containerBoxPlot\" style=\"width:1280px; height: 500px; margin: 0 auto\"></div>");
+		out.println("<pre id=\"csvBoxPlot\" style=\"display:none\">");
+		out.print(fiveNumbers[0], 2).print(", ")
+			.print(fiveNumbers[1], 2).print(", ")
+			.print(fiveNumbers[2], 2).print(", ")
+			.print(fiveNumbers[3], 2).print(", ")
+			.print(fiveNumbers[4], 2).print('\n');
+
+		out.println("</pre>");
+		
+		
+		out.println("<pre id=\"meanBoxPlot\" style=\"display:none\">");
+		out.print(mean, 2).print('\n');
+		System.out.printf("mean = %.2f\n ",mean);
+		out.println("</pre>");
+
+		out.println("<div id=\"variance_and_standard_deviation\">");
+		out.print("\nMax Variance:  ").print(variance, 2).print("\n<br/>");
+		out.print("\nMax Standard Deviation:  ").print(standardDeviation, 2).print("\n<br/>");
+		out.println("</div>");
+	}
+
+	/**
+	 * Format: fields , articles, inproceedings , other
+	 */
+	@Override
+	protected void writeRow(Result result, int row) throws IOException {
+		out.print(result.getLabel(row)).print(" , ").print(result.getValue(row, 0)).print(", ")
+			.print(result.getValue(row, 1)).print(" , ").print(result.getValue(row, 2)).print('\n');
+	}
+}
@@ -0,0 +1,63 @@
+package org.dblp.field;
+
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+
+/**
+ * Number of authors/editors which made their first publication in the same year.
+ * @author SergeOliver
+ *
+ */
+public class NewAuthorAnalyzer extends CareerAnalyzer {
+
+	/**
+	 * List of (year -> number of authors/editors which made their first<br/>
+	 * publication in the same year) pairs.
+	 */
+	private IntHistogram newAuthorsPerYear = new IntHistogram();
+
+	public NewAuthorAnalyzer(){
+		super("new-authors", NEWAUTHORPERYEAROUTPUT,
+				"Number of authors/editors which made their first publication in the same year", "Authors / Editors",
+				"Frequency distribution of new authors/editors up to now", "Authors / Editors");
+	}
+
+	/**
+	 * Counts each author/editor in the year of its first publication.<br/>
+	 * e.g. 1960 -> a1, a2, a3 1961 -> a3, a5 => a3 is only counted in 1960.<br/>
+	 * Estimated by the sketch in the approximate mode.
+	 */
+	@Override
+	public void finish(){
+		if(sketch != null){
+			newAuthorsPerYear = sketch.getNewAuthorsPerYear();
+			return;
+		}
+		for(int id=0; id<careers.size(); id++){
+			if(careers.getPublications(id) > 0)
+				newAuthorsPerYear.increment(careers.getFirstYear(id));
+		}
+	}
+
+	/**
+	 * Output format year , new authors/editors<br/>
+	 * In the approximate mode, the error bound of the years depends on the<br/>
+	 * authors/editors up to each year (see CareerSketch.getNewAuthorsErrorBound).
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of new authors per year");
+		Result result = newResult("Year", "New Authors / Editors");
+		IntHistogram years = getPublicationsPerYear();
+		double[] values = new double[years.size()];
+		int i = 0;
+		for(int year: years.keys()){
+			long newAuthors = newAuthorsPerYear.get(year);
+			result.addRow(year, newAuthors);
+			values[i++] += newAuthors;
+		}
+		addDistribution(result, "New Authors Or Editors Per Year", values);
+		addErrorBound(result, CareerSketch.getNewAuthorsErrorBound(newAuthorsPerYear));
+		return result;
+	}
+}
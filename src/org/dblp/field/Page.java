@@ -1,8 +1,8 @@
 package org.dblp.field;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.regex.Pattern;
 
 import org.dblp.helper.IntKey;
 
@@ -10,20 +10,28 @@ import org.dblp.helper.IntKey;
  * Counts the number of pages cross references which page elements have<br/>
  * the format: x (e.g. 127) or x-y (e.g. 175-192) with x < y.<br/>
  * VIP: other format types are considered to be unreliable and hence stored<br/>
- * in the log file for later analysis.
+ * in the log file for later analysis.<br/>
+ * A page object can be reused for the pages of the next publication<br/>
+ * (see set). The format is checked on the characters of the parser, the<br/>
+ * String of the pages is only created for the log file.
  * @author SergeOliver
  *
  */
 public class Page {
 	
 	private IntKey pages;
-	private String page;
+	/**
+	 * Characters of the page element: text[start..end[.
+	 */
+	private char[] text;
+	private int start, end;
 	private String key;
 	
 	/**
-	 * Stores unreliable number of page formats for a later analysis.
+	 * Stores unreliable number of page formats for a later analysis.<br/>
+	 * Shared by all the parser threads.
 	 */
-	private static Set<String> setOfUnreliablePage = new TreeSet<String>();
+	private static Set<String> setOfUnreliablePage = Collections.synchronizedSortedSet(new TreeSet<String>());
 	
 	/**
 	 * Construct a page object which contains the number of pages of the cross reference
@@ -31,27 +39,76 @@ public class Page {
 	 * @param key
 	 */
 	public Page(String page, String key){
+		set(page.toCharArray(), 0, page.length(), key);
+	}
+
+	/**
+	 * Creates an empty page object which is filled by set.
+	 */
+	public Page(){
+	}
+
+	/**
+	 * Takes the pages of another publication. The characters are not copied,<br/>
+	 * they must not change while the page object is used.
+	 * @param ch: characters of the page element.
+	 * @param offset of the pages in ch.
+	 * @param count: number of characters.
+	 * @param key of the publication.
+	 */
+	public void set(char[] ch, int offset, int count, String key){
 		this.key = key;
-		this.page = page;
-		if(Pattern.matches("\\d+", page)){//e.g. 25
-			pages = new IntKey(1);
-		}else if(Pattern.matches("\\d+-\\d+", page)){//175-198
-			String[] tokens = page.split("-");
-			int diff = Integer.parseInt(tokens[1]) - Integer.parseInt(tokens[0]);
+		text = ch;
+		start = offset;
+		end = offset + count;
+		int firstEnd = digits(ch, offset, end);
+		if(firstEnd > offset && firstEnd == end){//e.g. 25
+			pages = IntKey.valueOf(1);
+		}else if(firstEnd > offset && ch[firstEnd] == '-' && firstEnd + 1 < end && digits(ch, firstEnd + 1, end) == end){//175-198
+			int diff = parseInt(ch, firstEnd + 1, end) - parseInt(ch, offset, firstEnd);
 			if(diff == 0){//e.g. 14-14 = 0
-				pages = new IntKey(1);
+				pages = IntKey.valueOf(1);
 			}else if(diff > 0){//e.g. 14-17 = 3
-				pages = new IntKey(diff);
+				pages = IntKey.valueOf(diff);
 			}else{//e.g. 17-14 = -3
-				pages = new IntKey(-1);
-				setOfUnreliablePage.add("[Page: "+page+"] [Key: "+key+"]");
+				pages = IntKey.valueOf(-1);
+				setOfUnreliablePage.add("[Page: "+getPage()+"] [Key: "+key+"]");
 			}
 		} else{//anything else
-			pages = new IntKey(-1);
-			setOfUnreliablePage.add("[Page: "+page+"] [Key: "+key+"]");
+			pages = IntKey.valueOf(-1);
+			setOfUnreliablePage.add("[Page: "+getPage()+"] [Key: "+key+"]");
 		}
 	}
+
+	/**
+	 * @return Index after the digits 0-9 which begin at i.
+	 */
+	private static int digits(char[] ch, int i, int end){
+		while(i < end && ch[i] >= '0' && ch[i] <= '9')
+			++i;
+		return i;
+	}
+
+	/**
+	 * @return The value of the digits ch[start..end[, like Integer.parseInt.
+	 */
+	private static int parseInt(char[] ch, int start, int end){
+		long value = 0;
+		for(int i=start; i<end; i++){
+			value = value * 10 + (ch[i] - '0');
+			if(value > Integer.MAX_VALUE)
+				throw new NumberFormatException("For input string: \""+new String(ch, start, end - start)+"\"");
+		}
+		return (int) value;
+	}
 	
+	/**
+	 * @return The text of the page element.
+	 */
+	public String getPage(){
+		return new String(text, start, end - start);
+	}
+
 	public String getPubKey(){
 		return key;
 	}
@@ -70,7 +127,7 @@ public class Page {
 	
 	@Override 
 	public String toString(){
-		return "page:  "+page;
+		return "page:  "+getPage();
 	}
 	
 	/**
@@ -0,0 +1,95 @@
+package org.dblp.field;
+
+import java.io.IOException;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+import org.dblp.helper.IntKey;
+import org.dblp.parser.MyParser;
+
+/**
+ * Number of cross references which have the same number of pages.<br/>
+ * Logs the pages which have an invalid format.
+ * @author SergeOliver
+ *
+ */
+public class PageAnalyzer extends ChartAnalyzer {
+
+	/**
+	 * List of (numbers of pages -> numbers of cross references which have <br/>
+	 * the same numbers of pages) pairs.
+	 */
+	private IntHistogram pagesPerCrossReferences = new IntHistogram();
+
+	public PageAnalyzer(){
+		super("pages", new String[]{"pages"}, NUMBEROFPAGESPERCROSSREFOUTPUT,
+				"Number of cross references which have the same number of pages from 1 to 100", "Cross References",
+				"Frequency distribution of pages inside cross references", "Pages");
+		setChartRows(100);
+	}
+
+	/**
+	 * Does nothing for invalid number of pages
+	 * Creates a new entry (number of pages -> number of cross references) for a new number of pages.
+	 * Or increment the number of cross references of an existing number of pages.
+	 */
+	@Override
+	public void add(PublicationData publication){
+		IntKey pages = publication.getPages();
+		if(pages != null && pages.getIntKeyValue() >= 0)
+			pagesPerCrossReferences.increment(pages.getIntKeyValue());
+	}
+
+	@Override
+	public void retract(PublicationData publication){
+		IntKey pages = publication.getPages();
+		if(pages != null && pages.getIntKeyValue() >= 0)
+			pagesPerCrossReferences.decrement(pages.getIntKeyValue());
+	}
+
+	@Override
+	public void merge(Analyzer analyzer){
+		pagesPerCrossReferences.merge(((PageAnalyzer) analyzer).pagesPerCrossReferences);
+	}
+
+	/**
+	 * Output format Pages, Cross References.<br/>
+	 * The column chart only shows the numbers of Cross References which have 1 to 100 pages.
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of pages per cross reference");
+		Result result = newResult("Pages", "Cross References");
+		double[] values = new double[pagesPerCrossReferences.size()];
+		int i = 0;
+		long numberOfCrossReferences = 0;
+		for(int numberOfPage : pagesPerCrossReferences.keys()){
+			numberOfCrossReferences = pagesPerCrossReferences.get(numberOfPage);
+			result.addRow(numberOfPage, numberOfCrossReferences);
+			values[i++] = numberOfCrossReferences;
+		}
+		addDistribution(result, "Number Of Pages Per Cross references", values);
+		addRecordDistribution(result, "Pages per cross reference", pagesPerCrossReferences, "Pages Per Cross reference");
+		return result;
+	}
+
+	@Override
+	protected void writeHeader(Result result) throws IOException {
+		out.print("Pages , Cross References\n ");
+	}
+
+	/**
+	 * Logs the keys of the cross references whose pages have an invalid format.
+	 */
+	@Override
+	protected void writeResult(Result result) throws IOException {
+		super.writeResult(result);
+		MyParser.getLog().println("\n\nKeys of cross references which have a number of pages with an invalid format");
+		for(String crossrefKey : Page.getSetOfUnreliablePage()){
+			MyParser.getLog().println(crossrefKey);
+		}
+		MyParser.getLog().println("\n______________________________________________________________\n");
+	}
+}
@@ -1,5 +1,6 @@
 package org.dblp.field;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -35,9 +36,15 @@ public class Person implements Comparable<Person> {
 	private int spaces;
 
 	/**
-	 *  Stores unreliable author/editor names for a later analysis.
+	 * Does the name have at least three characters and single spaces only?
 	 */
-	private static Set<String> setOfUnreliableName = new TreeSet<String>();
+	private boolean reliable;
+
+	/**
+	 *  Stores unreliable author/editor names for a later analysis.<br/>
+	 * Shared by all the parser threads.
+	 */
+	private static Set<String> setOfUnreliableName = Collections.synchronizedSortedSet(new TreeSet<String>());
 	
 	/**
 	 * Creates a person object which contains the name of this author/editor<br/>
@@ -46,25 +53,78 @@ public class Person implements Comparable<Person> {
 	 * @param key: key of the current publication.
 	 */
 	public Person(String name, String key){
+		this(name);
+		checkReliability(key);
+	}
+
+	/**
+	 * Logs the name if it is unreliable. Called for each publication of the<br/>
+	 * person, because a Person object can be shared by several publications<br/>
+	 * (see Publication.getPersons).
+	 * @param key of the current publication.
+	 */
+	public void checkReliability(String key){
+		if(!reliable)
+			logUnreliableName(name, key);
+	}
+
+	/**
+	 * Logs an unreliable name.
+	 * @param name: trimmed name of the author/editor.
+	 * @param key of the current publication.
+	 */
+	public static void logUnreliableName(String name, String key){
+		setOfUnreliableName.add(" ["+name.length()+"] Name: "+name+" [Key: "+key+"]");
+	}
+
+	/**
+	 * Creates a person object without checking the reliability of the name.<br/>
+	 * Used for names which were already checked by a previous run.
+	 * @param name of the author/editor.
+	 */
+	public Person(String name){
 		this.name = name.trim();
-		int length = this.name.length();
-		boolean isSpace = false; //to check if there is more than one space between two words
-		int extraSpace = 0;
-		for(int i = 0; i < length; i++){
+		boolean isSpace = false;
+		for(int i = 0; i < this.name.length(); i++){
 			if(Character.isSpaceChar(this.name.charAt(i))){
-				if(!isSpace){
+				if(!isSpace)
 					++spaces;
-					isSpace = true;
-				}else
-					++extraSpace;
+				isSpace = true;
 			}else
 				isSpace = false;
 		}
-		
-		characters = (length > 0)?new IntKey(length - (spaces+extraSpace)) : new IntKey(-1);
+		characters = IntKey.valueOf(getNameLength(this.name));
+		reliable = isReliable(this.name);
+	}
 
-		if(length < 3 || extraSpace > 0)
-			setOfUnreliableName.add(" ["+length+"] Name: "+this.name+" [Key: "+key+"]");
+	/**
+	 * @param name: trimmed name of an author/editor.
+	 * @return The number of characters of the name without its spaces, -1<br/>
+	 * for an empty name.
+	 */
+	public static int getNameLength(CharSequence name){
+		int length = name.length();
+		if(length == 0) return -1;
+		int characters = length;
+		for(int i = 0; i < length; i++){
+			if(Character.isSpaceChar(name.charAt(i)))
+				--characters;
+		}
+		return characters;
+	}
+
+	/**
+	 * @param name: trimmed name of an author/editor.
+	 * @return True if the name has at least three characters and single spaces only.
+	 */
+	public static boolean isReliable(CharSequence name){
+		int length = name.length();
+		if(length < 3) return false;
+		for(int i = 1; i < length; i++){
+			if(Character.isSpaceChar(name.charAt(i)) && Character.isSpaceChar(name.charAt(i - 1)))
+				return false;
+		}
+		return true;
 	}
 	
 	@Override 
@@ -104,6 +164,13 @@ public class Person implements Comparable<Person> {
 	public int getSpaces(){
 		return spaces;
 	}
+
+	/**
+	 * @return True if the name has at least three characters and single spaces only.
+	 */
+	public boolean isReliable(){
+		return reliable;
+	}
 	
 	@Override
 	public String toString(){
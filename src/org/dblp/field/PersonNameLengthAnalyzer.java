@@ -0,0 +1,79 @@
+package org.dblp.field;
+
+import java.io.IOException;
+
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+import org.dblp.parser.MyParser;
+
+/**
+ * Number of author/editor names which have the same number of characters.<br/>
+ * Each author/editor of a publication with a valid year is counted once.<br/>
+ * Logs the person names which have an unreliable number of characters.
+ * @author SergeOliver
+ *
+ */
+public class PersonNameLengthAnalyzer extends CareerAnalyzer {
+
+	/**
+	 * List of (number of characters -> number of author/editor names <br/>
+	 * which have the same length) pairs.
+	 */
+	private IntHistogram charactersInPersonNames = new IntHistogram();
+
+	public PersonNameLengthAnalyzer(){
+		super("person-names", PERSONNAMELENGTHOUPTUT,
+				"Number of author/editror names which have the same number of characters", "Person Names",
+				"Frequency distribution of characters inside person names", "Characters in Person Names");
+	}
+
+	/**
+	 * Counts the number of authors/editors whose name have the same length.<br/>
+	 * Estimated by the sketch in the approximate mode.
+	 */
+	@Override
+	public void finish(){
+		if(sketch != null){
+			charactersInPersonNames = sketch.getNamesPerLength();
+			return;
+		}
+		for(int id=0; id<careers.size(); id++){
+			if(careers.getPublications(id) > 0)
+				charactersInPersonNames.increment(careers.getNameLength(id));
+		}
+	}
+
+	/**
+	 * Output format length, person names
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... person name length");
+		Result result = newResult("Characters", "Person names");
+		double[] values = new double[charactersInPersonNames.size()];
+		int i = 0;
+		long numberOfName = 0;
+		for(int length : charactersInPersonNames.keys()){
+			numberOfName = charactersInPersonNames.get(length);
+			result.addRow(length, numberOfName);
+			values[i++] = numberOfName; 
+		}
+		addDistribution(result, "Person Names Length", values);
+		addErrorBound(result, CareerSketch.ERROR_BOUND);
+		addRecordDistribution(result, "Characters per person name", charactersInPersonNames, "Characters Per Person Name");
+		return result;
+	}
+
+	/**
+	 * Logs the person names which have an unreliable number of characters.
+	 */
+	@Override
+	protected void writeResult(Result result) throws IOException {
+		super.writeResult(result);
+		MyParser.getLog().println("\n\nList of person names which have an unreliable number of characters");
+		for(String unreliableName : Person.getSetOfUnreliableName()){
+			MyParser.getLog().println(unreliableName);
+		}
+		MyParser.getLog().println("\n______________________________________________________________\n");
+	}
+}
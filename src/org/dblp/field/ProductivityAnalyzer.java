@@ -0,0 +1,58 @@
+package org.dblp.field;
+
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+
+/**
+ * Number of authors/editors which have the same number of publications.<br/>
+ * Not available in the approximate mode (see CareerSketch).
+ * @author SergeOliver
+ *
+ */
+public class ProductivityAnalyzer extends CareerAnalyzer {
+
+	/**
+	 * List of (number of publications -> number of authors/editors which<br/>
+	 * have the same number of publications) pairs.
+	 */
+	private IntHistogram authorsPerPublications = new IntHistogram();
+
+	public ProductivityAnalyzer(){
+		super("productivity", PRODUCTIVITYOUTPUT,
+				"Number of authors/editors which have the same number of publications from 1 to 100", "Authors / Editors",
+				"Frequency distribution of publications per author/editor", "Authors / Editors");
+		setChartRows(100);
+	}
+
+	@Override
+	public void finish(){
+		if(!isExact()) return;
+		for(int id=0; id<careers.size(); id++){
+			if(careers.getPublications(id) > 0)
+				authorsPerPublications.increment(careers.getPublications(id));
+		}
+	}
+
+	/**
+	 * Output format publications, authors/editors<br/>
+	 * The column chart only shows the number of authors/editors which have 1 to 100 publications.
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of publications per author");
+		Result result = newResult("Publications", "Authors / Editors");
+		if(!isExact())
+			return notAvailable(result);
+		double[] values = new double[authorsPerPublications.size()];
+		int i = 0;
+		long numberOfAuthors = 0;
+		for(int numberOfPublications : authorsPerPublications.keys()){
+			numberOfAuthors = authorsPerPublications.get(numberOfPublications);
+			result.addRow(numberOfPublications, numberOfAuthors);
+			values[i++] = numberOfAuthors;
+		}
+		addDistribution(result, "Number Of Publications Per Author Or Editor", values);
+		addRecordDistribution(result, "Publications per author/editor", authorsPerPublications, "Publications Per Author Or Editor");
+		return result;
+	}
+}
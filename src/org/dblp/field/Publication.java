@@ -0,0 +1,439 @@
+package org.dblp.field;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dblp.helper.CharDictionary;
+import org.dblp.helper.IntKey;
+import org.dblp.helper.NameDictionary;
+
+/**
+ * Contains the data of a publication element (level 2 of the dblp XML tree)<br/>
+ * which are needed by the analyzers (see PublicationData): the type, the key, the<br/>
+ * modification date, the number of fields, the year, the authors/editors,<br/>
+ * the title, the electronic version, the cross reference and the pages.<br/>
+ * A publication object is filled by the parser while it is inside the<br/>
+ * publication element and reused for the next one after reset().<br/>
+ * The parser appends the characters of the authors/editors, the title, the<br/>
+ * cross reference and the pages to buffers of the publication, which are<br/>
+ * reused. The objects are built by the first call of getPersons, getTitle,<br/>
+ * getCrossref or getPage, i.e. by the thread which analyzes the publication<br/>
+ * (see PublicationPipeline): the Person objects and the cross references<br/>
+ * are looked up in dictionaries of the thread, the Title and Page objects<br/>
+ * are reused and the small numbers are shared IntKey objects. So a<br/>
+ * publication whose names and cross reference were met before is parsed<br/>
+ * and analyzed without creating objects, apart from the Strings of its key<br/>
+ * and mdate attributes: about 200 bytes per publication with SAX and StAX,<br/>
+ * 70 with the mapped engine (see AllocationCheck). The career analyzers look the names up in their<br/>
+ * own dictionary (see getPersonId), without Person objects, and so does<br/>
+ * the cross reference analyzer (see getCrossrefId).
+ * @author SergeOliver
+ *
+ */
+public class Publication implements PublicationData {
+
+	/**
+	 * Person objects of the names met so far by the current thread.
+	 */
+	private static final ThreadLocal<CharDictionary<Person>> personDictionary = new ThreadLocal<CharDictionary<Person>>(){
+		@Override
+		protected CharDictionary<Person> initialValue(){
+			return new CharDictionary<Person>(){
+				@Override
+				protected Person create(String name){
+					return new Person(name);
+				}
+			};
+		}
+	};
+
+	/**
+	 * Cross references met so far by the current thread.
+	 */
+	private static final ThreadLocal<CharDictionary<String>> crossrefDictionary = new ThreadLocal<CharDictionary<String>>(){
+		@Override
+		protected CharDictionary<String> initialValue(){
+			return new CharDictionary<String>(){
+				@Override
+				protected String create(String crossref){
+					return crossref;
+				}
+			};
+		}
+	};
+
+	/**
+	 * Name of the publication element. e.g. article, inproceedings, www
+	 */
+	private String type = "";
+
+	private String key = "";
+
+	/**
+	 * Value of the mdate attribute. e.g. 2011-11-04
+	 */
+	private String mdate;
+
+	private int numberOfFields = 0;
+
+	private IntKey year = IntKey.valueOf(-1);
+
+	/**
+	 * Person objects of the names which were looked up so far.
+	 */
+	private List<Person> persons = new ArrayList<>();
+
+	/**
+	 * Characters of the names of the authors/editors, one after the other.
+	 */
+	private final Text personText = new Text();
+
+	/**
+	 * personEnds[i]: end of the i-th name in personText.
+	 */
+	private int[] personEnds = new int[16];
+
+	private int numberOfPersons = 0;
+
+	/**
+	 * Reused for the name which is looked up (see getPersonName).
+	 */
+	private final PersonName personName = new PersonName();
+
+	private final Text titleText = new Text();
+
+	/**
+	 * Reused for the title of each publication, valid if titleMeasured.
+	 */
+	private final Title title = new Title();
+
+	private boolean titleMeasured = false;
+
+	/**
+	 * Does the publication contain an electronic version element?
+	 */
+	private boolean ee = false;
+
+	private final Text crossrefText = new Text();
+
+	/**
+	 * Cross reference which was looked up, or null.
+	 */
+	private String crossref;
+
+	private final Text pageText = new Text();
+
+	/**
+	 * Reused for the pages of each publication, valid if pageMeasured.
+	 */
+	private final Page page = new Page();
+
+	private boolean pageMeasured = false;
+
+	/**
+	 * Prepares the object for the next publication element.
+	 */
+	public void reset(){
+		type = "";
+		key = "";
+		mdate = null;
+		numberOfFields = 0;
+		year = IntKey.valueOf(-1);
+		persons.clear();
+		personText.length = 0;
+		numberOfPersons = 0;
+		titleText.length = 0;
+		titleMeasured = false;
+		ee = false;
+		crossrefText.length = 0;
+		crossref = null;
+		pageText.length = 0;
+		pageMeasured = false;
+	}
+
+	/**
+	 * Copies the data of another publication, e.g. into a slot of the<br/>
+	 * PublicationPipeline. The characters are copied into the buffers of<br/>
+	 * this publication, the objects are built again by the thread which<br/>
+	 * analyzes this publication.
+	 * @param other
+	 */
+	public void set(Publication other){
+		reset();
+		type = other.type;
+		key = other.key;
+		mdate = other.mdate;
+		numberOfFields = other.numberOfFields;
+		year = other.year;
+		personText.append(other.personText.chars, 0, other.personText.length);
+		if(personEnds.length < other.numberOfPersons)
+			personEnds = Arrays.copyOf(personEnds, other.personEnds.length);
+		System.arraycopy(other.personEnds, 0, personEnds, 0, other.numberOfPersons);
+		numberOfPersons = other.numberOfPersons;
+		titleText.append(other.titleText.chars, 0, other.titleText.length);
+		ee = other.ee;
+		crossrefText.append(other.crossrefText.chars, 0, other.crossrefText.length);
+		pageText.append(other.pageText.chars, 0, other.pageText.length);
+	}
+
+	/**
+	 * ++numberOfFields
+	 */
+	public void incrementNumberOfFields(){
+		++numberOfFields;
+	}
+
+	/**
+	 * Appends characters to the name of the current author/editor.
+	 * @param ch
+	 * @param start
+	 * @param length
+	 */
+	public void appendPersonName(char[] ch, int start, int length){
+		personText.append(ch, start, length);
+	}
+
+	/**
+	 * Ends the name of the current author/editor. An empty name is ignored.
+	 */
+	public void endPersonName(){
+		int start = (numberOfPersons == 0) ? 0 : personEnds[numberOfPersons - 1];
+		if(personText.length == start) return;
+		if(numberOfPersons == personEnds.length)
+			personEnds = Arrays.copyOf(personEnds, numberOfPersons * 2);
+		personEnds[numberOfPersons++] = personText.length;
+	}
+
+	/**
+	 * Appends characters to the title.
+	 */
+	public void appendTitle(char[] ch, int start, int length){
+		titleText.append(ch, start, length);
+	}
+
+	/**
+	 * Appends characters to the cross reference.
+	 */
+	public void appendCrossref(char[] ch, int start, int length){
+		crossrefText.append(ch, start, length);
+	}
+
+	/**
+	 * Appends characters to the pages.
+	 */
+	public void appendPages(char[] ch, int start, int length){
+		pageText.append(ch, start, length);
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public void setType(String type) {
+		this.type = type;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public void setKey(String key) {
+		this.key = key;
+	}
+
+	public String getMdate() {
+		return mdate;
+	}
+
+	public void setMdate(String mdate) {
+		this.mdate = mdate;
+	}
+
+	public int getNumberOfFields() {
+		return numberOfFields;
+	}
+
+	public void setNumberOfFields(int numberOfFields) {
+		this.numberOfFields = numberOfFields;
+	}
+
+	public IntKey getYear() {
+		return year;
+	}
+
+	public void setYear(IntKey year) {
+		this.year = year;
+	}
+
+	/**
+	 * Looks the names up in the dictionary of the current thread and logs<br/>
+	 * the unreliable ones.
+	 */
+	public List<Person> getPersons() {
+		if(persons.size() < numberOfPersons){
+			CharDictionary<Person> dictionary = personDictionary.get();
+			for(int i=persons.size(); i<numberOfPersons; i++){
+				int start = (i == 0) ? 0 : personEnds[i - 1];
+				Person person = dictionary.get(personText.chars, start, personEnds[i] - start);
+				person.checkReliability(key);
+				persons.add(person);
+			}
+		}
+		return persons;
+	}
+
+	public int getNumberOfPersons(){
+		return numberOfPersons;
+	}
+
+	/**
+	 * Looks the name up from the characters of the parser, without creating a String.
+	 */
+	public int getPersonId(int i, NameDictionary names){
+		personName.trim(i);
+		return names.id(personText.chars, personName.start, personName.end - personName.start);
+	}
+
+	/**
+	 * @return A view of the characters of the parser, which is reused for<br/>
+	 * the next name: no String is created.
+	 */
+	public CharSequence getPersonName(int i){
+		personName.trim(i);
+		return personName;
+	}
+
+	/**
+	 * @return The title, which is only valid until the publication is reset,<br/>
+	 * or null.
+	 */
+	public Title getTitle() {
+		if(titleText.length == 0)
+			return null;
+		if(!titleMeasured){
+			title.set(titleText.chars, 0, titleText.length, key);
+			titleMeasured = true;
+		}
+		return title;
+	}
+
+	public IntKey getTitleWords() {
+		Title title = getTitle();
+		return (title == null) ? null : title.getWords();
+	}
+
+	public IntKey getTitleCharacters() {
+		Title title = getTitle();
+		return (title == null) ? null : title.getCharacters();
+	}
+
+	public boolean hasEe() {
+		return ee;
+	}
+
+	public void setEe(boolean ee) {
+		this.ee = ee;
+	}
+
+	/**
+	 * Looks the cross reference up in the dictionary of the current thread.
+	 */
+	public String getCrossref() {
+		if(crossref == null && crossrefText.length > 0)
+			crossref = crossrefDictionary.get().get(crossrefText.chars, 0, crossrefText.length);
+		return crossref;
+	}
+
+	/**
+	 * Looks the cross reference up from the characters of the parser,<br/>
+	 * without creating a String.
+	 */
+	public int getCrossrefId(NameDictionary crossrefs){
+		if(crossrefText.length == 0)
+			return -1;
+		return crossrefs.id(crossrefText.chars, 0, crossrefText.length);
+	}
+
+	/**
+	 * @return The pages, which are only valid until the publication is reset,<br/>
+	 * or null.
+	 */
+	public Page getPage() {
+		if(pageText.length == 0)
+			return null;
+		if(!pageMeasured){
+			page.set(pageText.chars, 0, pageText.length, key);
+			pageMeasured = true;
+		}
+		return page;
+	}
+
+	public IntKey getPages() {
+		Page page = getPage();
+		return (page == null) ? null : page.getPages();
+	}
+
+	@Override
+	public String toString(){
+		return type+" "+key;
+	}
+
+	/**
+	 * Trimmed name of an author/editor in personText.
+	 */
+	private class PersonName implements CharSequence {
+
+		private int start, end;
+
+		/**
+		 * Selects the i-th name, trimmed like the name of a Person.
+		 */
+		void trim(int i){
+			start = (i == 0) ? 0 : personEnds[i - 1];
+			end = personEnds[i];
+			char[] chars = personText.chars;
+			while(start < end && chars[start] <= ' ')
+				++start;
+			while(end > start && chars[end - 1] <= ' ')
+				--end;
+		}
+
+		@Override
+		public int length(){
+			return end - start;
+		}
+
+		@Override
+		public char charAt(int index){
+			return personText.chars[start + index];
+		}
+
+		@Override
+		public CharSequence subSequence(int from, int to){
+			return new String(personText.chars, start + from, to - from);
+		}
+
+		@Override
+		public String toString(){
+			return new String(personText.chars, start, end - start);
+		}
+	}
+
+	/**
+	 * Growing buffer of characters.
+	 */
+	private static class Text {
+
+		private char[] chars = new char[64];
+
+		private int length = 0;
+
+		void append(char[] ch, int start, int count){
+			if(length + count > chars.length)
+				chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + count));
+			System.arraycopy(ch, start, chars, length, count);
+			length += count;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package org.dblp.field;
+
+import java.util.List;
+
+import org.dblp.helper.IntKey;
+import org.dblp.helper.NameDictionary;
+
+/**
+ * Data of a publication which the analyzers need (see Analyzer).<br/>
+ * Implemented by Publication, which is filled by the parser, and by<br/>
+ * PublicationRecord, which is saved by a previous run, so that both are<br/>
+ * analyzed by the same code.
+ * @author SergeOliver
+ *
+ */
+public interface PublicationData {
+
+	/**
+	 * @return The name of the publication element. e.g. article, inproceedings, www
+	 */
+	String getType();
+
+	String getKey();
+
+	/**
+	 * @return The value of the mdate attribute or null.
+	 */
+	String getMdate();
+
+	int getNumberOfFields();
+
+	/**
+	 * @return The year or -1 if the publication has no valid year.
+	 */
+	IntKey getYear();
+
+	/**
+	 * @return The authors/editors of the publication.
+	 */
+	List<Person> getPersons();
+
+	/**
+	 * @return The number of authors/editors of the publication.
+	 */
+	int getNumberOfPersons();
+
+	/**
+	 * Looks the trimmed name of an author/editor up in a dictionary and<br/>
+	 * adds it if it is new. Unlike getPersons, neither creates a Person<br/>
+	 * object nor logs an unreliable name.
+	 * @param i: index of the author/editor, from 0 to getNumberOfPersons() - 1.
+	 * @param names
+	 * @return The id of the name in the dictionary.
+	 */
+	int getPersonId(int i, NameDictionary names);
+
+	/**
+	 * @param i: index of the author/editor, from 0 to getNumberOfPersons() - 1.
+	 * @return The trimmed name of the author/editor. Like getPersonId,<br/>
+	 * neither creates a Person object nor logs an unreliable name. The<br/>
+	 * characters may only be valid until the next call.
+	 */
+	CharSequence getPersonName(int i);
+
+	/**
+	 * @return The number of words of the title or null if the publication has no title.
+	 */
+	IntKey getTitleWords();
+
+	/**
+	 * @return The number of characters of the title or null if the publication has no title.
+	 */
+	IntKey getTitleCharacters();
+
+	/**
+	 * @return True if the publication contains an electronic version element.
+	 */
+	boolean hasEe();
+
+	/**
+	 * @return The cross reference or null.
+	 */
+	String getCrossref();
+
+	/**
+	 * Looks the cross reference up in a dictionary and adds it if it is new.<br/>
+	 * Unlike getCrossref, does not create a String.
+	 * @param crossrefs
+	 * @return The id of the cross reference in the dictionary, or -1 if the<br/>
+	 * publication has no cross reference.
+	 */
+	int getCrossrefId(NameDictionary crossrefs);
+
+	/**
+	 * @return The number of pages or null if the publication has no pages element.
+	 */
+	IntKey getPages();
+}
@@ -0,0 +1,222 @@
+package org.dblp.field;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dblp.helper.IntKey;
+import org.dblp.helper.NameDictionary;
+
+/**
+ * Contribution of one publication to the statistical data of the analyzers.<br/>
+ * Keeps only what is needed to take the publication out of the statistical<br/>
+ * data again (see Field.retract) when it is changed or<br/>
+ * removed from the XML document: e.g. the number of words and characters<br/>
+ * of the title, but not the title itself.<br/>
+ * Can be written to and read from a file (see write and read), so that it<br/>
+ * can be added to the statistical data of the next run without parsing the<br/>
+ * publication again (see Field.add).
+ * @author SergeOliver
+ *
+ */
+public class PublicationRecord implements PublicationData {
+
+	/**
+	 * Written instead of a number which does not exist, e.g. the number of<br/>
+	 * words of a publication without title.
+	 */
+	private static final int NONE = Integer.MIN_VALUE;
+
+	private final String type;
+
+	private final String key;
+
+	private final String mdate;
+
+	private final int numberOfFields;
+
+	private final IntKey year;
+
+	private final Person[] persons;
+
+	/**
+	 * Number of words of the title or null if the publication has no title.
+	 */
+	private final IntKey titleWords;
+
+	/**
+	 * Number of characters of the title or null if the publication has no title.
+	 */
+	private final IntKey titleCharacters;
+
+	private final boolean ee;
+
+	private final String crossref;
+
+	/**
+	 * Number of pages or null if the publication has no pages element.
+	 */
+	private final IntKey pages;
+
+	/**
+	 * @param publication which was given to Field.update.
+	 */
+	public PublicationRecord(Publication publication){
+		type = publication.getType();
+		key = publication.getKey();
+		mdate = publication.getMdate();
+		numberOfFields = publication.getNumberOfFields();
+		year = publication.getYear();
+		persons = publication.getPersons().toArray(new Person[publication.getPersons().size()]);
+		Title title = publication.getTitle();
+		titleWords = (title == null) ? null : title.getWords();
+		titleCharacters = (title == null) ? null : title.getCharacters();
+		ee = publication.hasEe();
+		crossref = publication.getCrossref();
+		pages = (publication.getPage() == null) ? null : publication.getPage().getPages();
+	}
+
+	/**
+	 * Creates a record from facts which were stored elsewhere, e.g. in a<br/>
+	 * ColumnarSnapshot. Null stands for a missing title or pages element.
+	 */
+	public PublicationRecord(String type, String key, String mdate, int numberOfFields, IntKey year,
+			Person[] persons, IntKey titleWords, IntKey titleCharacters, boolean ee, String crossref, IntKey pages){
+		this.type = type;
+		this.key = key;
+		this.mdate = mdate;
+		this.numberOfFields = numberOfFields;
+		this.year = year;
+		this.persons = persons;
+		this.titleWords = titleWords;
+		this.titleCharacters = titleCharacters;
+		this.ee = ee;
+		this.crossref = crossref;
+		this.pages = pages;
+	}
+
+	/**
+	 * Writes the record in a binary format.
+	 * @param out
+	 * @throws IOException
+	 */
+	public void write(DataOutput out) throws IOException{
+		out.writeUTF(type);
+		writeString(out, key);
+		writeString(out, mdate);
+		out.writeInt(numberOfFields);
+		out.writeInt(year.getIntKeyValue());
+		out.writeInt(persons.length);
+		for(Person person : persons)
+			out.writeUTF(person.getName());
+		writeIntKey(out, titleWords);
+		writeIntKey(out, titleCharacters);
+		out.writeBoolean(ee);
+		writeString(out, crossref);
+		writeIntKey(out, pages);
+	}
+
+	/**
+	 * Reads a record written by write.
+	 * @param in
+	 * @return The record.
+	 * @throws IOException
+	 */
+	public static PublicationRecord read(DataInput in) throws IOException{
+		String type = in.readUTF().intern();//few publication types
+		String key = readString(in);
+		String mdate = readString(in);
+		int numberOfFields = in.readInt();
+		IntKey year = IntKey.valueOf(in.readInt());
+		Person[] persons = new Person[in.readInt()];
+		for(int i=0; i<persons.length; i++)
+			persons[i] = new Person(in.readUTF());
+		IntKey titleWords = readIntKey(in);
+		IntKey titleCharacters = readIntKey(in);
+		boolean ee = in.readBoolean();
+		String crossref = readString(in);
+		IntKey pages = readIntKey(in);
+		return new PublicationRecord(type, key, mdate, numberOfFields, year, persons, titleWords, titleCharacters, ee, crossref, pages);
+	}
+
+	private static void writeString(DataOutput out, String s) throws IOException{
+		out.writeBoolean(s != null);
+		if(s != null)
+			out.writeUTF(s);
+	}
+
+	private static String readString(DataInput in) throws IOException{
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeIntKey(DataOutput out, IntKey k) throws IOException{
+		out.writeInt(k == null ? NONE : k.getIntKeyValue());
+	}
+
+	private static IntKey readIntKey(DataInput in) throws IOException{
+		int value = in.readInt();
+		return (value == NONE) ? null : IntKey.valueOf(value);
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	public String getMdate() {
+		return mdate;
+	}
+
+	public int getNumberOfFields() {
+		return numberOfFields;
+	}
+
+	public IntKey getYear() {
+		return year;
+	}
+
+	public List<Person> getPersons() {
+		return Arrays.asList(persons);
+	}
+
+	public int getNumberOfPersons(){
+		return persons.length;
+	}
+
+	public int getPersonId(int i, NameDictionary names){
+		return names.id(persons[i].getName());
+	}
+
+	public CharSequence getPersonName(int i){
+		return persons[i].getName();
+	}
+
+	public IntKey getTitleWords() {
+		return titleWords;
+	}
+
+	public IntKey getTitleCharacters() {
+		return titleCharacters;
+	}
+
+	public boolean hasEe() {
+		return ee;
+	}
+
+	public String getCrossref() {
+		return crossref;
+	}
+
+	public int getCrossrefId(NameDictionary crossrefs){
+		return (crossref == null) ? -1 : crossrefs.id(crossref);
+	}
+
+	public IntKey getPages() {
+		return pages;
+	}
+}
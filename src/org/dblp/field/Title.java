@@ -1,5 +1,6 @@
 package org.dblp.field;
 
+import java.util.Collections;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -13,7 +14,10 @@ import org.dblp.helper.IntKey;
  * e.g. I am an&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;unreliable title.<br/>
  * or less than three characters<br/>
  * e.g. " &nbsp;&nbsp;&nbsp;&nbsp;", "a" or "ab"<br/>
- * Unreliable title are stored in the log file for a later analysis.
+ * Unreliable title are stored in the log file for a later analysis.<br/>
+ * A title object can be reused for the title of the next publication<br/>
+ * (see set): it then refers to the characters of the parser, and the<br/>
+ * String of the title is only created by getTitle.
  * @author SergeOliver
  *
  */
@@ -21,13 +25,20 @@ public class Title implements Comparable<Title> {
 
 	private IntKey characters;
 	private IntKey words;
-	private String title;
 	private int spaces = 0;
+
+	/**
+	 * Characters of the title without the white spaces at the beginning and<br/>
+	 * the end: text[start..end[.
+	 */
+	private char[] text;
+	private int start, end;
 	
 	/**
-	 * Stores unreliable titles for a later analysis.
+	 * Stores unreliable titles for a later analysis.<br/>
+	 * Shared by all the parser threads.
 	 */
-	private static Set<String> setOfUnreliableTitle = new TreeSet<String>();
+	private static Set<String> setOfUnreliableTitle = Collections.synchronizedSortedSet(new TreeSet<String>());
 	
 	/**
 	 * Constructs a title objection which contains informations about the number<br/>
@@ -36,13 +47,37 @@ public class Title implements Comparable<Title> {
 	 * @param key of the publication
 	 */
 	public Title(String title, String key){
-		
-		this.title = title.trim();
-		int length = this.title.length();
+		set(title.toCharArray(), 0, title.length(), key);
+	}
+
+	/**
+	 * Creates an empty title object which is filled by set.
+	 */
+	public Title(){
+	}
+
+	/**
+	 * Takes the title of another publication. The characters are not copied,<br/>
+	 * they must not change while the title is used.
+	 * @param ch: characters of the title.
+	 * @param offset of the title in ch.
+	 * @param count: number of characters of the title.
+	 * @param key of the publication
+	 */
+	public void set(char[] ch, int offset, int count, String key){
+		text = ch;
+		start = offset;
+		end = offset + count;
+		while(start < end && ch[start] <= ' ')//like String.trim
+			++start;
+		while(end > start && ch[end - 1] <= ' ')
+			--end;
+		int length = end - start;
+		spaces = 0;
 		boolean isSpace = false; //to check if there is more than one space between two words
 		int extraSpace = 0;
-		for(int i = 0; i < length; i++){
-			if(Character.isSpaceChar(this.title.charAt(i))){
+		for(int i = start; i < end; i++){
+			if(Character.isSpaceChar(ch[i])){
 				if(!isSpace){
 					++spaces;
 					isSpace = true;
@@ -52,13 +87,13 @@ public class Title implements Comparable<Title> {
 				isSpace = false;
 		}
 		
-		words = (length > 0)? new IntKey(spaces + 1) : new IntKey(-1);
-		characters = (length > 0)?new IntKey(length - (spaces+extraSpace)) : new IntKey(-1);
+		words = (length > 0)? IntKey.valueOf(spaces + 1) : IntKey.valueOf(-1);
+		characters = (length > 0)?IntKey.valueOf(length - (spaces+extraSpace)) : IntKey.valueOf(-1);
 
 		if(length < 3)
-			setOfUnreliableTitle.add(" [Length: "+length+"] Title: "+this.title+" [Key: "+key+"]");
+			setOfUnreliableTitle.add(" [Length: "+length+"] Title: "+getTitle()+" [Key: "+key+"]");
 		if(extraSpace > 0)
-			setOfUnreliableTitle.add(" [Extra White Space: "+extraSpace+"] Title: "+this.title+" [Key: "+key+"]");
+			setOfUnreliableTitle.add(" [Extra White Space: "+extraSpace+"] Title: "+getTitle()+" [Key: "+key+"]");
 	}
 	
 	public static Set<String> getSetOfUnreliableTitle(){
@@ -69,17 +104,17 @@ public class Title implements Comparable<Title> {
 	public boolean equals(Object o){
 		if(o == null || !(o instanceof Title)) return false;
 		Title t = (Title)o;
-		return title.equals(t.title);
+		return getTitle().equals(t.getTitle());
 	}
 	
 	@Override 
 	public int hashCode(){
-		return title.hashCode();
+		return getTitle().hashCode();
 	}
 	
 	@Override
 	public int compareTo(Title o) {
-		return title.compareTo(o.title);
+		return getTitle().compareTo(o.getTitle());
 	}
 	
 	public IntKey getCharacters() {
@@ -89,10 +124,12 @@ public class Title implements Comparable<Title> {
 		this.characters = characters;
 	}
 	public String getTitle() {
-		return title;
+		return new String(text, start, end - start);
 	}
 	public void setTitle(String title) {
-		this.title = title;
+		text = title.toCharArray();
+		start = 0;
+		end = text.length;
 	}
 	public IntKey getWords() {
 		return words;
@@ -107,7 +144,7 @@ public class Title implements Comparable<Title> {
 	
 	@Override
 	public String toString(){
-		return "Title: "+title;
+		return "Title: "+getTitle();
 	}
 	
 	/**
@@ -0,0 +1,90 @@
+package org.dblp.field;
+
+import java.io.IOException;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+import org.dblp.parser.MyParser;
+
+/**
+ * Number of titles which have the same number of characters.<br/>
+ * Logs the titles which have an unreliable number of characters.
+ * @author SergeOliver
+ *
+ */
+public class TitleCharacterAnalyzer extends ChartAnalyzer {
+
+	/**
+	 * List of (number of characters -> number of titles which have the same <br/>
+	 * number of characters) pairs.
+	 */
+	private IntHistogram charactersPerTitles = new IntHistogram();
+
+	public TitleCharacterAnalyzer(){
+		super("title-characters", new String[]{"title"}, NUMBEROFCHARACTERSPERTITLEOUPTUT,
+				"Number of titles which have the same number of characters from 1 to 150", "Titles",
+				"Frequency distribution of characters inside titles", "Characters in Titles");
+		setChartRows(150);
+	}
+
+	/**
+	 * Counts the titles whose number of words is counted by TitleWordAnalyzer.
+	 */
+	@Override
+	public void add(PublicationData publication){
+		if(TitleWordAnalyzer.getWords(publication) != null)
+			charactersPerTitles.increment(publication.getTitleCharacters().getIntKeyValue());
+	}
+
+	@Override
+	public void retract(PublicationData publication){
+		if(TitleWordAnalyzer.getWords(publication) != null)
+			charactersPerTitles.decrement(publication.getTitleCharacters().getIntKeyValue());
+	}
+
+	@Override
+	public void merge(Analyzer analyzer){
+		charactersPerTitles.merge(((TitleCharacterAnalyzer) analyzer).charactersPerTitles);
+	}
+
+	/**
+	 * Output format Characters, Titles.<br/>
+	 * The column chart only shows the numbers of titles which have 1 to 150 characters.
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of characters per title");
+		Result result = newResult("Characters", "Titles");
+		double[] values = new double[charactersPerTitles.size()];
+		int i = 0;
+		long numberOfTitle = 0;
+		for(int numberOfCharacter : charactersPerTitles.keys()){
+			numberOfTitle = charactersPerTitles.get(numberOfCharacter);
+			result.addRow(numberOfCharacter, numberOfTitle);
+			values[i++] = numberOfTitle;
+		}
+		addDistribution(result, "Number Of Characters Per Title", values);
+		addRecordDistribution(result, "Characters per title", charactersPerTitles, "Characters Per Title");
+		return result;
+	}
+
+	@Override
+	protected void writeHeader(Result result) throws IOException {
+		out.print("Characters , Titles\n ");
+	}
+
+	/**
+	 * Logs the titles which have an unreliable number of characters.
+	 */
+	@Override
+	protected void writeResult(Result result) throws IOException {
+		super.writeResult(result);
+		MyParser.getLog().println("\n\nList of title which have an unreliable number of characters");
+		for(String unreliableTitle : Title.getSetOfUnreliableTitle()){
+			MyParser.getLog().println(unreliableTitle);
+		}
+		MyParser.getLog().println("\n______________________________________________________________\n");
+	}
+}
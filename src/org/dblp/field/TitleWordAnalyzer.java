@@ -0,0 +1,86 @@
+package org.dblp.field;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.helper.IntHistogram;
+import org.dblp.helper.IntKey;
+
+/**
+ * Number of titles which have the same number of words.
+ * @author SergeOliver
+ *
+ */
+public class TitleWordAnalyzer extends ChartAnalyzer {
+
+	/**
+	 * List of (number of words -> number of titles which have the same <br/>
+	 * number of words) pairs.
+	 */
+	private IntHistogram wordsPerTitles = new IntHistogram();
+
+	public TitleWordAnalyzer(){
+		super("title-words", new String[]{"title"}, NUMBEROFWORDSPERTITLEOUPTUT,
+				"Number of titles which have the same number of words from 1 to 50", "Titles",
+				"Frequency distribution of words inside titles", "Words in Titles");
+		setChartRows(50);
+	}
+
+	/**
+	 * Does nothing for publications without title and invalid number of<br/>
+	 * characters or words.
+	 * @param publication
+	 * @return The number of words of the title or null.
+	 */
+	static IntKey getWords(PublicationData publication){
+		IntKey characters = publication.getTitleCharacters();
+		IntKey words = publication.getTitleWords();
+		if(words == null || characters.getIntKeyValue() < 0 || words.getIntKeyValue() < 0)
+			return null;
+		return words;
+	}
+
+	/**
+	 * Creates a new entry (numbers of words -> one title) for a new number of words.
+	 * Or increment the number of titles of an existing number of words.
+	 */
+	@Override
+	public void add(PublicationData publication){
+		IntKey words = getWords(publication);
+		if(words != null)
+			wordsPerTitles.increment(words.getIntKeyValue());
+	}
+
+	@Override
+	public void retract(PublicationData publication){
+		IntKey words = getWords(publication);
+		if(words != null)
+			wordsPerTitles.decrement(words.getIntKeyValue());
+	}
+
+	@Override
+	public void merge(Analyzer analyzer){
+		wordsPerTitles.merge(((TitleWordAnalyzer) analyzer).wordsPerTitles);
+	}
+
+	/**
+	 * Output format number of words , number of titles.<br/>
+	 * The column chart only shows the number of titles which have 1 to 50 words.
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of words per title");
+		Result result = newResult("Words", "Titles");
+		double[] values = new double[wordsPerTitles.size()];
+		int i = 0;
+		long numberOfTitle = 0;
+		for(int numberOfWord : wordsPerTitles.keys()){
+			numberOfTitle = wordsPerTitles.get(numberOfWord);
+			result.addRow(numberOfWord, numberOfTitle);
+			values[i++] = numberOfTitle;
+		}
+		addDistribution(result, "Number Of Words Per Title", values);
+		addRecordDistribution(result, "Words per title", wordsPerTitles, "Words Per Title");
+		return result;
+	}
+}
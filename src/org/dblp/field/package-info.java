@@ -1,7 +1,8 @@
 /**
  * Contains the classes Field.java, Page.java, Person.java and Title.java<br/>
- * Field.java is particularly important because it contains data structures <br/>
- * and methods to analyze and store statistical data. 
+ * and the analyzers of the fields of publications, e.g. NewAuthorAnalyzer.java.<br/>
+ * Field.java is particularly important because it gives the publications <br/>
+ * to the analyzers which were selected. 
  * 
  */
 /**
@@ -0,0 +1,96 @@
+package org.dblp.helper;
+
+/**
+ * Dictionary whose keys are sequences of characters, e.g. the names of the<br/>
+ * authors/editors. A text which is already in the dictionary is found<br/>
+ * directly from the characters of the parser, without creating a String,<br/>
+ * so a publication whose texts were all met before is analyzed without<br/>
+ * creating objects. The value of a new text is created by create.<br/>
+ * Open addressing hash table with linear probing. Not synchronized: each<br/>
+ * thread uses its own dictionary.
+ * @author SergeOliver
+ *
+ * @param <V> values of the texts.
+ */
+public abstract class CharDictionary<V> {
+
+	private String[] texts = new String[1024];
+
+	private Object[] values = new Object[1024];
+
+	private int[] hashes = new int[1024];
+
+	private int size = 0;
+
+	/**
+	 * @param text which is not in the dictionary yet.
+	 * @return The value of the text.
+	 */
+	protected abstract V create(String text);
+
+	/**
+	 * @param ch
+	 * @param start
+	 * @param length
+	 * @return The value of the text ch[start..start+length[. It is created<br/>
+	 * if the text is not in the dictionary yet.
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(char[] ch, int start, int length){
+		int hash = 0;//same as String.hashCode
+		for(int i=0; i<length; i++)
+			hash = 31 * hash + ch[start + i];
+		int mask = texts.length - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		while(texts[slot] != null){
+			if(hashes[slot] == hash && equals(texts[slot], ch, start, length))
+				return (V) values[slot];
+			slot = (slot + 1) & mask;
+		}
+		String text = new String(ch, start, length);
+		V value = create(text);
+		texts[slot] = text;
+		values[slot] = value;
+		hashes[slot] = hash;
+		if(++size * 2 > texts.length)
+			grow();
+		return value;
+	}
+
+	/**
+	 * @return The number of texts in the dictionary.
+	 */
+	public int size(){
+		return size;
+	}
+
+	private static boolean equals(String text, char[] ch, int start, int length){
+		if(text.length() != length) return false;
+		for(int i=0; i<length; i++){
+			if(text.charAt(i) != ch[start + i]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Doubles the size of the table.
+	 */
+	private void grow(){
+		String[] oldTexts = texts;
+		Object[] oldValues = values;
+		int[] oldHashes = hashes;
+		texts = new String[oldTexts.length * 2];
+		values = new Object[oldTexts.length * 2];
+		hashes = new int[oldTexts.length * 2];
+		int mask = texts.length - 1;
+		for(int i=0; i<oldTexts.length; i++){
+			if(oldTexts[i] == null) continue;
+			int slot = (oldHashes[i] ^ (oldHashes[i] >>> 16)) & mask;
+			while(texts[slot] != null)
+				slot = (slot + 1) & mask;
+			texts[slot] = oldTexts[i];
+			values[slot] = oldValues[i];
+			hashes[slot] = oldHashes[i];
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package org.dblp.helper;
 
 import java.util.Comparator;
+import java.util.Map;
+import java.util.Map.Entry;
 
 /**
  * A wrapper class for the int primitive type.<br/>
@@ -30,6 +32,50 @@ public class Counter implements Comparator<Counter>, Comparable<Counter> {
 		--number;
 	}
 	
+	/**
+	 * Increments the counter of a key or creates it.
+	 * @param map
+	 * @param key
+	 */
+	public static <K> void increment(Map<K, Counter> map, K key){
+		Counter counter = map.get(key);
+		if(counter == null)
+			map.put(key, new Counter());
+		else
+			counter.increment();
+	}
+
+	/**
+	 * Decrements the counter of a key and removes the key when its counter is zero.
+	 * @param map
+	 * @param key
+	 */
+	public static <K> void decrement(Map<K, Counter> map, K key){
+		Counter counter = map.get(key);
+		if(counter == null) return;
+		counter.decrement();
+		if(counter.getCounterValue() <= 0)
+			map.remove(key);
+	}
+
+	/**
+	 * Adds the counters of the second map to the counters of the first one.<br/>
+	 * Creates a new counter for keys which are not yet in the first map.
+	 * @param map
+	 * @param other
+	 */
+	public static <K> void merge(Map<K, Counter> map, Map<K, Counter> other){
+		for(Entry<K, Counter> e : other.entrySet()){
+			Counter counter = map.get(e.getKey());
+			if(counter == null){
+				counter = new Counter();
+				counter.setCounterValue(e.getValue().getCounterValue());
+				map.put(e.getKey(), counter);
+			}else
+				counter.setCounterValue(counter.getCounterValue()+e.getValue().getCounterValue());
+		}
+	}
+	
 	public int getCounterValue(){
 		return number;
 	}
@@ -0,0 +1,82 @@
+package org.dblp.helper;
+
+/**
+ * Result of one statistical distribution (see<br/>
+ * StatisticalDistributionComputation): the five numbers, the mean, the<br/>
+ * variance, the standard deviation, the total and the number of values.<br/>
+ * Immutable, so it can be computed by one thread and read by another one,<br/>
+ * and several distributions can be computed at the same time.
+ * @author SergeOliver
+ *
+ */
+public final class DistributionSummary {
+
+	private final double minimum;
+	private final double lowerQuartile;
+	private final double median;
+	private final double upperQuartile;
+	private final double maximum;
+	private final double mean;
+	private final double variance;
+	private final double standardDeviation;
+	private final double total;
+
+	/**
+	 * Number of values, e.g. of records of a per-record distribution.
+	 */
+	private final long records;
+
+	DistributionSummary(double minimum, double lowerQuartile, double median, double upperQuartile,
+			double maximum, double mean, double variance, double total, long records){
+		this.minimum = minimum;
+		this.lowerQuartile = lowerQuartile;
+		this.median = median;
+		this.upperQuartile = upperQuartile;
+		this.maximum = maximum;
+		this.mean = mean;
+		this.variance = variance;
+		this.standardDeviation = Math.sqrt(variance);
+		this.total = total;
+		this.records = records;
+	}
+
+	public double getMinimum() {
+		return minimum;
+	}
+
+	public double getLowerQuartile() {
+		return lowerQuartile;
+	}
+
+	public double getMedian() {
+		return median;
+	}
+
+	public double getUpperQuartile() {
+		return upperQuartile;
+	}
+
+	public double getMaximum() {
+		return maximum;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+
+	public double getVariance() {
+		return variance;
+	}
+
+	public double getStandardDeviation() {
+		return standardDeviation;
+	}
+
+	public double getTotal() {
+		return total;
+	}
+
+	public long getRecords() {
+		return records;
+	}
+}
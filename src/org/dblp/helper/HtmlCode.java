@@ -1,12 +1,17 @@
 package org.dblp.helper;
 
+import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 
 /**
  * Creates a web page for each type of statistic.<br/>
- * Draws a column chart to illustrate the output of each statistical analysis.
+ * Draws a column chart to illustrate the output of each statistical analysis.<br/>
+ * The template of the web page is written in a String once, with a marker<br/>
+ * for each parameter, and encoded in byte arrays (see ReportWriter): a web<br/>
+ * page only writes these arrays and its parameters.
  * @author SergeOliver
  *
  */
@@ -15,6 +20,21 @@ public class HtmlCode {
 	private static String dateAndTime = new SimpleDateFormat("dd/MM/yyyy  -  HH:mm:ss").format(Calendar.getInstance().getTime());
 	private static int defaultHeigth = 500;
 	private static int defaultWidth = 1250;
+
+	/**
+	 * Stands for a parameter in the template.
+	 */
+	private static final String PARAMETER = "\u0000";
+
+	/**
+	 * Parts of the beginning of the web page between its parameters (see addHTMLHCode).
+	 */
+	private static final byte[][] BEGINNING = encodeParts(beginning(PARAMETER, PARAMETER, PARAMETER, PARAMETER, PARAMETER, PARAMETER, PARAMETER));
+
+	/**
+	 * End of the web page (see closeHTMLTags).
+	 */
+	private static final byte[] END = ReportWriter.encode("</body>"+System.lineSeparator()+"</html>"+System.lineSeparator());
 	
 	public static String getDateAndTime() {
 		return dateAndTime;
@@ -47,15 +67,46 @@ public class HtmlCode {
 	
 
 	/**
+	 * Writes the beginning of a web page, up to the data of the column chart.
 	 * @param htmlOutput: web page in which the char will be drawn.
 	 * @param columnChartTitle
 	 * @param columnChartyAxis
 	 * @param boxPlotTitle
-	 * @param boxPlotxAxis
-	 * @param mean value of the distribution
+	 * @param seriesName
+	 * @param columnChartWidth
+	 * @throws IOException
 	 */
-	public static void addHTMLHCode(PrintWriter htmlOutput, String columnChartTitle,
-			String columnChartyAxis, String boxPlotTitle, String seriesName, int columnChartWidth){
+	public static void addHTMLHCode(ReportWriter htmlOutput, String columnChartTitle,
+			String columnChartyAxis, String boxPlotTitle, String seriesName, int columnChartWidth) throws IOException{
+		htmlOutput.write(BEGINNING[0]).print(columnChartTitle)
+			.write(BEGINNING[1]).print(columnChartyAxis)
+			.write(BEGINNING[2]).print(boxPlotTitle)
+			.write(BEGINNING[3]).print(seriesName)
+			.write(BEGINNING[4]).print(dateAndTime)
+			.write(BEGINNING[5]).print(columnChartWidth)
+			.write(BEGINNING[6]).print(defaultHeigth)
+			.write(BEGINNING[7]);
+	}
+
+	/**
+	 * @param template
+	 * @return The parts of the template between the parameters, encoded.
+	 */
+	private static byte[][] encodeParts(String template){
+		String[] parts = template.split(PARAMETER, -1);
+		byte[][] encoded = new byte[parts.length][];
+		for(int i=0; i<parts.length; i++)
+			encoded[i] = ReportWriter.encode(parts[i]);
+		return encoded;
+	}
+
+	/**
+	 * @return The beginning of a web page, see addHTMLHCode.
+	 */
+	private static String beginning(String columnChartTitle, String columnChartyAxis, String boxPlotTitle,
+			String seriesName, String dateAndTime, String columnChartWidth, String heigth){
+		StringWriter page = new StringWriter();
+		PrintWriter htmlOutput = new PrintWriter(page);
 		htmlOutput.println("<!DOCTYPE html>");
 		htmlOutput.println("<html lang=\"en\">");
 		htmlOutput.println("<head>");
@@ -104,9 +155,9 @@ public class HtmlCode {
 		htmlOutput.println("<body>");
 		htmlOutput.println("	<p><h1>DBLP Statistic - University of Trier</h1></p>");
 		htmlOutput.println("<p><h3>Column Chart   "+dateAndTime+"</h3></p>");
-		htmlOutput.println("<div id=\"containerColumnChart\" style=\"width:"+columnChartWidth+"px; height: "+defaultHeigth+"px; margin: 0 auto\"></div>");
+		htmlOutput.println("<div id=\"containerColumnChart\" style=\"width:"+columnChartWidth+"px; height: "+heigth+"px; margin: 0 auto\"></div>");
 		htmlOutput.println("<pre id=\"csvColumnChart\" style=\"display:none\">");
-		
+		return page.toString();
 	}
 	
 	
@@ -278,9 +329,9 @@ public class HtmlCode {
 	/**
 	 * Closes the pre, body and html tags.
 	 * @param htmlOutput
+	 * @throws IOException
 	 */
-	public static void closeHTMLTags(PrintWriter htmlOutput){
-		htmlOutput.println("</body>");
-		htmlOutput.println("</html>");
+	public static void closeHTMLTags(ReportWriter htmlOutput) throws IOException{
+		htmlOutput.write(END);
 	}
 }
@@ -0,0 +1,121 @@
+package org.dblp.helper;
+
+/**
+ * HyperLogLog sketch which estimates the number of distinct values, e.g.<br/>
+ * of author/editor names, in a constant memory: 2^PRECISION registers of<br/>
+ * one byte (16 KB), whatever the number of values.<br/>
+ * Each value is given as a 64 bit hash code (see hash). The first<br/>
+ * PRECISION bits of the hash code select a register, which keeps the<br/>
+ * highest rank (number of leading zeros + 1) of the other bits.<br/>
+ * The relative standard error of the estimate is 1.04 / sqrt(2^PRECISION),<br/>
+ * i.e. 0.8%: 95% of the estimates are within 1.6% of the exact number<br/>
+ * (see estimate).<br/>
+ * Two sketches are merged without loss (see merge): the estimate of the<br/>
+ * union does not depend on the order of the values or on how they were<br/>
+ * split among the sketches, e.g. of several threads.
+ * @author SergeOliver
+ *
+ */
+public class HyperLogLog {
+
+	/**
+	 * Number of bits of the hash code which select the register.
+	 */
+	public static final int PRECISION = 14;
+
+	private static final int REGISTERS = 1 << PRECISION;
+
+	/**
+	 * Relative standard error of the estimate.
+	 */
+	public static final double STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+	private final byte[] registers = new byte[REGISTERS];
+
+	/**
+	 * Adds a value.
+	 * @param hash: 64 bit hash code of the value (see hash).
+	 */
+	public void add(long hash){
+		int register = (int) (hash >>> (64 - PRECISION));
+		byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+		if(rank > registers[register])
+			registers[register] = rank;
+	}
+
+	/**
+	 * Adds the values of another sketch: the result is the sketch of the<br/>
+	 * union of both sets of values.
+	 * @param other
+	 */
+	public void merge(HyperLogLog other){
+		for(int i=0; i<REGISTERS; i++){
+			if(other.registers[i] > registers[i])
+				registers[i] = other.registers[i];
+		}
+	}
+
+	/**
+	 * Improved estimator of O. Ertl (New cardinality estimation algorithms<br/>
+	 * for HyperLogLog sketches, 2017): unlike the raw estimator, it is not<br/>
+	 * biased around 2.5 * 2^PRECISION values, where the raw estimator is<br/>
+	 * replaced by linear counting, and needs no table of bias corrections.
+	 * @return The estimated number of distinct values.
+	 */
+	public long estimate(){
+		int q = 64 - PRECISION;
+		int[] counts = new int[q + 2];//counts[rank]: number of registers of the rank
+		for(byte rank : registers)
+			++counts[rank];
+		double z = REGISTERS * tau(1 - (double) counts[q + 1] / REGISTERS);
+		for(int rank=q; rank>=1; rank--){
+			z += counts[rank];
+			z *= 0.5;
+		}
+		z += REGISTERS * sigma((double) counts[0] / REGISTERS);
+		return Math.round(REGISTERS * REGISTERS / (2 * Math.log(2)) / z);
+	}
+
+	private static double sigma(double x){
+		if(x == 1) return Double.POSITIVE_INFINITY;
+		double y = 1, z = x, previous;
+		do{
+			x *= x;
+			previous = z;
+			z += x * y;
+			y += y;
+		}while(z != previous);
+		return z;
+	}
+
+	private static double tau(double x){
+		if(x == 0 || x == 1) return 0;
+		double y = 1, z = 1 - x, previous;
+		do{
+			x = Math.sqrt(x);
+			previous = z;
+			y *= 0.5;
+			z -= (1 - x) * (1 - x) * y;
+		}while(z != previous);
+		return z / 3;
+	}
+
+	/**
+	 * @param value
+	 * @return The 64 bit hash code of the characters: FNV-1a followed by the<br/>
+	 * finalizer of MurmurHash3, which spreads the bits over the whole hash code.
+	 */
+	public static long hash(CharSequence value){
+		long hash = 0xcbf29ce484222325L;
+		for(int i=0; i<value.length(); i++){
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,188 @@
+package org.dblp.helper;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Number of occurrences of int values, e.g. (number of words -> number of<br/>
+ * titles which have the same number of words).<br/>
+ * Replaces a Map&lt;IntKey, Counter&gt;: the counter of a value from 0 to<br/>
+ * MAX_DENSE - 1 is an element of a growable array, so counting a value<br/>
+ * neither creates nor looks up an object, and the values are sorted by a<br/>
+ * scan of the array (see keys). The rare other values, e.g. negative ones,<br/>
+ * are kept in a sorted overflow map.<br/>
+ * A value which is counted for the first time has the counter 1 and a value<br/>
+ * whose counter goes down to 0 is removed, like with Counter.
+ * @author SergeOliver
+ *
+ */
+public class IntHistogram {
+
+	/**
+	 * Values from 0 to MAX_DENSE - 1 are counted in the array.
+	 */
+	private static final int MAX_DENSE = 1 << 16;
+
+	/**
+	 * counts[value]: number of occurrences of the value, 0 if it was not counted.
+	 */
+	private long[] counts = new long[64];
+
+	/**
+	 * List of (value -> number of occurrences) pairs of the values which are<br/>
+	 * not counted in the array, or null.
+	 */
+	private TreeMap<Integer, Long> overflow;
+
+	/**
+	 * Number of values which were counted.
+	 */
+	private int size = 0;
+
+	/**
+	 * Counts one more occurrence of a value.
+	 * @param value
+	 */
+	public void increment(int value){
+		add(value, 1);
+	}
+
+	/**
+	 * Counts one occurrence less of a value and removes the value when its<br/>
+	 * counter is zero. Does nothing for a value which was not counted.
+	 * @param value
+	 */
+	public void decrement(int value){
+		if(value >= 0 && value < MAX_DENSE){
+			if(value >= counts.length || counts[value] == 0) return;
+			if(--counts[value] == 0)
+				--size;
+		}else if(overflow != null){
+			Long count = overflow.get(value);
+			if(count == null) return;
+			if(count <= 1){
+				overflow.remove(value);
+				--size;
+			}else
+				overflow.put(value, count - 1);
+		}
+	}
+
+	/**
+	 * Counts several occurrences of a value.
+	 * @param value
+	 * @param count: number of occurrences, greater than zero.
+	 */
+	public void add(int value, long count){
+		if(value >= 0 && value < MAX_DENSE){
+			if(value >= counts.length)
+				counts = Arrays.copyOf(counts, Math.min(MAX_DENSE, Math.max(value + 1, counts.length * 2)));
+			if(counts[value] == 0)
+				++size;
+			counts[value] += count;
+		}else{
+			if(overflow == null)
+				overflow = new TreeMap<>();
+			Long previous = overflow.get(value);
+			if(previous == null)
+				++size;
+			overflow.put(value, previous == null ? count : previous + count);
+		}
+	}
+
+	/**
+	 * Count of counts: e.g. (number of cross references -> number of books<br/>
+	 * which have the same number of cross references), computed with one<br/>
+	 * scan of the counts of the ids of a dictionary, without a set of ids<br/>
+	 * per count.
+	 * @param counts: counts[id] is the count of the id, 0 if it is not counted.
+	 * @param length: number of ids.
+	 * @return The histogram of the counts which are not 0.
+	 */
+	public static IntHistogram ofCounts(int[] counts, int length){
+		IntHistogram histogram = new IntHistogram();
+		for(int id=0; id<length; id++){
+			if(counts[id] != 0)
+				histogram.increment(counts[id]);
+		}
+		return histogram;
+	}
+
+	/**
+	 * Adds the counters of another histogram to the counters of this one.
+	 * @param other
+	 */
+	public void merge(IntHistogram other){
+		for(int value=0; value<other.counts.length; value++){
+			if(other.counts[value] != 0)
+				add(value, other.counts[value]);
+		}
+		if(other.overflow != null){
+			for(Entry<Integer, Long> e : other.overflow.entrySet())
+				add(e.getKey(), e.getValue());
+		}
+	}
+
+	/**
+	 * @param value
+	 * @return The number of occurrences of the value, 0 if it was not counted.
+	 */
+	public long get(int value){
+		if(value >= 0 && value < MAX_DENSE)
+			return value < counts.length ? counts[value] : 0;
+		Long count = (overflow == null) ? null : overflow.get(value);
+		return (count == null) ? 0 : count;
+	}
+
+	/**
+	 * @param value
+	 * @return True if the value was counted.
+	 */
+	public boolean contains(int value){
+		return get(value) != 0;
+	}
+
+	/**
+	 * @return The number of values which were counted.
+	 */
+	public int size(){
+		return size;
+	}
+
+	public boolean isEmpty(){
+		return size == 0;
+	}
+
+	/**
+	 * @return The values which were counted, in ascending order.
+	 */
+	public int[] keys(){
+		int[] keys = new int[size];
+		int i = 0;
+		if(overflow != null){
+			for(int value : overflow.headMap(0).keySet())
+				keys[i++] = value;
+		}
+		for(int value=0; value<counts.length; value++){
+			if(counts[value] != 0)
+				keys[i++] = value;
+		}
+		if(overflow != null){
+			for(int value : overflow.tailMap(0).keySet())
+				keys[i++] = value;
+		}
+		return keys;
+	}
+
+	@Override
+	public String toString(){
+		StringBuilder s = new StringBuilder("{");
+		for(int value : keys()){
+			if(s.length() > 1)
+				s.append(", ");
+			s.append(value).append('=').append(get(value));
+		}
+		return s.append('}').toString();
+	}
+}
@@ -5,12 +5,25 @@ package org.dblp.helper;
 
 /**
  * A wrapper class for the int primitive type.<br/>
- * It is used as key inside maps.
+ * It is used as key inside maps.<br/>
+ * The objects of small values are shared (see valueOf), like Integer.valueOf<br/>
+ * does, so the year or the number of pages of a publication is counted<br/>
+ * without creating an object. A shared object must not be changed.
  * @author SergeOliver
  *
  */
 public class IntKey implements Comparable<IntKey>{
 
+	/**
+	 * Shared objects of the values from -1 to CACHE - 2.
+	 */
+	private static final int CACHE = 4097;
+
+	private static final IntKey[] cache = new IntKey[CACHE];
+	static{
+		for(int i=0; i<CACHE; i++)
+			cache[i] = new IntKey(i - 1);
+	}
 	
 	/**
 	 * int value to be wrapped.
@@ -20,6 +33,38 @@ public class IntKey implements Comparable<IntKey>{
 	public IntKey(int k){
 		key = k;
 	}
+
+	/**
+	 * @param k
+	 * @return The shared object of the value if it is small, e.g. a year,<br/>
+	 * or a new object.
+	 */
+	public static IntKey valueOf(int k){
+		return (k >= -1 && k < CACHE - 1) ? cache[k + 1] : new IntKey(k);
+	}
+
+	/**
+	 * Reads an int from characters like Integer.parseInt does, without<br/>
+	 * creating a String.
+	 * @param ch
+	 * @param start
+	 * @param length
+	 * @return The value.
+	 * @throws NumberFormatException if the characters are not a number.
+	 */
+	public static int parseInt(char[] ch, int start, int length){
+		boolean negative = length > 1 && ch[start] == '-';
+		int value = 0;
+		for(int i = negative ? 1 : 0; i<length; i++){
+			int digit = Character.digit(ch[start + i], 10);
+			if(digit < 0)
+				throw new NumberFormatException("For input string: \""+new String(ch, start, length)+"\"");
+			value = value * 10 + digit;
+		}
+		if(length == 0)
+			throw new NumberFormatException("For input string: \"\"");
+		return negative ? -value : value;
+	}
 	
 	/**
 	 * @return the wrapped value
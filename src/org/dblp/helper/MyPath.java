@@ -18,6 +18,7 @@ public interface MyPath {
 	public static final String DBLPXMLMOCKUP = "F:DBLP/dblpXMLDTD/dblpmockup.xml";
 	public static final String LOG = "file/log.log";
 	public static final String STATISTICALDISTRIBUTIONCOMPUTATIONOUTPUT = "file/statistical_distribution_computation_output.csv";
+	public static final String CAREERLENGTHOUTPUT = "file/career_length_output.html";
 	public static final String CROSSREFPERBOOKOUTPUT = "file/crossref_per_book_output.html";
 	public static final String EEPERYEAROUPTUT = "file/ee_per_year_output.html";
 	public static final String FIELDPERPUBLICATIONOUTPUT = "file/field_per_publication.html";
@@ -27,7 +28,10 @@ public interface MyPath {
 	public static final String NUMBEROFPAGESPERCROSSREFOUTPUT = "file/number_of_pages_per_crosref.html";
 	public static final String NUMBEROFWORDSPERTITLEOUPTUT = "file/number_of_words_per_title_output.html";
 	public static final String PERSONNAMELENGTHOUPTUT = "file/person_name_length_output.html";
+	public static final String PRODUCTIVITYOUTPUT = "file/productivity_output.html";
 	public static final String YEARLYPUBLICATIONMDATEOUTPUT = "file/yearly_mdata_output.html";
+	public static final String RESULTSJSONOUTPUT = "file/results.json";
+	public static final String RESULTSCSVOUTPUT = "file/results.csv";
 
 	/**
 	 * To be implemented in order to flush and close output files when writing <br/>
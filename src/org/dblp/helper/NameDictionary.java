@@ -0,0 +1,263 @@
+package org.dblp.helper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Dictionary of names, e.g. of the authors/editors, which gives each name<br/>
+ * a stable int id: 0 for the first name, 1 for the second one, and so on.<br/>
+ * The names are kept outside of the Java heap: they are stored as UTF-8 in<br/>
+ * an arena of direct ByteBuffers, so millions of names neither fill the<br/>
+ * heap nor have to be traced by the garbage collector. On the heap there<br/>
+ * are only the address of each name and an open addressing index of ids.<br/>
+ * A name is looked up directly from the characters of the parser, without<br/>
+ * creating a String (see id). Not synchronized: each thread uses its own<br/>
+ * dictionary.<br/>
+ * An entry of the arena is the hash code of the name (int), the number of<br/>
+ * bytes (int) and the bytes of the name.
+ * @author SergeOliver
+ *
+ */
+public class NameDictionary {
+
+	/**
+	 * Size of a block of the arena. An entry does not span two blocks.
+	 */
+	private static final int BLOCK = 1 << 22;
+
+	/**
+	 * Bytes of the hash code and the length in front of each name.
+	 */
+	private static final int HEADER = 8;
+
+	private ByteBuffer[] blocks = new ByteBuffer[4];
+
+	private int numberOfBlocks = 0;
+
+	/**
+	 * Block which is being filled, and the offset of its next entry.
+	 */
+	private ByteBuffer block;
+
+	private int position = 0;
+
+	/**
+	 * addresses[id]: block (high 32 bits) and offset (low 32 bits) of the entry of the name.
+	 */
+	private long[] addresses = new long[1024];
+
+	/**
+	 * Open addressing index: id + 1 of the name in each slot, 0 if the slot is free.
+	 */
+	private int[] index = new int[2048];
+
+	private int size = 0;
+
+	/**
+	 * UTF-8 bytes of the name which is looked up.
+	 */
+	private byte[] bytes = new byte[256];
+
+	private char[] chars = new char[64];
+
+	/**
+	 * Looks a name up and adds it if it is new.
+	 * @param ch
+	 * @param start
+	 * @param length
+	 * @return The id of the name ch[start..start+length[.
+	 */
+	public int id(char[] ch, int start, int length){
+		int hash = 0;//same as String.hashCode
+		for(int i=0; i<length; i++)
+			hash = 31 * hash + ch[start + i];
+		return id(hash, encode(ch, start, length), true);
+	}
+
+	/**
+	 * @param name
+	 * @return The id of the name, which is added if it is new.
+	 */
+	public int id(String name){
+		int length = name.length();
+		if(chars.length < length)
+			chars = new char[Math.max(length, chars.length * 2)];
+		name.getChars(0, length, chars, 0);
+		return id(chars, 0, length);
+	}
+
+	/**
+	 * Looks a name of another dictionary up and adds it if it is new,<br/>
+	 * e.g. to merge the dictionaries of several threads.
+	 * @param other
+	 * @param otherId: id of the name in the other dictionary.
+	 * @return The id of the name in this dictionary.
+	 */
+	public int id(NameDictionary other, int otherId){
+		ByteBuffer b = other.blocks[(int) (other.addresses[otherId] >>> 32)];
+		int offset = (int) other.addresses[otherId];
+		int length = b.getInt(offset + 4);
+		if(bytes.length < length)
+			bytes = new byte[Math.max(length, bytes.length * 2)];
+		for(int i=0; i<length; i++)
+			bytes[i] = b.get(offset + HEADER + i);
+		return id(b.getInt(offset), length, true);
+	}
+
+	/**
+	 * @param ch
+	 * @param start
+	 * @param length
+	 * @return The id of the name ch[start..start+length[, or -1 if it is not<br/>
+	 * in the dictionary.
+	 */
+	public int find(char[] ch, int start, int length){
+		int hash = 0;
+		for(int i=0; i<length; i++)
+			hash = 31 * hash + ch[start + i];
+		return id(hash, encode(ch, start, length), false);
+	}
+
+	/**
+	 * @param hash of the name.
+	 * @param length: number of bytes of the name in bytes.
+	 * @param add: add the name if it is new?
+	 * @return The id of the name or -1.
+	 */
+	private int id(int hash, int length, boolean add){
+		int mask = index.length - 1;
+		int slot = mix(hash) & mask;
+		for(; index[slot] != 0; slot = (slot + 1) & mask){
+			int id = index[slot] - 1;
+			if(equals(id, hash, length))
+				return id;
+		}
+		if(!add) return -1;
+		if(size == addresses.length)
+			addresses = Arrays.copyOf(addresses, size * 2);
+		addresses[size] = store(hash, length);
+		index[slot] = ++size;
+		if(size * 2 > index.length)
+			rehash();
+		return size - 1;
+	}
+
+	/**
+	 * @return True if the name of the id is the name in bytes.
+	 */
+	private boolean equals(int id, int hash, int length){
+		ByteBuffer b = blocks[(int) (addresses[id] >>> 32)];
+		int offset = (int) addresses[id];
+		if(b.getInt(offset) != hash || b.getInt(offset + 4) != length)
+			return false;
+		offset += HEADER;
+		for(int i=0; i<length; i++){
+			if(b.get(offset + i) != bytes[i])
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Appends the name in bytes to the arena.
+	 * @return The address of the entry.
+	 */
+	private long store(int hash, int length){
+		int entry = HEADER + length;
+		if(block == null || position + entry > block.capacity()){
+			if(numberOfBlocks == blocks.length)
+				blocks = Arrays.copyOf(blocks, numberOfBlocks * 2);
+			block = ByteBuffer.allocateDirect(Math.max(BLOCK, entry));
+			blocks[numberOfBlocks++] = block;
+			position = 0;
+		}
+		long address = ((long) (numberOfBlocks - 1) << 32) | position;
+		block.putInt(position, hash);
+		block.putInt(position + 4, length);
+		for(int i=0; i<length; i++)
+			block.put(position + HEADER + i, bytes[i]);
+		position += entry;
+		return address;
+	}
+
+	private void rehash(){
+		index = new int[index.length * 2];
+		int mask = index.length - 1;
+		for(int id=0; id<size; id++){
+			int hash = blocks[(int) (addresses[id] >>> 32)].getInt((int) addresses[id]);
+			int slot = mix(hash) & mask;
+			while(index[slot] != 0)
+				slot = (slot + 1) & mask;
+			index[slot] = id + 1;
+		}
+	}
+
+	private static int mix(int hash){
+		hash *= 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Encodes characters in UTF-8 into bytes. A lone surrogate becomes '?',<br/>
+	 * like String.getBytes does.
+	 * @return The number of bytes.
+	 */
+	private int encode(char[] ch, int start, int length){
+		if(bytes.length < length * 3)
+			bytes = new byte[Math.max(length * 3, bytes.length * 2)];
+		int n = 0;
+		for(int i=start; i<start + length; i++){
+			char c = ch[i];
+			if(c < 0x80)
+				bytes[n++] = (byte) c;
+			else if(c < 0x800){
+				bytes[n++] = (byte) (0xc0 | (c >> 6));
+				bytes[n++] = (byte) (0x80 | (c & 0x3f));
+			}else if(Character.isHighSurrogate(c) && i + 1 < start + length && Character.isLowSurrogate(ch[i + 1])){
+				int codePoint = Character.toCodePoint(c, ch[++i]);
+				bytes[n++] = (byte) (0xf0 | (codePoint >> 18));
+				bytes[n++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+				bytes[n++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+				bytes[n++] = (byte) (0x80 | (codePoint & 0x3f));
+			}else if(Character.isSurrogate(c))
+				bytes[n++] = '?';
+			else{
+				bytes[n++] = (byte) (0xe0 | (c >> 12));
+				bytes[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				bytes[n++] = (byte) (0x80 | (c & 0x3f));
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * @param id
+	 * @return The name of the id, decoded into a new String.
+	 */
+	public String getName(int id){
+		ByteBuffer b = blocks[(int) (addresses[id] >>> 32)];
+		int offset = (int) addresses[id];
+		byte[] name = new byte[b.getInt(offset + 4)];
+		for(int i=0; i<name.length; i++)
+			name[i] = b.get(offset + HEADER + i);
+		return new String(name, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return The number of names.
+	 */
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * @return The number of bytes of the arena outside of the heap.
+	 */
+	public long getOffHeapBytes(){
+		long offHeap = 0;
+		for(int i=0; i<numberOfBlocks; i++)
+			offHeap += blocks[i].capacity();
+		return offHeap;
+	}
+}
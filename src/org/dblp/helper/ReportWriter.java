@@ -0,0 +1,208 @@
+package org.dblp.helper;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a report, e.g. the web page of an analyzer, in UTF-8 through a<br/>
+ * large buffer and a FileChannel.<br/>
+ * Integers and fixed-point numbers are formatted directly in the buffer,<br/>
+ * without a Formatter and without a String for each number: the rows of<br/>
+ * the tables cost a few bytes each. The text of fixed-point numbers is the<br/>
+ * same as the one of String.format("%.nf").<br/>
+ * Parts which do not change, e.g. the template of the web page, can be<br/>
+ * encoded once and written as byte arrays (see HtmlCode).<br/>
+ * Not thread-safe: each report has its own writer.
+ * @author SergeOliver
+ *
+ */
+public class ReportWriter implements Closeable, Flushable {
+
+	/**
+	 * Size of the buffer in bytes.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+	private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L};
+
+	private final FileChannel channel;
+
+	private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+	/**
+	 * Digits of a number, from the last one (see print(long)).
+	 */
+	private final byte[] digits = new byte[20];
+
+	/**
+	 * Creates the file, or empties it if it exists.
+	 * @param path of the file.
+	 * @throws IOException if the file cannot be created.
+	 */
+	public ReportWriter(String path) throws IOException{
+		channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Writes bytes which were encoded once, e.g. with encode.
+	 * @param bytes
+	 * @return This writer.
+	 * @throws IOException
+	 */
+	public ReportWriter write(byte[] bytes) throws IOException{
+		int offset = 0;
+		while(offset < bytes.length){
+			if(!buffer.hasRemaining())
+				drain();
+			int length = Math.min(buffer.remaining(), bytes.length - offset);
+			buffer.put(bytes, offset, length);
+			offset += length;
+		}
+		return this;
+	}
+
+	/**
+	 * @param text
+	 * @return This writer.
+	 * @throws IOException
+	 */
+	public ReportWriter print(String text) throws IOException{
+		for(int i=0; i<text.length(); i++){
+			char c = text.charAt(i);
+			if(c >= 0x80)//not ASCII: encode the rest at once
+				return write(text.substring(i).getBytes(StandardCharsets.UTF_8));
+			if(!buffer.hasRemaining())
+				drain();
+			buffer.put((byte) c);
+		}
+		return this;
+	}
+
+	/**
+	 * @param c: ASCII character.
+	 * @return This writer.
+	 * @throws IOException
+	 */
+	public ReportWriter print(char c) throws IOException{
+		if(c >= 0x80)
+			return print(String.valueOf(c));
+		if(!buffer.hasRemaining())
+			drain();
+		buffer.put((byte) c);
+		return this;
+	}
+
+	/**
+	 * Writes an integer in decimal, as "%d".
+	 * @param value
+	 * @return This writer.
+	 * @throws IOException
+	 */
+	public ReportWriter print(long value) throws IOException{
+		if(value == Long.MIN_VALUE)
+			return print(Long.toString(value));
+		if(buffer.remaining() < digits.length)
+			drain();
+		if(value < 0){
+			buffer.put((byte) '-');
+			value = -value;
+		}
+		int length = 0;
+		do{
+			digits[length++] = (byte) ('0' + value % 10);
+			value /= 10;
+		}while(value != 0);
+		while(length > 0)
+			buffer.put(digits[--length]);
+		return this;
+	}
+
+	/**
+	 * Writes a number with a fixed number of decimals, as "%.nf": rounded<br/>
+	 * half up, e.g. 2.345 -> 2.35 with two decimals.<br/>
+	 * The number is scaled to an integer; numbers which are too large for<br/>
+	 * it, or so close to the middle of two results that the error of the<br/>
+	 * scaling could change the rounding, are formatted by String.format.
+	 * @param value
+	 * @param decimals: from 0 to 6.
+	 * @return This writer.
+	 * @throws IOException
+	 */
+	public ReportWriter print(double value, int decimals) throws IOException{
+		double scaled = Math.abs(value) * POWERS_OF_TEN[decimals];
+		double fraction = scaled - Math.floor(scaled);
+		if(!(scaled < 1e15) || Math.abs(fraction - 0.5) <= 8 * Math.ulp(scaled))
+			return print(String.format("%." + decimals + "f", value));
+		long rounded = (long) scaled + (fraction > 0.5 ? 1 : 0);
+		if(Double.doubleToRawLongBits(value) < 0)//also -0.0, as String.format
+			print('-');
+		print(rounded / POWERS_OF_TEN[decimals]);
+		if(decimals > 0){
+			print('.');
+			long rest = rounded % POWERS_OF_TEN[decimals];
+			for(int i=decimals-1; i>=0; i--)
+				print((char) ('0' + rest / POWERS_OF_TEN[i] % 10));
+		}
+		return this;
+	}
+
+	/**
+	 * Ends the line with the line separator of the system, as PrintWriter.println.
+	 * @return This writer.
+	 * @throws IOException
+	 */
+	public ReportWriter println() throws IOException{
+		return write(LINE_SEPARATOR);
+	}
+
+	/**
+	 * @param text
+	 * @return This writer.
+	 * @throws IOException
+	 */
+	public ReportWriter println(String text) throws IOException{
+		return print(text).println();
+	}
+
+	/**
+	 * @param text
+	 * @return The bytes of the text in the encoding of the reports, to be<br/>
+	 * written with write.
+	 */
+	public static byte[] encode(String text){
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Writes the buffer in the file.
+	 */
+	private void drain() throws IOException{
+		buffer.flip();
+		while(buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	@Override
+	public void flush() throws IOException{
+		drain();
+	}
+
+	@Override
+	public void close() throws IOException{
+		try{
+			drain();
+		}finally{
+			channel.close();
+		}
+	}
+}
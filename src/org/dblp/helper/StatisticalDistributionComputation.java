@@ -3,29 +3,51 @@ package org.dblp.helper;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.List;
+import java.util.TreeMap;
 
 /**
  * Utility class which contains methods to determine the sample maximum, <br/>
  * and minimum, the mean, the upper and lower quartile, the sum, the <br/>
- * the arithmetic mean, the variance and the standard deviation on a dataset.   
+ * the arithmetic mean, the variance and the standard deviation on a dataset.<br/>
+ * The quartiles and the median are read from the sorted dataset (see the<br/>
+ * methods ...OfSorted), so computeStatisticalDistribution sorts it once.<br/>
+ * A per-record distribution, e.g. of the number of words of each title, is<br/>
+ * computed from the (value -> number of records) pairs of a histogram<br/>
+ * (see computeRecordDistribution), without a list of one value per record.<br/>
+ * The results of each computation are returned in an immutable<br/>
+ * DistributionSummary, so that distributions can be computed by several<br/>
+ * threads at the same time. They are collected per section and written in<br/>
+ * operation_result_output.csv in the order of the sections (see<br/>
+ * beginSection), whatever the order in which the threads computed them.
  * @author SergeOliver
  *
  */
 public class StatisticalDistributionComputation implements MyPath{
 	
 	private static PrintWriter statisticalDistributionOutput;
-	private static double maximum = 0;
-	private static double upperQuartile = 0;
-	private static double median = 0;
-	private static double lowerQuartile = 0;
-	private static double minimum = 0;
-	private static double mean = 0;
-	private static double variance = 0;
-	private static double standardDeviation = 0;
-	private static double total = 0;
+
+	/**
+	 * List of (section -> results of the distributions of the section, in<br/>
+	 * the order in which they were computed) pairs (see beginSection).
+	 */
+	private static final TreeMap<Integer, List<String>> sections = new TreeMap<>();
+
+	/**
+	 * Section in which the current thread adds its distributions. The<br/>
+	 * distributions of the threads which did not begin a section come last.
+	 */
+	private static final ThreadLocal<Integer> currentSection = new ThreadLocal<Integer>(){
+		@Override
+		protected Integer initialValue(){
+			return Integer.MAX_VALUE;
+		}
+	};
 	
 	static{
 		try {
@@ -54,9 +76,14 @@ public class StatisticalDistributionComputation implements MyPath{
 	 * @return Lower quartile: the median of the first half of the list.
 	 */
 	public static double lowerQuartile(double[] dataset){
+		if(dataset.length < 4) return -1;
+		Arrays.sort(dataset);
+		return lowerQuartileOfSorted(dataset);
+	}
+
+	private static double lowerQuartileOfSorted(double[] dataset){
 		int l = dataset.length;
 		if(l < 4) return -1;
-		Arrays.sort(dataset);
 		return ((dataset.length/2)%2 != 0)? dataset[l/4] : 
 			(dataset[l/4-1]+dataset[l/4])/2 ;
 	}
@@ -66,9 +93,14 @@ public class StatisticalDistributionComputation implements MyPath{
 	 * @return Median of the list.
 	 */
 	public static double median(double[] listOfStatisticalData) {
+		if(listOfStatisticalData.length < 2) return -1;
+		Arrays.sort(listOfStatisticalData);
+		return medianOfSorted(listOfStatisticalData);
+	}
+
+	private static double medianOfSorted(double[] listOfStatisticalData) {
 		int l = listOfStatisticalData.length;
 		if(l < 2) return -1;
-		Arrays.sort(listOfStatisticalData);
 		return (listOfStatisticalData.length%2!=0)? listOfStatisticalData[l/2] : 
 			(listOfStatisticalData[l/2-1]+listOfStatisticalData[l/2])/2 ;
 	}
@@ -78,10 +110,15 @@ public class StatisticalDistributionComputation implements MyPath{
 	 * @return Upper quartile: the median of the second half of the list.
 	 */
 	public static double upperQuartile(double[] dataset){
+		if(dataset.length < 4) return -1;
+		Arrays.sort(dataset);
+		return upperQuartileOfSorted(dataset);
+	}
+
+	private static double upperQuartileOfSorted(double[] dataset){
 		double result;
 		int l = dataset.length;
 		if(l < 4) return -1;
-		Arrays.sort(dataset);
 		if((dataset.length/2)%2 != 0)
 			 result = dataset[l*3/4];
 		else if(dataset.length%2 != 0)
@@ -116,11 +153,12 @@ public class StatisticalDistributionComputation implements MyPath{
 	 * @return Arithmetic mean: the average of the list of statistical data.
 	 */
 	public static double arithmeticMean(double[] dataset){
+		return arithmeticMean(dataset, sum(dataset));
+	}
+
+	private static double arithmeticMean(double[] dataset, double sum){
 		int l = dataset.length;
 		if(l < 2) return -1;
-		double sum = 0;
-		for(double n: dataset)
-			sum += n;
 		return sum/l;
 	}
 	
@@ -130,10 +168,14 @@ public class StatisticalDistributionComputation implements MyPath{
 	 * e.i. the average location of all data according to the mean value.
 	 */
 	public static double variance(double[] listOfStatisticalData){
-		double mean = arithmeticMean(listOfStatisticalData);
+		return variance(listOfStatisticalData, arithmeticMean(listOfStatisticalData));
+	}
+
+	private static double variance(double[] listOfStatisticalData, double mean){
 		double var = 0;
 		for(double n: listOfStatisticalData){
-			var += Math.pow(n-mean, 2); 
+			double deviation = n-mean;
+			var += deviation*deviation;//the same as Math.pow(n-mean, 2)
 		}
 		return var/listOfStatisticalData.length;
 	}
@@ -147,127 +189,213 @@ public class StatisticalDistributionComputation implements MyPath{
 		return Math.sqrt(variance(listOfStatisticalData));
 	}
 	
-	static int count = 0;
 	/**
-	 * Adds new operation results to operation_result_output.csv
-	 * @param 
-	 * @param 
+	 * Computes the distribution of a list of values and adds its results to<br/>
+	 * operation_result_output.csv<br/>
+	 * The list is sorted once, in place, and the five numbers are read from<br/>
+	 * the sorted list; the sum is computed once for the total and the mean.
+	 * @param arrayOfValues
+	 * @param outputTitle
+	 * @return The results, or null if there are no values, e.g. no<br/>
+	 * publication of a type was accepted by the filter (see RecordFilter).
 	 */
-	public static boolean computeStatisticalDistribution(double[] arrayOfValues, String outputTitle){
-		maximum = StatisticalDistributionComputation.maximum(arrayOfValues);
-		upperQuartile = StatisticalDistributionComputation.upperQuartile(arrayOfValues);
-		median = StatisticalDistributionComputation.median(arrayOfValues);
-		lowerQuartile = StatisticalDistributionComputation.lowerQuartile(arrayOfValues);
-		minimum = StatisticalDistributionComputation.minimum(arrayOfValues);
-		mean = StatisticalDistributionComputation.arithmeticMean(arrayOfValues);
-		variance = StatisticalDistributionComputation.variance(arrayOfValues);
-		standardDeviation = StatisticalDistributionComputation.standardDeviation(arrayOfValues);
-		total = StatisticalDistributionComputation.sum(arrayOfValues);
-		statisticalDistributionOutput.println();
-		statisticalDistributionOutput.println("____________________________");
-		statisticalDistributionOutput.println();
-		statisticalDistributionOutput.println((++count)+". "+outputTitle+"\n");
-		statisticalDistributionOutput.println("Sample minimum = "+minimum);
-		statisticalDistributionOutput.printf("%s %.2f\n", "Lower quartile = ",lowerQuartile);
-		statisticalDistributionOutput.printf("%s %.2f\n", "Median = ",median);
-		statisticalDistributionOutput.printf("%s %.2f\n", "Upper quartile = ",upperQuartile);
-		statisticalDistributionOutput.println("Sample maximum = "+maximum);
-		
-		statisticalDistributionOutput.printf("\n%s %.2f", "Arithmetic Mean = ",
-				mean);
-		statisticalDistributionOutput.printf("\n%s %.2f", "Variance = ",variance);
-		statisticalDistributionOutput.printf("\n%s %.2f\n\n", "Standard Deviation = ",
-				standardDeviation);
-		statisticalDistributionOutput.println("Total = "+total);
-		return true;
-	}
-	
-
-	@Override
-	public void flushAndClose() {
-		statisticalDistributionOutput.flush();
-		statisticalDistributionOutput.close();
-	}
-
-	public static PrintWriter getStatisticalDistributionOutput() {
-		return statisticalDistributionOutput;
-	}
-
-	public static void setStatisticalDistributionOutput(
-			PrintWriter statisticalDistributionOutput) {
-		StatisticalDistributionComputation.statisticalDistributionOutput = statisticalDistributionOutput;
-	}
-
-	public static double getMaximum() {
-		return maximum;
-	}
-
-	public static void setMaximum(double maximum) {
-		StatisticalDistributionComputation.maximum = maximum;
+	public static DistributionSummary computeStatisticalDistribution(double[] arrayOfValues, String outputTitle){
+		DistributionSummary summary = summarize(arrayOfValues);
+		if(summary != null)
+			record(outputTitle, summary, false);
+		return summary;
 	}
 
-	public static double getUpperQuartile() {
-		return upperQuartile;
-	}
-
-	public static void setUpperQuartile(double upperQuartile) {
-		StatisticalDistributionComputation.upperQuartile = upperQuartile;
-	}
-
-	public static double getMedian() {
-		return median;
-	}
-
-	public static void setMedian(double median) {
-		StatisticalDistributionComputation.median = median;
-	}
-
-	public static double getLowerQuartile() {
-		return lowerQuartile;
-	}
-
-	public static void setLowerQuartile(double lowerQuartile) {
-		StatisticalDistributionComputation.lowerQuartile = lowerQuartile;
-	}
-
-	public static double getMinimum() {
-		return minimum;
+	/**
+	 * @param arrayOfValues, which is sorted in place.
+	 * @return The distribution of the values, or null if there are no values.<br/>
+	 * Does not write in operation_result_output.csv
+	 */
+	public static DistributionSummary summarize(double[] arrayOfValues){
+		if(arrayOfValues.length == 0)
+			return null;
+		Arrays.sort(arrayOfValues);
+		double total = sum(arrayOfValues);
+		double mean = arithmeticMean(arrayOfValues, total);
+		return new DistributionSummary(arrayOfValues[0], lowerQuartileOfSorted(arrayOfValues),
+				medianOfSorted(arrayOfValues), upperQuartileOfSorted(arrayOfValues),
+				arrayOfValues[arrayOfValues.length-1], mean, variance(arrayOfValues, mean),
+				total, arrayOfValues.length);
 	}
 
-	public static void setMinimum(double minimum) {
-		StatisticalDistributionComputation.minimum = minimum;
+	/**
+	 * Computes a per-record distribution (see summarizeRecords) and adds its<br/>
+	 * results to operation_result_output.csv, with the number of records.
+	 * @param histogram: list of (value -> number of records) pairs.
+	 * @param outputTitle
+	 * @return The results, or null if the histogram is empty.
+	 */
+	public static DistributionSummary computeRecordDistribution(IntHistogram histogram, String outputTitle){
+		DistributionSummary summary = summarizeRecords(histogram);
+		if(summary != null)
+			record(outputTitle, summary, true);
+		return summary;
 	}
 
-	public static double getMean() {
-		return mean;
+	/**
+	 * Per-record distribution: computes the same statistics as<br/>
+	 * summarize on the sorted list in which each value of the histogram is<br/>
+	 * repeated as many times as it was counted, e.g. the number of words of<br/>
+	 * every title, without creating this list. The quartiles and the median<br/>
+	 * follow the same conventions: each element of the list is found by a<br/>
+	 * binary search on the cumulative counts, so the cost depends on the<br/>
+	 * number of values of the histogram, not on the number of records. The<br/>
+	 * results are exact for int values; the variance may differ from the one<br/>
+	 * of the expanded list in the last digits, because the squared<br/>
+	 * deviations are summed per value.
+	 * @param histogram: list of (value -> number of records) pairs.
+	 * @return The distribution, or null if the histogram is empty. Does not<br/>
+	 * write in operation_result_output.csv
+	 */
+	public static DistributionSummary summarizeRecords(IntHistogram histogram){
+		if(histogram.isEmpty())
+			return null;
+		int[] values = histogram.keys();
+		long[] cumulativeCounts = new long[values.length];
+		long n = 0;
+		double sum = 0;
+		for(int i=0; i<values.length; i++){
+			long count = histogram.get(values[i]);
+			n += count;
+			cumulativeCounts[i] = n;
+			sum += (double) values[i] * count;
+		}
+		double upperQuartile, lowerQuartile, median;
+		if(n < 4){
+			upperQuartile = -1;
+			lowerQuartile = -1;
+		}else{
+			if((n/2)%2 != 0)
+				upperQuartile = valueAt(values, cumulativeCounts, n*3/4);
+			else if(n%2 != 0)
+				upperQuartile = (valueAt(values, cumulativeCounts, n*3/4+1)+valueAt(values, cumulativeCounts, n*3/4))/2;
+			else
+				upperQuartile = (valueAt(values, cumulativeCounts, n*3/4-1)+valueAt(values, cumulativeCounts, n*3/4))/2;
+			lowerQuartile = ((n/2)%2 != 0)? valueAt(values, cumulativeCounts, n/4) :
+				(valueAt(values, cumulativeCounts, n/4-1)+valueAt(values, cumulativeCounts, n/4))/2;
+		}
+		if(n < 2)
+			median = -1;
+		else
+			median = (n%2 != 0)? valueAt(values, cumulativeCounts, n/2) :
+				(valueAt(values, cumulativeCounts, n/2-1)+valueAt(values, cumulativeCounts, n/2))/2;
+		double mean = (n < 2) ? -1 : sum/n;
+		double var = 0;
+		for(int i=0; i<values.length; i++){
+			double deviation = values[i]-mean;
+			var += deviation*deviation*histogram.get(values[i]);
+		}
+		return new DistributionSummary(values[0], lowerQuartile, median, upperQuartile,
+				values[values.length-1], mean, var/n, sum, n);
 	}
 
-	public static void setMean(double mean) {
-		StatisticalDistributionComputation.mean = mean;
+	/**
+	 * @param values: sorted values of a histogram.
+	 * @param cumulativeCounts: cumulativeCounts[i] is the number of records<br/>
+	 * whose value is values[0] to values[i].
+	 * @param index: index of a record in the sorted list of all records.
+	 * @return The value of the record.
+	 */
+	private static double valueAt(int[] values, long[] cumulativeCounts, long index){
+		int low = 0, high = values.length - 1;
+		while(low < high){
+			int middle = (low + high) >>> 1;
+			if(cumulativeCounts[middle] > index)
+				high = middle;
+			else
+				low = middle + 1;
+		}
+		return values[low];
 	}
 
-	public static double getVariance() {
-		return variance;
+	/**
+	 * Starts the section of operation_result_output.csv in which the current<br/>
+	 * thread adds its next distributions, e.g. the index of the analyzer<br/>
+	 * which is rendered (see Field.displayResult).
+	 * @param section
+	 */
+	public static void beginSection(int section){
+		currentSection.set(section);
 	}
 
-	public static void setVariance(double variance) {
-		StatisticalDistributionComputation.variance = variance;
+	/**
+	 * The next distributions of the current thread come last again.
+	 */
+	public static void endSection(){
+		currentSection.remove();
 	}
 
-	public static double getStandardDeviation() {
-		return standardDeviation;
+	/**
+	 * Adds the five numbers, the mean, the variance, the standard deviation<br/>
+	 * and the total of a distribution to the section of the current thread.
+	 * @param outputTitle
+	 * @param summary
+	 * @param withRecords: add the number of records too?
+	 */
+	private static void record(String outputTitle, DistributionSummary summary, boolean withRecords){
+		StringWriter entry = new StringWriter();
+		PrintWriter output = new PrintWriter(entry);
+		output.println(outputTitle+"\n");
+		output.println("Sample minimum = "+summary.getMinimum());
+		output.printf("%s %.2f\n", "Lower quartile = ",summary.getLowerQuartile());
+		output.printf("%s %.2f\n", "Median = ",summary.getMedian());
+		output.printf("%s %.2f\n", "Upper quartile = ",summary.getUpperQuartile());
+		output.println("Sample maximum = "+summary.getMaximum());
+		
+		output.printf("\n%s %.2f", "Arithmetic Mean = ",
+				summary.getMean());
+		output.printf("\n%s %.2f", "Variance = ",summary.getVariance());
+		output.printf("\n%s %.2f\n\n", "Standard Deviation = ",
+				summary.getStandardDeviation());
+		output.println("Total = "+summary.getTotal());
+		if(withRecords)
+			output.println("Records = "+summary.getRecords());
+		output.flush();
+		Integer section = currentSection.get();
+		synchronized(sections){
+			List<String> entries = sections.get(section);
+			if(entries == null){
+				entries = new ArrayList<>();
+				sections.put(section, entries);
+			}
+			entries.add(entry.toString());
+		}
 	}
 
-	public static void setStandardDeviation(double standardDeviation) {
-		StatisticalDistributionComputation.standardDeviation = standardDeviation;
+	/**
+	 * Writes the distributions of all sections in operation_result_output.csv,<br/>
+	 * numbered in the order of the sections, then closes it.
+	 */
+	@Override
+	public void flushAndClose() {
+		synchronized(sections){
+			int count = 0;
+			for(List<String> entries : sections.values()){
+				for(String entry : entries){
+					statisticalDistributionOutput.println();
+					statisticalDistributionOutput.println("____________________________");
+					statisticalDistributionOutput.println();
+					statisticalDistributionOutput.print((++count)+". "+entry);
+				}
+			}
+			sections.clear();
+		}
+		statisticalDistributionOutput.flush();
+		statisticalDistributionOutput.close();
 	}
 
-	public static double getTotal() {
-		return total;
+	public static PrintWriter getStatisticalDistributionOutput() {
+		return statisticalDistributionOutput;
 	}
 
-	public static void setTotal(double total) {
-		StatisticalDistributionComputation.total = total;
+	public static void setStatisticalDistributionOutput(
+			PrintWriter statisticalDistributionOutput) {
+		StatisticalDistributionComputation.statisticalDistributionOutput = statisticalDistributionOutput;
 	}
 
 	/**
@@ -0,0 +1,257 @@
+package org.dblp.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Steps of a computation and the steps which each of them needs, e.g. the<br/>
+ * result of an analyzer is rendered after the analyzer finished (see<br/>
+ * Field.displayResult).<br/>
+ * run executes the steps on a fork-join pool: a step starts as soon as the<br/>
+ * steps which it needs are done, so the steps which do not depend on each<br/>
+ * other run at the same time.<br/>
+ * The time of each step is measured (see getReport).<br/>
+ * If a step fails, the steps which were not started yet are skipped and run<br/>
+ * throws the error of the step.
+ * @author SergeOliver
+ *
+ */
+public class TaskGraph {
+
+	/**
+	 * Written before each line of the report, e.g. Post-parse.
+	 */
+	private final String title;
+
+	/**
+	 * List of (name -> step) pairs, in the order in which they were added.
+	 */
+	private final Map<String, Step> steps = new LinkedHashMap<>();
+
+	/**
+	 * Counts the steps which are not done yet.
+	 */
+	private CountDownLatch remaining;
+
+	/**
+	 * First step which failed, or null.
+	 */
+	private volatile Step failed;
+
+	private volatile Throwable error;
+
+	/**
+	 * Time of the whole run in nanoseconds, and number of threads of the pool.
+	 */
+	private long elapsed;
+	private int parallelism;
+
+	/**
+	 * @param title: written before each line of the report.
+	 */
+	public TaskGraph(String title){
+		this.title = title;
+	}
+
+	/**
+	 * Adds a step.
+	 * @param name: unique name of the step, e.g. render new-authors.
+	 * @param action: work of the step.
+	 * @param dependencies: names of the steps which must be done before this one.<br/>
+	 * They may be added after this step, but before run.
+	 * @throws IllegalArgumentException if a step with the same name was added.
+	 */
+	public void add(String name, Runnable action, String... dependencies){
+		add(name, action, Arrays.asList(dependencies));
+	}
+
+	/**
+	 * See add(String, Runnable, String...).
+	 */
+	public void add(String name, Runnable action, List<String> dependencies){
+		if(steps.containsKey(name))
+			throw new IllegalArgumentException("The step "+name+" was already added");
+		steps.put(name, new Step(name, action, new ArrayList<>(dependencies)));
+	}
+
+	/**
+	 * @param name
+	 * @return True if a step with this name was added and false else.
+	 */
+	public boolean contains(String name){
+		return steps.containsKey(name);
+	}
+
+	/**
+	 * Runs the steps with as many threads as there are processors.
+	 */
+	public void run(){
+		run(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Runs all steps and waits until they are done. A graph is run once.
+	 * @param parallelism: number of threads of the fork-join pool.
+	 * @throws IllegalArgumentException if a step needs an unknown step or if<br/>
+	 * the dependencies have a cycle; no step is run then.
+	 * @throws IllegalStateException if a step failed, caused by its error.
+	 */
+	public void run(int parallelism){
+		link();
+		this.parallelism = parallelism;
+		remaining = new CountDownLatch(steps.size());
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try{
+			for(Step step : steps.values()){
+				if(step.pending.get() == 0)
+					pool.execute(step);
+			}
+			remaining.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while the steps were running", e);
+		}finally{
+			pool.shutdown();
+		}
+		elapsed = System.nanoTime() - start;
+		if(failed != null)
+			throw new IllegalStateException("The step "+failed.name+" failed", error);
+	}
+
+	/**
+	 * Finds the steps which each step needs and checks that the steps can be<br/>
+	 * run in an order, i.e. that the dependencies have no cycle.
+	 */
+	private void link(){
+		for(Step step : steps.values()){
+			for(String name : step.dependencies){
+				Step dependency = steps.get(name);
+				if(dependency == null)
+					throw new IllegalArgumentException("The step "+step.name+" needs the unknown step "+name);
+				dependency.dependents.add(step);
+			}
+			step.pending.set(step.dependencies.size());
+		}
+//		remove the steps without dependencies until none is left
+		List<Step> ready = new ArrayList<>();
+		Map<Step, Integer> pending = new LinkedHashMap<>();
+		for(Step step : steps.values()){
+			if(step.dependencies.isEmpty())
+				ready.add(step);
+			else
+				pending.put(step, step.dependencies.size());
+		}
+		for(int i=0; i<ready.size(); i++){
+			for(Step dependent : ready.get(i).dependents){
+				int count = pending.get(dependent) - 1;
+				if(count == 0){
+					pending.remove(dependent);
+					ready.add(dependent);
+				}else{
+					pending.put(dependent, count);
+				}
+			}
+		}
+		if(!pending.isEmpty()){
+			List<String> names = new ArrayList<>();
+			for(Step step : pending.keySet())
+				names.add(step.name);
+			throw new IllegalArgumentException("The dependencies of the steps "+names+" have a cycle");
+		}
+	}
+
+	/**
+	 * @return One line per step with its time in milliseconds, in the order in<br/>
+	 * which the steps were added, then the time of the whole run and the sum<br/>
+	 * of the times of the steps. A step which was skipped has no time.
+	 */
+	public String getReport(){
+		StringBuilder report = new StringBuilder();
+		long sum = 0;
+		for(Step step : steps.values()){
+			report.append(title).append(": ").append(step.name);
+			if(step.time < 0){
+				report.append(" skipped\n");
+			}else{
+				report.append(' ').append(millis(step.time)).append(" ms\n");
+				sum += step.time;
+			}
+		}
+		report.append(title).append(": ").append(steps.size()).append(" steps in ").append(millis(elapsed))
+			.append(" ms with ").append(parallelism).append(" threads, ").append(millis(sum)).append(" ms of work");
+		return report.toString();
+	}
+
+	private static long millis(long nanos){
+		return nanos / 1000000;
+	}
+
+	/**
+	 * A step of the graph: it is forked by the last step which it needs.
+	 */
+	@SuppressWarnings("serial")
+	private class Step extends RecursiveAction {
+
+		private final String name;
+
+		private final Runnable action;
+
+		private final List<String> dependencies;
+
+		/**
+		 * Steps which need this one.
+		 */
+		private final List<Step> dependents = new ArrayList<>();
+
+		/**
+		 * Number of dependencies which are not done yet.
+		 */
+		private final AtomicInteger pending = new AtomicInteger();
+
+		/**
+		 * Time of the step in nanoseconds, or -1 if it was not run.
+		 */
+		private volatile long time = -1;
+
+		private Step(String name, Runnable action, List<String> dependencies){
+			this.name = name;
+			this.action = action;
+			this.dependencies = dependencies;
+		}
+
+		@Override
+		protected void compute(){
+			if(failed == null){
+				long start = System.nanoTime();
+				try{
+					action.run();
+				}catch(RuntimeException | Error e){
+					fail(e);
+				}
+				time = System.nanoTime() - start;
+			}
+			for(Step dependent : dependents){
+				if(dependent.pending.decrementAndGet() == 0)
+					dependent.fork();
+			}
+			remaining.countDown();
+		}
+
+		private void fail(Throwable e){
+			synchronized(TaskGraph.this){
+				if(failed == null){
+					error = e;
+					failed = this;
+				}
+			}
+		}
+	}
+}
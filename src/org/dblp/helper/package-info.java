@@ -1,6 +1,8 @@
 /**
- * Contains the classes Counter.java, IntKey.java, HtmlCode.java, MyPath and<br/>
- * Operation.java. The first two are wrapper classes and the other are help classes<br/> 
+ * Contains the classes Counter.java, IntKey.java, HtmlCode.java, MyPath,<br/>
+ * CharDictionary.java, NameDictionary.java, IntHistogram.java,<br/>
+ * HyperLogLog.java and Operation.java. The first two are wrapper classes<br/>
+ * and the other are help classes<br/> 
  * 
  */
 /**
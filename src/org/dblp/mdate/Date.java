@@ -1,15 +1,8 @@
 package org.dblp.mdate;
 
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
-
-import org.dblp.helper.Counter;
-
 /**
- * Counts the number of modifications per year, month and year.
+ * Contains the year, month and day of a modification date.
  * VIP: checks if there unreliable modification dates for a later analysis.
  * e.g. month < 1 or month > 12 or day < 1 or day > 31 or year.length() != 4
  * @author SergeOliver
@@ -22,23 +15,79 @@ public class Date {
 	String day;
 	String key;
 	
-	public static Map<String, Counter> mYears = new HashMap<>();
-	public static double[] mMonths = new double[12];
-	public static int[] mDays = new int[31];
-	public static Set<String> setOfUnreliableDates = new TreeSet<>();
-
+	/**
+	 * Parses the day, month and year of a modification date.
+	 * @param y: year
+	 * @param m: month
+	 * @param d: day
+	 * @param key of the publication
+	 */
 	public Date(String y, int m, int d, String key){
 		this.key = key;
-		if(m < 1 || m > 12 || d < 1 || d > 31 || y.length() != 4){
-			setOfUnreliableDates.add("[Key: "+key+"] [Date: "+y+"-"+m+"-"+d+"]");
+		year = y;
+		month = String.valueOf(m);
+		day = String.valueOf(d);
+	}
+	
+	/**
+	 * @return False if month < 1 or month > 12 or day < 1 or day > 31 or <br/>
+	 * year.length() != 4 and true else.
+	 */
+	public boolean isReliable(){
+		return isReliable(year.length(), Integer.parseInt(month), Integer.parseInt(day));
+	}
+
+	/**
+	 * @param yearLength: number of characters of the year.
+	 * @param m: month
+	 * @param d: day
+	 * @return False if the date is unreliable, see isReliable().
+	 */
+	public static boolean isReliable(int yearLength, int m, int d){
+		return !(m < 1 || m > 12 || d < 1 || d > 31 || yearLength != 4);
+	}
+
+	/**
+	 * @param mdate: modification date. e.g. 2011-11-04
+	 * @return The number of characters of the year.
+	 */
+	public static int yearLength(String mdate){
+		int dash = mdate.indexOf('-');
+		return (dash < 0) ? mdate.length() : dash;
+	}
+
+	/**
+	 * Reads the month or the day of a modification date like<br/>
+	 * Integer.parseInt(mdate.split("-")[index]), without creating Strings.
+	 * @param mdate: modification date. e.g. 2011-11-04
+	 * @param index: 1 for the month, 2 for the day.
+	 * @return The month or the day.
+	 * @throws NumberFormatException if the part is missing or not a number.
+	 */
+	public static int part(String mdate, int index){
+		int start = 0;
+		for(int i=0; i<index; i++){
+			start = mdate.indexOf('-', start) + 1;
+			if(start == 0)
+				throw new NumberFormatException("Malformed modification date "+mdate);
 		}
-		if(!mYears.containsKey(y))
-			mYears.put(y, new Counter());
-		else{
-			mYears.get(y).increment();
+		int end = mdate.indexOf('-', start);
+		if(end < 0)
+			end = mdate.length();
+		if(end == start)
+			throw new NumberFormatException("Malformed modification date "+mdate);
+		int value = 0;
+		for(int i=start; i<end; i++){
+			int digit = Character.digit(mdate.charAt(i), 10);
+			if(digit < 0)
+				throw new NumberFormatException("Malformed modification date "+mdate);
+			value = value * 10 + digit;
 		}
-		mMonths[m-1] += 1;
-		mDays[d-1] += 1;
+		return value;
+	}
+	
+	public String getKey(){
+		return key;
 	}
 	
 	public String getYear() {
@@ -0,0 +1,79 @@
+package org.dblp.mdate;
+
+import java.io.IOException;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.field.PublicationData;
+
+/**
+ * Monthly modification frequencies of publications.
+ * @author SergeOliver
+ *
+ */
+public class MonthlyModificationAnalyzer extends ChartAnalyzer {
+
+	/**
+	 * Number of modifications per month. January is at index 0.
+	 */
+	private double[] mMonths = new double[12];
+	
+	/**
+	 * Number of modifications per day of the month. The first day is at index 0.
+	 */
+	private int[] mDays = new int[31];
+
+	public MonthlyModificationAnalyzer(){
+		super("mdate-month", new String[0], MONTHLYPUBLICATIONMDATEOUTPUT,
+				"Monthly modification frequence of publications", "Modifications",
+				"Distribution of monthly modifications of publications up to now", "Monthly Modifications");
+	}
+
+	/**
+	 * Counts the modification per month and day.
+	 */
+	@Override
+	public void add(PublicationData publication){
+		String mdate = publication.getMdate();
+		if(mdate == null) return;
+		mMonths[Date.part(mdate, 1)-1] += 1;
+		mDays[Date.part(mdate, 2)-1] += 1;
+	}
+
+	@Override
+	public void retract(PublicationData publication){
+		String mdate = publication.getMdate();
+		if(mdate == null) return;
+		mMonths[Date.part(mdate, 1)-1] -= 1;
+		mDays[Date.part(mdate, 2)-1] -= 1;
+	}
+
+	@Override
+	public void merge(Analyzer analyzer){
+		MonthlyModificationAnalyzer other = (MonthlyModificationAnalyzer) analyzer;
+		for(int i=0; i<mMonths.length; i++)
+			mMonths[i] += other.mMonths[i];
+		for(int i=0; i<mDays.length; i++)
+			mDays[i] += other.mDays[i];
+	}
+
+	/**
+	 * Outputs the monthly modification frequencies
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of modification per month");
+		Result result = newResult("Month", "Modifications");
+		for(int i=0; i<mMonths.length; i++){
+			result.addRow(Month.values()[i].name(), Math.round(mMonths[i]));
+		}	
+		addDistribution(result, "Number Of Modification Per Month", mMonths.clone());
+		return result;
+	}
+
+	@Override
+	protected void writeHeader(Result result) throws IOException {
+		out.println("Month , Modifications ");
+	}
+}
@@ -0,0 +1,140 @@
+package org.dblp.mdate;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.dblp.analyzer.Analyzer;
+import org.dblp.analyzer.ChartAnalyzer;
+import org.dblp.analyzer.Result;
+import org.dblp.field.PublicationData;
+import org.dblp.helper.CharDictionary;
+import org.dblp.helper.Counter;
+
+/**
+ * Yearly modification frequencies of publications.<br/>
+ * Stores the unreliable modification dates for a later analysis.
+ * @author SergeOliver
+ *
+ */
+public class YearlyModificationAnalyzer extends ChartAnalyzer {
+
+	/**
+	 * List of (year -> number of modifications) pairs.
+	 */
+	private Map<String, Counter> mYears = new HashMap<>();
+	
+	/**
+	 * Stores unreliable modification dates for a later analysis.
+	 */
+	private Set<String> setOfUnreliableDates = new TreeSet<>();
+
+	/**
+	 * Years met so far, so that the year of a publication is found without<br/>
+	 * creating a String.
+	 */
+	private final CharDictionary<String> years = new CharDictionary<String>(){
+		@Override
+		protected String create(String year){
+			return year;
+		}
+	};
+
+	/**
+	 * Characters of the year of the current publication.
+	 */
+	private char[] yearChars = new char[8];
+
+	public YearlyModificationAnalyzer(){
+		super("mdate-year", new String[0], YEARLYPUBLICATIONMDATEOUTPUT,
+				"Yearly modification frequence of publications", "Modifications",
+				"Distribution of monthly modifications of publications up to now", "Yearly Modifications");
+	}
+
+	/**
+	 * @param mdate: modification date of the publication.
+	 * @param yearLength: number of characters of the year.
+	 * @return The year of the modification date.
+	 */
+	private String getYear(String mdate, int yearLength){
+		if(yearChars.length < yearLength)
+			yearChars = new char[yearLength];
+		mdate.getChars(0, yearLength, yearChars, 0);
+		return years.get(yearChars, 0, yearLength);
+	}
+
+	/**
+	 * @param publication
+	 * @param yearLength: number of characters of the year.
+	 * @return The entry of an unreliable modification date.
+	 */
+	private static String unreliableDate(PublicationData publication, int yearLength){
+		String mdate = publication.getMdate();
+		Date date = new Date(mdate.substring(0, yearLength), Date.part(mdate, 1), Date.part(mdate, 2), publication.getKey());
+		return "[Key: "+date.getKey()+"] [Date: "+date+"]";
+	}
+
+	/**
+	 * Counts the modification per year.<br/>
+	 * The modification date is read without splitting it: a Date object is<br/>
+	 * only created for an unreliable date.
+	 */
+	@Override
+	public void add(PublicationData publication){
+		String mdate = publication.getMdate();
+		if(mdate == null) return;
+		int yearLength = Date.yearLength(mdate);
+		if(!Date.isReliable(yearLength, Date.part(mdate, 1), Date.part(mdate, 2)))
+			setOfUnreliableDates.add(unreliableDate(publication, yearLength));
+		Counter.increment(mYears, getYear(mdate, yearLength));
+	}
+
+	@Override
+	public void retract(PublicationData publication){
+		String mdate = publication.getMdate();
+		if(mdate == null) return;
+		int yearLength = Date.yearLength(mdate);
+		if(!Date.isReliable(yearLength, Date.part(mdate, 1), Date.part(mdate, 2)))
+			setOfUnreliableDates.remove(unreliableDate(publication, yearLength));
+		Counter.decrement(mYears, getYear(mdate, yearLength));
+	}
+
+	@Override
+	public void merge(Analyzer analyzer){
+		YearlyModificationAnalyzer other = (YearlyModificationAnalyzer) analyzer;
+		Counter.merge(mYears, other.mYears);
+		setOfUnreliableDates.addAll(other.setOfUnreliableDates);
+	}
+	
+	public Set<String> getSetOfUnreliableDates(){
+		return setOfUnreliableDates;
+	}
+
+	/**
+	 * Outputs the yearly modification frequencies
+	 */
+	@Override
+	protected Result computeResult() {
+		System.out.println("\nOutput... number of modification per year");
+		Result result = newResult("Year", "Modifications");
+		SortedSet<String> yearSortedSet = new TreeSet<String>(mYears.keySet());
+		double[] values = new double[mYears.size()];
+		int i = 0;
+		double numberOfModification = 0;
+		for(String year : yearSortedSet){
+			numberOfModification = mYears.get(year).getCounterValue();
+			result.addRow(year, Math.round(numberOfModification));
+			values[i++] = numberOfModification;
+		}
+		addDistribution(result, "Number Of Modifications Per Year", values);
+		return result;
+	}
+
+	@Override
+	protected void writeHeader(Result result) throws IOException {
+		out.println("Year , Modifications");
+	}
+}
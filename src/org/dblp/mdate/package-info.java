@@ -1,7 +1,7 @@
 /**
- * Contains the classes Date.java, MDate.java and Month.java, which<br/>
- * collect statistical informations about the mdate attribute of publications.<br/>
- * MDate.java is the most important class. 
+ * Contains the classes Date.java, Month.java and the analyzers<br/>
+ * MonthlyModificationAnalyzer.java and YearlyModificationAnalyzer.java, which<br/>
+ * collect statistical informations about the mdate attribute of publications.
  * 
  */
 /**
@@ -0,0 +1,116 @@
+package org.dblp.parser;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+
+import org.dblp.field.Publication;
+import org.dblp.helper.MyPath;
+import org.dblp.parser.Options.EngineType;
+import org.xml.sax.InputSource;
+
+/**
+ * Checks the steady-state allocation of the per-record path of each parser<br/>
+ * engine: the heap bytes which the parsing thread allocates per publication,<br/>
+ * from the parse of the element to the update of the Field object.<br/>
+ * The same handler parses the XML document several times, so that the<br/>
+ * dictionaries of names and crossrefs are complete; the bytes are measured<br/>
+ * with ThreadMXBean.getThreadAllocatedBytes between the first and the last<br/>
+ * publication of a parse, which leaves out the fixed cost of each parse.<br/>
+ * The path is not allocation-free, which is accepted (see the LIMIT_*<br/>
+ * constants): SAX and StAX hand over the key and mdate attributes as<br/>
+ * Strings, the mapped engine builds the key String, and the unreliable<br/>
+ * names, titles and pages are logged as Strings.<br/>
+ * Usage: AllocationCheck [dblp.xml [rounds]]. Parses DBLPXMLMOCKUP by default.<br/>
+ * Exits with status 1 if an engine allocates more than its limit.
+ * @author SergeOliver
+ *
+ */
+public class AllocationCheck {
+
+	/**
+	 * Number of rounds which are not measured, to let the JIT compiler do its<br/>
+	 * work and the dictionaries fill up.
+	 */
+	private static final int WARMUP = 5;
+
+	/**
+	 * Bytes per publication which SAX and StAX may allocate: about 200 for the<br/>
+	 * key and mdate Strings.
+	 */
+	private static final long LIMIT_SAX_STAX = 256;
+
+	/**
+	 * Bytes per publication which the mapped engine may allocate: about 70 for<br/>
+	 * the key String.
+	 */
+	private static final long LIMIT_MAPPED = 128;
+
+	/**
+	 * Measures the bytes which the parsing thread allocated at each publication.
+	 */
+	static class MeasuringHandler extends PublicationHandler {
+
+		private final com.sun.management.ThreadMXBean threads =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+		int publications;
+
+		/**
+		 * Allocated bytes of the parsing thread at the first and at the last publication.
+		 */
+		long first, last;
+
+		/**
+		 * Begins a new parse.
+		 */
+		void reset(){
+			publications = 0;
+		}
+
+		@Override
+		protected void publish(Publication p){
+			super.publish(p);
+			long bytes = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			if(publications++ == 0)
+				first = bytes;
+			last = bytes;
+		}
+	}
+
+	/**
+	 * @param engine
+	 * @return The limit of the engine in bytes per publication.
+	 */
+	private static long limit(EngineType engine){
+		return (engine == EngineType.MAPPED) ? LIMIT_MAPPED : LIMIT_SAX_STAX;
+	}
+
+	public static void main(String[] args) throws Exception{
+		File file = new File(args.length > 0 ? args[0] : MyPath.DBLPXMLMOCKUP);
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		boolean failed = false;
+		for(EngineType engine : EngineType.values()){
+			MeasuringHandler handler = new MeasuringHandler();
+			ParserEngine parserEngine = engine.newEngine(true);
+			for(int i=0; i<WARMUP; i++)
+				parserEngine.parse(new InputSource(file.toURI().toString()), handler);
+			long bytes = 0;
+			long publications = 0;
+			for(int i=0; i<rounds; i++){
+				handler.reset();
+				parserEngine.parse(new InputSource(file.toURI().toString()), handler);
+				bytes += handler.last - handler.first;
+				publications += handler.publications - 1;
+			}
+			if(publications <= 0)
+				throw new IllegalArgumentException(file+" has less than two publications");
+			long perPublication = bytes / publications;
+			boolean passed = perPublication <= limit(engine);
+			failed |= !passed;
+			System.out.printf("%-6s %6d bytes/publication (limit %d) %s\n", engine, perPublication, limit(engine),
+					passed ? "ok" : "FAILED");
+		}
+		if(failed)
+			System.exit(1);
+	}
+}
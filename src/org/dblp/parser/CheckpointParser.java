@@ -0,0 +1,284 @@
+package org.dblp.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.dblp.field.Page;
+import org.dblp.field.Person;
+import org.dblp.field.Publication;
+import org.dblp.field.PublicationRecord;
+import org.dblp.field.Title;
+import org.dblp.parser.Options.EngineType;
+import org.xml.sax.SAXException;
+
+/**
+ * Parses the dblp XML document with one thread and writes checkpoints, so<br/>
+ * that a run which was killed (crash, out of memory) can be resumed.<br/>
+ * The document is split in parts of about the same size which start and end<br/>
+ * on the boundary of publication elements (see XmlChunk). After each part,<br/>
+ * a checkpoint is appended to the checkpoint file: the contribution of the<br/>
+ * publications of the part to the statistical data (PublicationRecord), the<br/>
+ * unreliable names, titles and pages logged since the previous checkpoint<br/>
+ * and the offset at which the next part begins.<br/>
+ * A resumed run adds the contributions of all checkpoints to its Field<br/>
+ * object, restores the unreliable entries and goes on parsing at the<br/>
+ * offset of the last checkpoint, so its result is the same as the result of<br/>
+ * a run which was not interrupted. A checkpoint which was not written<br/>
+ * completely is recognized by its length and checksum and ignored; a file<br/>
+ * which was cut off in its header is parsed again from the beginning.
+ * @author SergeOliver
+ *
+ */
+public class CheckpointParser {
+
+	/**
+	 * Begins the checkpoint file, followed by the version of the format.
+	 */
+	private static final int MAGIC = 0x64626c63, VERSION = 1;
+
+	/**
+	 * Length of the header of the checkpoint file: magic number, version,<br/>
+	 * length and modification time of the XML document.
+	 */
+	private static final int HEADER = 4 + 4 + 8 + 8;
+
+	private final File dblpxml;
+
+	private final File checkpointFile;
+
+	/**
+	 * Number of bytes of the XML document between two checkpoints.
+	 */
+	private final long interval;
+
+	private final EngineType engine;
+
+	/**
+	 * Take the entities from DblpDtd instead of loading the DTD file?
+	 */
+	private final boolean builtInDtd;
+
+	/**
+	 * Go on with the run saved in the checkpoint file?
+	 */
+	private final boolean resume;
+
+	private final RecordingHandler handler = new RecordingHandler();
+
+	/**
+	 * Unreliable names, titles and pages which are already in the checkpoint file.
+	 */
+	private final Set<String> savedNames = new HashSet<>(), savedTitles = new HashSet<>(), savedPages = new HashSet<>();
+
+	/**
+	 * @param dblpxml: XML document to be parsed.
+	 * @param options: checkpoint file, interval, resume, engine and DTD.
+	 */
+	public CheckpointParser(String dblpxml, Options options){
+		this.dblpxml = new File(dblpxml);
+		this.checkpointFile = new File(options.getCheckpoint());
+		this.interval = options.getCheckpointInterval() * (1L << 20);
+		this.engine = options.getEngine();
+		this.builtInDtd = options.isBuiltInDtd();
+		this.resume = options.isResume();
+	}
+
+	/**
+	 * Parses the XML document from the beginning, or from the last checkpoint<br/>
+	 * if the run is resumed, and writes a checkpoint after each part.
+	 * @return The handler whose Field object contains the result of<br/>
+	 * the whole document. They have to be merged like the results of a<br/>
+	 * ParallelParser.
+	 * @throws ParserConfigurationException
+	 * @throws SAXException
+	 * @throws IOException if the checkpoint file cannot be read or written,<br/>
+	 * or belongs to another XML document.
+	 */
+	public List<PublicationHandler> parse() throws ParserConfigurationException, SAXException, IOException{
+		boolean resumed = resume && checkpointFile.length() >= HEADER;
+		if(!resumed){
+			if(resume && checkpointFile.length() > 0)
+				System.out.println(checkpointFile+" has no complete header, parsing from the beginning of "+dblpxml);
+			writeHeader();
+		}
+		try(RandomAccessFile out = new RandomAccessFile(checkpointFile, "rw")){
+			long position = 0;
+			if(resumed){
+				position = load(out);
+				System.out.println("Resuming at byte "+position+" of "+dblpxml);
+			}else{
+				out.seek(HEADER);
+			}
+			ParserEngine parserEngine = engine.newEngine(builtInDtd);
+			for(XmlChunk chunk : XmlChunk.split(dblpxml, position, interval)){
+				chunk.parse(parserEngine, handler);
+				save(out, chunk.getEnd());
+			}
+		}
+		List<PublicationHandler> result = new ArrayList<>();
+		result.add(handler);
+		return result;
+	}
+
+	/**
+	 * Begins a new checkpoint file with its header. The header is written in a<br/>
+	 * temporary file which then replaces the checkpoint file, so that a crash<br/>
+	 * leaves either the previous file or a complete header, never a part of it.
+	 * @throws IOException
+	 */
+	private void writeHeader() throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER);
+		DataOutputStream data = new DataOutputStream(bytes);
+		data.writeInt(MAGIC);
+		data.writeInt(VERSION);
+		data.writeLong(dblpxml.length());
+		data.writeLong(dblpxml.lastModified());
+		data.flush();
+		File temporary = new File(checkpointFile.getPath()+".tmp");
+		try(RandomAccessFile out = new RandomAccessFile(temporary, "rw")){
+			out.setLength(0);
+			out.write(bytes.toByteArray());
+			out.getFD().sync();
+		}
+		Files.move(temporary.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Adds the contributions of all complete checkpoints to the handler and<br/>
+	 * cuts an incomplete checkpoint off the end of the file.
+	 * @param in: checkpoint file, with a complete header (see writeHeader).
+	 * @return Offset in the XML document at which the parse goes on.
+	 * @throws IOException if the file is not a checkpoint file or belongs to<br/>
+	 * another version of the XML document.
+	 */
+	private long load(RandomAccessFile in) throws IOException{
+		if(in.readInt() != MAGIC || in.readInt() != VERSION)
+			throw new IOException(checkpointFile+" is not a checkpoint file");
+		if(in.readLong() != dblpxml.length() || in.readLong() != dblpxml.lastModified())
+			throw new IOException(checkpointFile+" belongs to another version of "+dblpxml);
+		long position = 0;
+		long end = HEADER;
+		while(end + 12 <= in.length()){
+			int length = in.readInt();
+			long checksum = in.readLong();
+			if(length < 0 || end + 12 + length > in.length())
+				break;
+			byte[] checkpoint = new byte[length];
+			in.readFully(checkpoint);
+			CRC32 crc = new CRC32();
+			crc.update(checkpoint);
+			if(crc.getValue() != checksum)
+				break;
+			position = apply(new DataInputStream(new ByteArrayInputStream(checkpoint)));
+			end += 12 + length;
+		}
+		in.setLength(end);
+		in.seek(end);
+		return position;
+	}
+
+	/**
+	 * Adds the contributions and the unreliable entries of one checkpoint.
+	 * @param in
+	 * @return Offset at which the next part begins.
+	 * @throws IOException
+	 */
+	private long apply(DataInputStream in) throws IOException{
+		int size = in.readInt();
+		for(int i=0; i<size; i++){
+			PublicationRecord record = PublicationRecord.read(in);
+			handler.getField().add(record);
+		}
+		readEntries(in, Person.getSetOfUnreliableName(), savedNames);
+		readEntries(in, Title.getSetOfUnreliableTitle(), savedTitles);
+		readEntries(in, Page.getSetOfUnreliablePage(), savedPages);
+		return in.readLong();
+	}
+
+	/**
+	 * Appends a checkpoint with the publications parsed since the previous one.
+	 * @param out: checkpoint file.
+	 * @param position: offset at which the next part begins.
+	 * @throws IOException
+	 */
+	private void save(RandomAccessFile out, long position) throws IOException{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream data = new DataOutputStream(bytes);
+		data.writeInt(handler.records.size());
+		for(PublicationRecord record : handler.records)
+			record.write(data);
+		writeEntries(data, Person.getSetOfUnreliableName(), savedNames);
+		writeEntries(data, Title.getSetOfUnreliableTitle(), savedTitles);
+		writeEntries(data, Page.getSetOfUnreliablePage(), savedPages);
+		data.writeLong(position);
+		data.flush();
+		byte[] checkpoint = bytes.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(checkpoint);
+		out.writeInt(checkpoint.length);
+		out.writeLong(crc.getValue());
+		out.write(checkpoint);
+		out.getFD().sync();//the checkpoint has to survive a crash of the machine
+		handler.records.clear();
+	}
+
+	private static void readEntries(DataInputStream in, Set<String> entries, Set<String> saved) throws IOException{
+		int size = in.readInt();
+		for(int i=0; i<size; i++){
+			String entry = in.readUTF();
+			entries.add(entry);
+			saved.add(entry);
+		}
+	}
+
+	/**
+	 * Writes the entries which are not in the checkpoint file yet.
+	 */
+	private static void writeEntries(DataOutputStream out, Set<String> entries, Set<String> saved) throws IOException{
+		List<String> news = new ArrayList<>();
+		synchronized(entries){
+			for(String entry : entries){
+				if(saved.add(entry))
+					news.add(entry);
+			}
+		}
+		out.writeInt(news.size());
+		for(String entry : news)
+			out.writeUTF(entry);
+	}
+
+	/**
+	 * Keeps the contributions of the publications parsed since the last checkpoint.
+	 */
+	private static class RecordingHandler extends PublicationHandler {
+
+		private final List<PublicationRecord> records = new ArrayList<>();
+
+		/**
+		 * Reads all fields: a resumed run may select other analyzers.
+		 */
+		RecordingHandler(){
+			project(null);
+		}
+
+		@Override
+		protected void publish(Publication p){
+			super.publish(p);
+			records.add(new PublicationRecord(p));
+		}
+	}
+}
@@ -0,0 +1,398 @@
+package org.dblp.parser;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dblp.field.Field;
+import org.dblp.field.Page;
+import org.dblp.field.Person;
+import org.dblp.field.Publication;
+import org.dblp.field.PublicationRecord;
+import org.dblp.field.Title;
+import org.dblp.helper.IntKey;
+
+/**
+ * Facts of all publications of the dblp XML document which the analyzers<br/>
+ * need, stored column by column in a file which is read<br/>
+ * through a memory mapping.<br/>
+ * A parse exports the snapshot once (see add and write). Later runs build<br/>
+ * their Field object from the snapshot (see load) instead of<br/>
+ * parsing the XML document again, so a changed chart or threshold is<br/>
+ * displayed in seconds.<br/>
+ * Layout of the file (big endian): magic number and version, the sections<br/>
+ * listed below, then a directory with the offset of each section and, in the<br/>
+ * last four bytes, the offset of the directory. A column has one value per<br/>
+ * publication: a byte, an int, or the id of a string in a dictionary.<br/>
+ * Strings are stored as a table: number of strings, number + 1 offsets and<br/>
+ * the UTF-8 bytes. The unreliable names, titles and pages which were logged<br/>
+ * during the export are stored as tables too.<br/>
+ * The whole file is mapped at once, so it cannot be larger than 2 GB.
+ * @author SergeOliver
+ *
+ */
+public class ColumnarSnapshot {
+
+	private static final int MAGIC = 0x64626c73, VERSION = 2;
+
+	/**
+	 * Stands for a missing number, e.g. the number of words of a publication<br/>
+	 * without title, or a missing string, e.g. a publication without crossref.
+	 */
+	private static final int NONE = Integer.MIN_VALUE;
+
+	/**
+	 * Sections of the file.
+	 */
+	private static final int TYPE_IDS = 0, KEYS = 1, MDATE_IDS = 2, NUMBER_OF_FIELDS = 3, YEARS = 4,
+			TITLE_WORDS = 5, TITLE_CHARACTERS = 6, EE = 7, CROSSREF_IDS = 8, PAGES = 9,
+			PERSON_STARTS = 10, PERSON_IDS = 11, TYPES = 12, MDATES = 13, CROSSREFS = 14, PERSONS = 15,
+			UNRELIABLE_NAMES = 16, UNRELIABLE_TITLES = 17, UNRELIABLE_PAGES = 18, SECTIONS = 19;
+
+	private final Dictionary types = new Dictionary();
+	private final Dictionary mdates = new Dictionary();
+	private final Dictionary crossrefs = new Dictionary();
+	private final Dictionary persons = new Dictionary();
+
+	private final ByteArrayOutputStream ee = new ByteArrayOutputStream();
+	private final ByteArrayOutputStream keyBytes = new ByteArrayOutputStream();
+	private final IntColumn typeIds = new IntColumn();
+	private final IntColumn keyStarts = new IntColumn();
+	private final IntColumn mdateIds = new IntColumn();
+	private final IntColumn numberOfFields = new IntColumn();
+	private final IntColumn years = new IntColumn();
+	private final IntColumn titleWords = new IntColumn();
+	private final IntColumn titleCharacters = new IntColumn();
+	private final IntColumn crossrefIds = new IntColumn();
+	private final IntColumn pages = new IntColumn();
+	private final IntColumn personStarts = new IntColumn();
+	private final IntColumn personIds = new IntColumn();
+
+	public ColumnarSnapshot(){
+		keyStarts.add(0);
+		personStarts.add(0);
+	}
+
+	/**
+	 * Adds the facts of a publication which was given to Field.update.
+	 * @param publication
+	 */
+	public void add(Publication publication){
+		typeIds.add(types.id(publication.getType()));
+		byte[] key = (publication.getKey() == null) ? new byte[0] : publication.getKey().getBytes(StandardCharsets.UTF_8);
+		keyBytes.write(key, 0, key.length);
+		keyStarts.add(keyBytes.size());
+		mdateIds.add(mdates.id(publication.getMdate()));
+		numberOfFields.add(publication.getNumberOfFields());
+		years.add(publication.getYear().getIntKeyValue());
+		Title title = publication.getTitle();
+		titleWords.add((title == null) ? NONE : title.getWords().getIntKeyValue());
+		titleCharacters.add((title == null) ? NONE : title.getCharacters().getIntKeyValue());
+		ee.write(publication.hasEe() ? 1 : 0);
+		crossrefIds.add(crossrefs.id(publication.getCrossref()));
+		pages.add((publication.getPage() == null) ? NONE : publication.getPage().getPages().getIntKeyValue());
+		for(Person person : publication.getPersons())
+			personIds.add(persons.id(person.getName()));
+		personStarts.add(personIds.size);
+	}
+
+	/**
+	 * Writes the snapshot with the unreliable names, titles and pages logged so far.
+	 * @param file
+	 * @throws IOException
+	 */
+	public void write(File file) throws IOException{
+		int[] offsets = new int[SECTIONS];
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))){
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(numberOfFields.size);
+			offsets[TYPE_IDS] = writeInts(out, typeIds);
+			offsets[KEYS] = out.size();
+			writeStrings(out, keyStarts, keyBytes.toByteArray());
+			offsets[MDATE_IDS] = writeInts(out, mdateIds);
+			offsets[NUMBER_OF_FIELDS] = writeInts(out, numberOfFields);
+			offsets[YEARS] = writeInts(out, years);
+			offsets[TITLE_WORDS] = writeInts(out, titleWords);
+			offsets[TITLE_CHARACTERS] = writeInts(out, titleCharacters);
+			offsets[EE] = out.size();
+			ee.writeTo(out);
+			offsets[CROSSREF_IDS] = writeInts(out, crossrefIds);
+			offsets[PAGES] = writeInts(out, pages);
+			offsets[PERSON_STARTS] = writeInts(out, personStarts);
+			offsets[PERSON_IDS] = writeInts(out, personIds);
+			offsets[TYPES] = writeStrings(out, types.values);
+			offsets[MDATES] = writeStrings(out, mdates.values);
+			offsets[CROSSREFS] = writeStrings(out, crossrefs.values);
+			offsets[PERSONS] = writeStrings(out, persons.values);
+			offsets[UNRELIABLE_NAMES] = writeStrings(out, copy(Person.getSetOfUnreliableName()));
+			offsets[UNRELIABLE_TITLES] = writeStrings(out, copy(Title.getSetOfUnreliableTitle()));
+			offsets[UNRELIABLE_PAGES] = writeStrings(out, copy(Page.getSetOfUnreliablePage()));
+			int directory = out.size();
+			for(int offset : offsets)
+				out.writeInt(offset);
+			out.writeInt(directory);
+			if(out.size() < 0)//DataOutputStream.size overflowed
+				throw new IOException("The snapshot is larger than 2 GB");
+		}
+	}
+
+	/**
+	 * Adds all publications of a snapshot to the statistical data and<br/>
+	 * restores the unreliable names, titles and pages.
+	 * @param file: snapshot written by write.
+	 * @param field
+	 * @return The number of publications.
+	 * @throws IOException
+	 */
+	public static int load(File file, Field field) throws IOException{
+		return load(file, field, null);
+	}
+
+	/**
+	 * Adds the publications of a snapshot which the filter accepts to the<br/>
+	 * statistical data and restores their unreliable names, titles and pages.<br/>
+	 * The type, key and year columns are checked before the other columns of<br/>
+	 * a publication are read.
+	 * @param file: snapshot written by write.
+	 * @param field
+	 * @param filter: selects the publications, or null to add all of them.
+	 * @return The number of publications which were added.
+	 * @throws IOException
+	 */
+	public static int load(File file, Field field, RecordFilter filter) throws IOException{
+		MappedByteBuffer buffer;
+		try(RandomAccessFile raf = new RandomAccessFile(file, "r")){
+			if(raf.length() > Integer.MAX_VALUE)
+				throw new IOException("The snapshot is larger than 2 GB");
+			buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+		}
+		if(buffer.limit() < 16 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+			throw new IOException(file+" is not a snapshot");
+		int rows = buffer.getInt(8);
+		int directory = buffer.getInt(buffer.limit() - 4);
+		int[] offsets = new int[SECTIONS];
+		for(int i=0; i<SECTIONS; i++)
+			offsets[i] = buffer.getInt(directory + 4 * i);
+
+		String[] typeNames = new Strings(buffer, offsets[TYPES]).toArray();
+		for(int i=0; i<typeNames.length; i++)
+			typeNames[i] = typeNames[i].intern();
+		String[] mdateNames = new Strings(buffer, offsets[MDATES]).toArray();
+		String[] crossrefNames = new Strings(buffer, offsets[CROSSREFS]).toArray();
+		String[] personNames = new Strings(buffer, offsets[PERSONS]).toArray();
+		Person[] personObjects = new Person[personNames.length];
+		for(int i=0; i<personNames.length; i++)
+			personObjects[i] = new Person(personNames[i]);
+
+		Strings keys = new Strings(buffer, offsets[KEYS]);
+		IntBuffer typeColumn = ints(buffer, offsets[TYPE_IDS]);
+		IntBuffer mdateColumn = ints(buffer, offsets[MDATE_IDS]);
+		IntBuffer fieldColumn = ints(buffer, offsets[NUMBER_OF_FIELDS]);
+		IntBuffer yearColumn = ints(buffer, offsets[YEARS]);
+		IntBuffer wordColumn = ints(buffer, offsets[TITLE_WORDS]);
+		IntBuffer characterColumn = ints(buffer, offsets[TITLE_CHARACTERS]);
+		IntBuffer crossrefColumn = ints(buffer, offsets[CROSSREF_IDS]);
+		IntBuffer pageColumn = ints(buffer, offsets[PAGES]);
+		IntBuffer personStartColumn = ints(buffer, offsets[PERSON_STARTS]);
+		IntBuffer personColumn = ints(buffer, offsets[PERSON_IDS]);
+		Set<String> acceptedKeys = new HashSet<>();
+		int added = 0;
+		for(int row=0; row<rows; row++){
+			String type = string(typeNames, typeColumn.get(row));
+			String key = keys.get(row);
+			if(filter != null){
+				if(!filter.accept(type, key) || !filter.acceptYear(yearColumn.get(row)))
+					continue;
+				acceptedKeys.add(key);
+			}
+			Person[] rowPersons = new Person[personStartColumn.get(row + 1) - personStartColumn.get(row)];
+			for(int j=0; j<rowPersons.length; j++)
+				rowPersons[j] = personObjects[personColumn.get(personStartColumn.get(row) + j)];
+			PublicationRecord record = new PublicationRecord(
+					type,
+					key,
+					string(mdateNames, mdateColumn.get(row)),
+					fieldColumn.get(row),
+					IntKey.valueOf(yearColumn.get(row)),
+					rowPersons,
+					intKey(wordColumn.get(row)),
+					intKey(characterColumn.get(row)),
+					buffer.get(offsets[EE] + row) != 0,
+					string(crossrefNames, crossrefColumn.get(row)),
+					intKey(pageColumn.get(row)));
+			field.add(record);
+			++added;
+		}
+		restore(new Strings(buffer, offsets[UNRELIABLE_NAMES]), Person.getSetOfUnreliableName(), filter, acceptedKeys);
+		restore(new Strings(buffer, offsets[UNRELIABLE_TITLES]), Title.getSetOfUnreliableTitle(), filter, acceptedKeys);
+		restore(new Strings(buffer, offsets[UNRELIABLE_PAGES]), Page.getSetOfUnreliablePage(), filter, acceptedKeys);
+		return added;
+	}
+
+	/**
+	 * Restores the unreliable entries of the publications which were added.
+	 * @param saved: entries of the snapshot. They end with "[Key: key]".
+	 * @param entries: set of the unreliable entries.
+	 * @param filter or null if all publications were added.
+	 * @param acceptedKeys: keys of the publications which the filter accepted.
+	 */
+	private static void restore(Strings saved, Set<String> entries, RecordFilter filter, Set<String> acceptedKeys){
+		if(filter == null){
+			entries.addAll(Arrays.asList(saved.toArray()));
+			return;
+		}
+		for(String entry : saved.toArray()){
+			int start = entry.lastIndexOf("[Key: ");
+			String key = (start < 0) ? "" : entry.substring(start + 6, entry.length() - 1);
+			if(acceptedKeys.contains(key))
+				entries.add(entry);
+		}
+	}
+
+	private static IntBuffer ints(ByteBuffer buffer, int offset){
+		ByteBuffer section = buffer.duplicate();
+		section.position(offset);
+		return section.slice().asIntBuffer();
+	}
+
+	private static String string(String[] dictionary, int id){
+		return (id == NONE) ? null : dictionary[id];
+	}
+
+	private static IntKey intKey(int value){
+		return (value == NONE) ? null : IntKey.valueOf(value);
+	}
+
+	/**
+	 * @return Offset of the column.
+	 */
+	private static int writeInts(DataOutputStream out, IntColumn column) throws IOException{
+		int offset = out.size();
+		for(int i=0; i<column.size; i++)
+			out.writeInt(column.values[i]);
+		return offset;
+	}
+
+	/**
+	 * @return Offset of the table.
+	 */
+	private static int writeStrings(DataOutputStream out, List<String> strings) throws IOException{
+		IntColumn starts = new IntColumn();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		starts.add(0);
+		for(String s : strings){
+			byte[] b = s.getBytes(StandardCharsets.UTF_8);
+			bytes.write(b, 0, b.length);
+			starts.add(bytes.size());
+		}
+		return writeStrings(out, starts, bytes.toByteArray());
+	}
+
+	private static int writeStrings(DataOutputStream out, IntColumn starts, byte[] bytes) throws IOException{
+		int offset = out.size();
+		out.writeInt(starts.size - 1);
+		writeInts(out, starts);
+		out.write(bytes);
+		return offset;
+	}
+
+	private static List<String> copy(Set<String> set){
+		synchronized(set){
+			return new ArrayList<>(set);
+		}
+	}
+
+	/**
+	 * Gives each distinct string an id, in the order of their first appearance.
+	 */
+	private static class Dictionary {
+
+		private final Map<String, Integer> ids = new HashMap<>();
+
+		private final List<String> values = new ArrayList<>();
+
+		/**
+		 * @param value
+		 * @return The id of the value, or NONE for null.
+		 */
+		int id(String value){
+			if(value == null) return NONE;
+			Integer id = ids.get(value);
+			if(id == null){
+				id = values.size();
+				ids.put(value, id);
+				values.add(value);
+			}
+			return id;
+		}
+	}
+
+	/**
+	 * Growing array of int values.
+	 */
+	private static class IntColumn {
+
+		private int[] values = new int[1024];
+
+		private int size = 0;
+
+		void add(int value){
+			if(size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			values[size++] = value;
+		}
+	}
+
+	/**
+	 * Table of strings inside the mapped file.
+	 */
+	private static class Strings {
+
+		private final int count;
+
+		private final IntBuffer starts;
+
+		private final ByteBuffer bytes;
+
+		Strings(ByteBuffer buffer, int offset){
+			count = buffer.getInt(offset);
+			starts = ints(buffer, offset + 4);
+			ByteBuffer b = buffer.duplicate();
+			b.position(offset + 4 + 4 * (count + 1));
+			bytes = b.slice();
+		}
+
+		String get(int i){
+			int start = starts.get(i);
+			byte[] b = new byte[starts.get(i + 1) - start];
+			ByteBuffer source = bytes.duplicate();
+			source.position(start);
+			source.get(b);
+			return new String(b, StandardCharsets.UTF_8);
+		}
+
+		String[] toArray(){
+			String[] strings = new String[count];
+			for(int i=0; i<count; i++)
+				strings[i] = get(i);
+			return strings;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package org.dblp.parser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.dblp.helper.MyPath;
+import org.dblp.parser.EngineBenchmark.CountingHandler;
+import org.dblp.parser.Options.EngineType;
+import org.xml.sax.InputSource;
+
+/**
+ * Compares the wall time of parsing the compressed XML document (dblp.xml.gz)<br/>
+ * with the wall time of parsing the uncompressed XML document (dblp.xml).<br/>
+ * The compressed document is created next to the XML document if it does not<br/>
+ * exist. Also reports how long the parser waited for the decompression thread<br/>
+ * and how long the decompression thread waited for the parser: the wall time<br/>
+ * of the compressed run is the one of the slower of both threads.<br/>
+ * Usage: CompressionBenchmark [dblp.xml [rounds]]. Parses DBLPXMLMOCKUP by default.
+ * @author SergeOliver
+ *
+ */
+public class CompressionBenchmark {
+
+	/**
+	 * Number of rounds which are not measured, to let the JIT compiler do its work.
+	 */
+	private static final int WARMUP = 3;
+
+	/**
+	 * Writes the gzip compressed copy of the XML document.
+	 * @param xml
+	 * @param gz
+	 * @throws IOException
+	 */
+	private static void compress(File xml, File gz) throws IOException{
+		byte[] buffer = new byte[1 << 16];
+		try(InputStream in = new FileInputStream(xml); OutputStream out = new GZIPOutputStream(new FileOutputStream(gz), 1 << 16)){
+			int n;
+			while((n = in.read(buffer)) >= 0)
+				out.write(buffer, 0, n);
+		}
+	}
+
+	/**
+	 * Parses the document once.
+	 * @param file: compressed or uncompressed XML document.
+	 * @param engine
+	 * @param waits: receives the wait times of the parser and of the decompression <br/>
+	 * in milliseconds for a compressed document.
+	 * @return Wall time in milliseconds.
+	 * @throws Exception
+	 */
+	private static long parse(File file, EngineType engine, long[] waits) throws Exception{
+		long start = System.nanoTime();
+		CountingHandler handler = new CountingHandler();
+		if(PipelinedGzipInputStream.isCompressed(file.getName())){
+			try(PipelinedGzipInputStream in = new PipelinedGzipInputStream(file)){
+				InputSource source = new InputSource(in);
+				source.setSystemId(file.toURI().toString());
+				engine.newEngine().parse(source, handler);
+				waits[0] += in.getReaderWaitTime();
+				waits[1] += in.getInflaterWaitTime();
+			}
+		}else
+			engine.newEngine().parse(new InputSource(file.toURI().toString()), handler);
+		return (System.nanoTime() - start) / 1000000;
+	}
+
+	public static void main(String[] args) throws Exception{
+		File xml = new File(args.length > 0 ? args[0] : MyPath.DBLPXMLMOCKUP);
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		File gz = new File(xml.getPath()+".gz");
+		if(!gz.exists())
+			compress(xml, gz);
+		System.out.printf("%s: %.2f MB, %s: %.2f MB, %d rounds\n", xml.getName(), xml.length() / (1024.0 * 1024.0),
+				gz.getName(), gz.length() / (1024.0 * 1024.0), rounds);
+		for(EngineType engine : new EngineType[]{EngineType.SAX, EngineType.STAX}){
+			long[] waits = new long[2];
+			for(int i=0; i<WARMUP; i++){
+				parse(xml, engine, waits);
+				parse(gz, engine, waits);
+			}
+			waits = new long[2];
+			long plain = 0, compressed = 0;
+			for(int i=0; i<rounds; i++){//alternates to share the disturbances of the machine
+				plain += parse(xml, engine, waits);
+				compressed += parse(gz, engine, waits);
+			}
+			System.out.printf("%-5s uncompressed %7d ms  compressed %7d ms  (%+.1f%%)  parser waited %d ms, decompression waited %d ms\n",
+					engine, plain / rounds, compressed / rounds, 100.0 * (compressed - plain) / plain,
+					waits[0] / rounds, waits[1] / rounds);
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package org.dblp.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.stream.XMLResolver;
+
+import org.xml.sax.EntityResolver;
+import org.xml.sax.InputSource;
+
+/**
+ * Built-in replacement of dblp.dtd (MyPath.DBLPDTD) for the parser engines.<br/>
+ * dblp.dtd declares the named character entities of ISO 8859-1 (&amp;nbsp; to<br/>
+ * &amp;yuml;, i.e. &amp;#160; to &amp;#255;) which the XML document uses in names<br/>
+ * and titles. DblpDtd gives the parsers a DTD which only contains these entity<br/>
+ * declarations, generated in memory, whenever they ask for an external entity:<br/>
+ * the DTD file is never fetched, so the location of the DTD does not matter.<br/>
+ * No element is declared, so nothing can be validated and white spaces<br/>
+ * between the fields are reported as characters (see PublicationHandler).<br/>
+ * The MappedEngine uses the same entities through EntityTable.builtIn().
+ * @author SergeOliver
+ *
+ */
+public class DblpDtd implements EntityResolver, XMLResolver {
+
+	/**
+	 * Names of the entities declared in dblp.dtd. ENTITY_NAMES[i] is the<br/>
+	 * character i + FIRST_CHARACTER.
+	 */
+	static final String[] ENTITY_NAMES = {
+		"nbsp", "iexcl", "cent", "pound", "curren", "yen", "brvbar", "sect",
+		"uml", "copy", "ordf", "laquo", "not", "shy", "reg", "macr",
+		"deg", "plusmn", "sup2", "sup3", "acute", "micro", "para", "middot",
+		"cedil", "sup1", "ordm", "raquo", "frac14", "frac12", "frac34", "iquest",
+		"Agrave", "Aacute", "Acirc", "Atilde", "Auml", "Aring", "AElig", "Ccedil",
+		"Egrave", "Eacute", "Ecirc", "Euml", "Igrave", "Iacute", "Icirc", "Iuml",
+		"ETH", "Ntilde", "Ograve", "Oacute", "Ocirc", "Otilde", "Ouml", "times",
+		"Oslash", "Ugrave", "Uacute", "Ucirc", "Uuml", "Yacute", "THORN", "szlig",
+		"agrave", "aacute", "acirc", "atilde", "auml", "aring", "aelig", "ccedil",
+		"egrave", "eacute", "ecirc", "euml", "igrave", "iacute", "icirc", "iuml",
+		"eth", "ntilde", "ograve", "oacute", "ocirc", "otilde", "ouml", "divide",
+		"oslash", "ugrave", "uacute", "ucirc", "uuml", "yacute", "thorn", "yuml"
+	};
+
+	/**
+	 * Character of the first entity (&amp;nbsp;).
+	 */
+	static final char FIRST_CHARACTER = 160;
+
+	/**
+	 * Entity declarations of the built-in DTD.
+	 */
+	private static final String DECLARATIONS;
+	static{
+		StringBuilder sb = new StringBuilder();
+		for(int i=0; i<ENTITY_NAMES.length; i++)
+			sb.append("<!ENTITY ").append(ENTITY_NAMES[i]).append(" \"&#").append(FIRST_CHARACTER + i).append(";\" >\n");
+		DECLARATIONS = sb.toString();
+	}
+
+	/**
+	 * Called by a SAX parser for the DTD and any other external entity.
+	 */
+	@Override
+	public InputSource resolveEntity(String publicId, String systemId){
+		InputSource source = new InputSource(new StringReader(DECLARATIONS));
+		source.setPublicId(publicId);
+		source.setSystemId(systemId);
+		return source;
+	}
+
+	/**
+	 * Called by a StAX parser for the DTD and any other external entity.
+	 */
+	@Override
+	public Object resolveEntity(String publicID, String systemID, String baseURI, String namespace){
+		return new ByteArrayInputStream(DECLARATIONS.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * @return The entity declarations of the built-in DTD.
+	 */
+	public static String getDeclarations(){
+		return DECLARATIONS;
+	}
+}
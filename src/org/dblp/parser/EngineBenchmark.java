@@ -0,0 +1,72 @@
+package org.dblp.parser;
+
+import java.io.File;
+
+import org.dblp.field.Publication;
+import org.dblp.helper.MyPath;
+import org.dblp.parser.Options.EngineType;
+import org.xml.sax.InputSource;
+
+/**
+ * Compares the throughput of the parser engines on the same XML document.<br/>
+ * Only the parsing and the update of the Field object are<br/>
+ * measured, no output file is written. Each engine is measured once with<br/>
+ * the DTD file and once with the built-in DTD (see DblpDtd).<br/>
+ * Usage: EngineBenchmark [dblp.xml [rounds]]. Parses DBLPXMLMOCKUP by default.
+ * @author SergeOliver
+ *
+ */
+public class EngineBenchmark {
+
+	/**
+	 * Number of rounds which are not measured, to let the JIT compiler do its work.
+	 */
+	private static final int WARMUP = 5;
+
+	/**
+	 * Counts the publications it receives.
+	 */
+	static class CountingHandler extends PublicationHandler {
+
+		int publications = 0;
+
+		@Override
+		protected void publish(Publication p){
+			++publications;
+			super.publish(p);
+		}
+	}
+
+	/**
+	 * @param engine
+	 * @param builtInDtd: true to take the entities from DblpDtd.
+	 * @param file
+	 * @return Number of publications of the XML document.
+	 * @throws Exception
+	 */
+	private static int parse(EngineType engine, boolean builtInDtd, File file) throws Exception{
+		CountingHandler handler = new CountingHandler();
+		engine.newEngine(builtInDtd).parse(new InputSource(file.toURI().toString()), handler);
+		return handler.publications;
+	}
+
+	public static void main(String[] args) throws Exception{
+		File file = new File(args.length > 0 ? args[0] : MyPath.DBLPXMLMOCKUP);
+		int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+		double megabytes = file.length() / (1024.0 * 1024.0);
+		System.out.printf("%s: %.2f MB, %d rounds\n", file.getName(), megabytes, rounds);
+		for(EngineType engine : EngineType.values()){
+			for(boolean builtInDtd : new boolean[]{false, true}){
+				for(int i=0; i<WARMUP; i++)
+					parse(engine, builtInDtd, file);
+				int publications = 0;
+				long start = System.nanoTime();
+				for(int i=0; i<rounds; i++)
+					publications += parse(engine, builtInDtd, file);
+				double seconds = (System.nanoTime() - start) / 1e9;
+				System.out.printf("%-6s %-12s %8.2f MB/s %10.0f publications/s\n", engine, builtInDtd ? "built-in DTD" : "DTD file",
+						megabytes * rounds / seconds, publications / seconds);
+			}
+		}
+	}
+}
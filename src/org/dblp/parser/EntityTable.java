@@ -0,0 +1,188 @@
+package org.dblp.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Table of the named character entities (e.g. &amp;uuml; -> &amp;#252;) which the<br/>
+ * MappedEngine uses to decode the text of the XML document.<br/>
+ * Contains the five predefined entities of XML and the entities declared<br/>
+ * in the DTD. Entity names are looked up directly from the bytes of the<br/>
+ * document, without creating a string.
+ * @author SergeOliver
+ *
+ */
+public class EntityTable {
+
+	/**
+	 * Declaration of a general entity in a DTD e.g. &lt;!ENTITY uuml "&amp;#252;" &gt;
+	 */
+	private static final Pattern DECLARATION = Pattern.compile("<!ENTITY\\s+([^%\\s]\\S*)\\s+(\"([^\"]*)\"|'([^']*)')\\s*>");
+
+	/**
+	 * Open addressing hash table: names[i] -> values[i].
+	 */
+	private byte[][] names;
+
+	private String[] values;
+
+	private int size = 0;
+
+	/**
+	 * Creates a table which only contains the predefined entities of XML.
+	 */
+	public EntityTable(){
+		names = new byte[64][];
+		values = new String[64];
+		put("amp", "&");
+		put("lt", "<");
+		put("gt", ">");
+		put("quot", "\"");
+		put("apos", "'");
+	}
+
+	/**
+	 * @param dtd: file which contains the entity declarations.
+	 * @return A table with the predefined entities and the entities declared in the DTD.
+	 * @throws IOException
+	 */
+	public static EntityTable load(File dtd) throws IOException{
+		String text = new String(Files.readAllBytes(dtd.toPath()), StandardCharsets.ISO_8859_1);
+		Map<String, String> declarations = new LinkedHashMap<>();
+		Matcher m = DECLARATION.matcher(text);
+		while(m.find())
+			declarations.put(m.group(1), m.group(3) != null ? m.group(3) : m.group(4));
+		EntityTable table = new EntityTable();
+		for(Entry<String, String> e : declarations.entrySet())
+			table.put(e.getKey(), expand(e.getValue(), declarations, 0));
+		return table;
+	}
+
+	/**
+	 * @return A table with the predefined entities and the entities of dblp.dtd<br/>
+	 * which are built in the application (see DblpDtd).
+	 */
+	public static EntityTable builtIn(){
+		EntityTable table = new EntityTable();
+		for(int i=0; i<DblpDtd.ENTITY_NAMES.length; i++)
+			table.put(DblpDtd.ENTITY_NAMES[i], String.valueOf((char) (DblpDtd.FIRST_CHARACTER + i)));
+		return table;
+	}
+
+	/**
+	 * Replaces the character references and the entity references inside<br/>
+	 * the value of an entity.
+	 * @param value
+	 * @param declarations: entity name -> value not yet expanded.
+	 * @param depth: protects against recursive declarations.
+	 * @return The expanded value.
+	 * @throws IOException for undeclared or recursive entities.
+	 */
+	private static String expand(String value, Map<String, String> declarations, int depth) throws IOException{
+		if(depth > 8)
+			throw new IOException("Recursive entity declaration: "+value);
+		StringBuilder sb = new StringBuilder();
+		int i = 0;
+		while(i < value.length()){
+			char c = value.charAt(i);
+			int end = value.indexOf(';', i);
+			if(c != '&' || end < 0){
+				sb.append(c);
+				++i;
+				continue;
+			}
+			String name = value.substring(i + 1, end);
+			if(name.startsWith("#x"))
+				sb.appendCodePoint(Integer.parseInt(name.substring(2), 16));
+			else if(name.startsWith("#"))
+				sb.appendCodePoint(Integer.parseInt(name.substring(1)));
+			else if(declarations.containsKey(name))
+				sb.append(expand(declarations.get(name), declarations, depth + 1));
+			else{
+				String predefined = new EntityTable().get(name.getBytes(StandardCharsets.ISO_8859_1), 0, name.length());
+				if(predefined == null)
+					throw new IOException("Undeclared entity: "+name);
+				sb.append(predefined);
+			}
+			i = end + 1;
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Adds or replaces an entity.
+	 * @param name
+	 * @param value: the expanded value.
+	 */
+	public void put(String name, String value){
+		if(2 * (size + 1) > names.length)
+			grow();
+		byte[] bytes = name.getBytes(StandardCharsets.ISO_8859_1);
+		int i = indexOf(bytes, 0, bytes.length);
+		if(names[i] == null)
+			++size;
+		names[i] = bytes;
+		values[i] = value;
+	}
+
+	/**
+	 * @param bytes
+	 * @param offset: first byte of the name.
+	 * @param length of the name.
+	 * @return The value of the entity or null if the entity is not declared.
+	 */
+	public String get(byte[] bytes, int offset, int length){
+		return values[indexOf(bytes, offset, length)];
+	}
+
+	public int size(){
+		return size;
+	}
+
+	/**
+	 * @return Index of the name or of the free slot where it would be inserted.
+	 */
+	private int indexOf(byte[] bytes, int offset, int length){
+		int mask = names.length - 1;
+		int i = hash(bytes, offset, length) & mask;
+		while(names[i] != null && !equals(names[i], bytes, offset, length))
+			i = (i + 1) & mask;
+		return i;
+	}
+
+	private static int hash(byte[] bytes, int offset, int length){
+		int h = 0;
+		for(int i=offset; i<offset+length; i++)
+			h = 31 * h + bytes[i];
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean equals(byte[] name, byte[] bytes, int offset, int length){
+		if(name.length != length) return false;
+		for(int i=0; i<length; i++){
+			if(name[i] != bytes[offset + i]) return false;
+		}
+		return true;
+	}
+
+	private void grow(){
+		byte[][] oldNames = names;
+		String[] oldValues = values;
+		names = new byte[oldNames.length * 2][];
+		values = new String[oldNames.length * 2];
+		for(int i=0; i<oldNames.length; i++){
+			if(oldNames[i] != null){
+				int j = indexOf(oldNames[i], 0, oldNames[i].length);
+				names[j] = oldNames[i];
+				values[j] = oldValues[i];
+			}
+		}
+	}
+}
@@ -0,0 +1,40 @@
+package org.dblp.parser;
+
+import org.dblp.field.Publication;
+
+/**
+ * Receives the SAX events of one kind of field element (level 3 of the dblp<br/>
+ * XML tree, e.g. &lt;author&gt;) and stores its data in the publication.<br/>
+ * A PublicationHandler calls exactly one FieldHandler per event, chosen by<br/>
+ * the id of the element name (see PublicationHandler.register), so a new<br/>
+ * field is analyzed by registering a handler for its element name.<br/>
+ * Does nothing; subclasses override the events they need.
+ * @author SergeOliver
+ *
+ */
+public class FieldHandler {
+
+	/**
+	 * Called at the start tag of the element.
+	 * @param publication which is being parsed.
+	 */
+	public void start(Publication publication){
+	}
+
+	/**
+	 * Called for the character data inside the element.
+	 * @param publication which is being parsed.
+	 * @param ch
+	 * @param start
+	 * @param length
+	 */
+	public void characters(Publication publication, char[] ch, int start, int length){
+	}
+
+	/**
+	 * Called at the end tag of the element.
+	 * @param publication which is being parsed.
+	 */
+	public void end(Publication publication){
+	}
+}
@@ -0,0 +1,240 @@
+package org.dblp.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.dblp.field.Field;
+import org.dblp.field.Page;
+import org.dblp.field.Person;
+import org.dblp.field.Publication;
+import org.dblp.field.PublicationRecord;
+import org.dblp.field.Title;
+
+/**
+ * Result of the previous run of the incremental mode, which is saved in a file.<br/>
+ * Contains the contribution of each publication to the statistical data<br/>
+ * (PublicationRecord) by key, and the unreliable names, titles and pages<br/>
+ * which were logged. The statistical data (Field) are built again<br/>
+ * from the contributions when the file is loaded, which is much cheaper<br/>
+ * than parsing the publications.<br/>
+ * On the next run, a publication whose key and modification date (mdate)<br/>
+ * did not change is skipped before its content is read (see accept). A<br/>
+ * changed publication is taken out of the statistical data and parsed again,<br/>
+ * a new one is parsed, and a publication which is no longer in the XML<br/>
+ * document is taken out at the end (see finish). So the statistical data<br/>
+ * are the same as after a full run.<br/>
+ * Keys are expected to be unique; a key which appears several times in the<br/>
+ * document gets a number, e.g. "key#1", to keep the publications apart.
+ * @author SergeOliver
+ *
+ */
+public class IncrementalState {
+
+	/**
+	 * Begins the file, followed by the version of the format.
+	 */
+	private static final int MAGIC = 0x64626c70, VERSION = 1;
+
+	private final Field field = new Field();
+
+	/**
+	 * List of (key -> contribution of the publication) pairs.
+	 */
+	private final Map<String, PublicationRecord> records = new HashMap<>();
+
+	/**
+	 * Unreliable names, titles and pages logged by the previous runs.
+	 */
+	private Set<String> unreliableNames = new TreeSet<>();
+
+	private Set<String> unreliableTitles = new TreeSet<>();
+
+	private Set<String> unreliablePages = new TreeSet<>();
+
+	/**
+	 * Keys of the publications of the XML document which is being parsed.
+	 */
+	private final Set<String> seen = new HashSet<>();
+
+	/**
+	 * Keys of the publications which were taken out of the statistical data.
+	 */
+	private final Set<String> retractedKeys = new HashSet<>();
+
+	/**
+	 * Key of the publication which is being parsed.
+	 */
+	private String current;
+
+	private int added, changed, removed, unchanged;
+
+	/**
+	 * @param file: file of the previous run.
+	 * @return The state of the previous run, or an empty state if the file<br/>
+	 * does not exist (first run).
+	 * @throws IOException if the file cannot be read.
+	 */
+	public static IncrementalState load(File file) throws IOException{
+		IncrementalState state = new IncrementalState();
+		if(!file.exists())
+			return state;
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16))){
+			if(in.readInt() != MAGIC || in.readInt() != VERSION)
+				throw new IOException(file+" was not written by the incremental mode");
+			int size = in.readInt();
+			for(int i=0; i<size; i++){
+				String id = in.readUTF();
+				PublicationRecord record = PublicationRecord.read(in);
+				state.records.put(id, record);
+				state.field.add(record);
+			}
+			readSet(in, state.unreliableNames);
+			readSet(in, state.unreliableTitles);
+			readSet(in, state.unreliablePages);
+		}
+		return state;
+	}
+
+	/**
+	 * @param file in which the state is saved for the next run.
+	 * @throws IOException
+	 */
+	public void save(File file) throws IOException{
+		try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16))){
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(records.size());
+			for(Entry<String, PublicationRecord> e : records.entrySet()){
+				out.writeUTF(e.getKey());
+				e.getValue().write(out);
+			}
+			writeSet(out, unreliableNames);
+			writeSet(out, unreliableTitles);
+			writeSet(out, unreliablePages);
+		}
+	}
+
+	private static void readSet(DataInputStream in, Set<String> set) throws IOException{
+		int size = in.readInt();
+		for(int i=0; i<size; i++)
+			set.add(in.readUTF());
+	}
+
+	private static void writeSet(DataOutputStream out, Set<String> set) throws IOException{
+		out.writeInt(set.size());
+		for(String s : set)
+			out.writeUTF(s);
+	}
+
+	/**
+	 * Called at the start tag of each publication.<br/>
+	 * Takes a changed publication out of the statistical data.
+	 * @param key of the publication.
+	 * @param mdate: modification date of the publication or null.
+	 * @return False if the publication did not change since the previous run<br/>
+	 * and true if it has to be parsed.
+	 */
+	public boolean accept(String key, String mdate){
+		if(key == null)
+			key = "";
+		current = key;
+		for(int n=1; !seen.add(current); n++)
+			current = key+"#"+n;
+		PublicationRecord record = records.get(current);
+		if(record == null){
+			++added;
+			return true;
+		}
+		if(mdate == null ? record.getMdate() == null : mdate.equals(record.getMdate())){
+			++unchanged;
+			return false;
+		}
+		retract(current, record);
+		++changed;
+		return true;
+	}
+
+	/**
+	 * Stores the contribution of the publication which was accepted and published.
+	 * @param publication
+	 */
+	public void add(Publication publication){
+		records.put(current, new PublicationRecord(publication));
+	}
+
+	/**
+	 * Takes a publication out of the statistical data.
+	 * @param id: key of the publication in records.
+	 * @param record
+	 */
+	private void retract(String id, PublicationRecord record){
+		field.retract(record);
+		records.remove(id);
+		retractedKeys.add(record.getKey());
+	}
+
+	/**
+	 * Called at the end of the XML document, before the result is displayed.<br/>
+	 * Takes the publications which are no longer in the XML document out of<br/>
+	 * the statistical data. Logs again the unreliable names, titles and pages<br/>
+	 * of the publications which were skipped.
+	 */
+	public void finish(){
+		Iterator<Entry<String, PublicationRecord>> it = records.entrySet().iterator();
+		while(it.hasNext()){
+			Entry<String, PublicationRecord> e = it.next();
+			if(!seen.contains(e.getKey())){
+				field.retract(e.getValue());
+				retractedKeys.add(e.getValue().getKey());
+				it.remove();
+				++removed;
+			}
+		}
+		unreliableNames = restore(unreliableNames, Person.getSetOfUnreliableName());
+		unreliableTitles = restore(unreliableTitles, Title.getSetOfUnreliableTitle());
+		unreliablePages = restore(unreliablePages, Page.getSetOfUnreliablePage());
+	}
+
+	/**
+	 * Adds the entries of the previous runs to the entries of this run, except<br/>
+	 * the ones of publications which were taken out.
+	 * @param previous: entries of the previous runs. They end with "[Key: key]".
+	 * @param current: entries of this run.
+	 * @return All entries, to be saved for the next run.
+	 */
+	private Set<String> restore(Set<String> previous, Set<String> current){
+		for(String entry : previous){
+			int start = entry.lastIndexOf("[Key: ");
+			String key = (start < 0) ? "" : entry.substring(start + 6, entry.length() - 1);
+			if(!retractedKeys.contains(key))
+				current.add(entry);
+		}
+		synchronized(current){
+			return new TreeSet<>(current);
+		}
+	}
+
+	/**
+	 * @return A line which describes the changes since the previous run.
+	 */
+	public String getSummary(){
+		return "Incremental run: "+added+" added, "+changed+" changed, "+removed+" removed, "+unchanged+" unchanged publications";
+	}
+
+	public Field getField() {
+		return field;
+	}
+}
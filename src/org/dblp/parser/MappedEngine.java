@@ -0,0 +1,690 @@
+package org.dblp.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URI;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.dblp.field.Publication;
+import org.dblp.helper.CharDictionary;
+import org.dblp.helper.IntKey;
+import org.xml.sax.InputSource;
+
+/**
+ * Reads the dblp XML document directly from its bytes, which are mapped in<br/>
+ * memory window by window (FileChannel.map).<br/>
+ * The dblp XML document has a fixed and shallow structure: dblp -> publication<br/>
+ * -> field. So the engine only looks for the tags of publications and fields,<br/>
+ * the key and mdate attributes of publications, and the text of the fields<br/>
+ * which are analyzed. Only the text of author, editor, title, crossref and<br/>
+ * pages is decoded to characters; the year is read as a number from the<br/>
+ * bytes, the other fields are skipped. So are the fields which the handler<br/>
+ * does not read (see PublicationHandler.project).<br/>
+ * The document must be encoded in ISO-8859-1, US-ASCII or UTF-8. Entities<br/>
+ * are decoded with the entity declarations of the DTD or with the built-in<br/>
+ * entities of dblp.dtd (see EntityTable).<br/>
+ * Gives the same publications to the handler as the SAX parser.
+ * @author SergeOliver
+ *
+ */
+public class MappedEngine implements ParserEngine {
+
+	/**
+	 * Default number of bytes which are mapped at once.
+	 */
+	private static final int WINDOW = 1 << 28;
+
+	private static final Pattern ENCODING = Pattern.compile("encoding\\s*=\\s*[\"']([^\"']+)[\"']");
+
+	private static final Pattern DOCTYPE = Pattern.compile("<!DOCTYPE\\s+\\S+\\s+SYSTEM\\s+[\"']([^\"']+)[\"']");
+
+	private static final int END_OF_MAPPING = -1, END_OF_DOCUMENT = -2;
+
+	private static final int OTHER = 0, AUTHOR = 1, TITLE = 2, YEAR = 3, EE = 4, CROSSREF = 5, PAGES = 6;
+
+	private static final byte[][] PUBLICATION_TYPES = new byte[XmlChunk.PUBLICATION_TYPES.length][];
+	static{
+		for(int i=0; i<PUBLICATION_TYPES.length; i++)
+			PUBLICATION_TYPES[i] = XmlChunk.PUBLICATION_TYPES[i].getBytes(StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Thrown when a publication is not completely inside the mapped window.<br/>
+	 * The window is then mapped again from the beginning of the publication.
+	 */
+	private static final IOException END_OF_WINDOW = new IOException("End of the mapped window"){
+		private static final long serialVersionUID = 1L;
+		@Override
+		public synchronized Throwable fillInStackTrace(){
+			return this;
+		}
+	};
+
+	private final int windowSize;
+
+	private MappedByteBuffer buffer;
+
+	/**
+	 * Offset of the first mapped byte inside the file.
+	 */
+	private long base;
+
+	/**
+	 * Number of mapped bytes.
+	 */
+	private int limit;
+
+	/**
+	 * Does the mapped window reach the end of the part which is read?
+	 */
+	private boolean lastWindow;
+
+	private boolean utf8;
+
+	private EntityTable entities;
+
+	private final Publication publication = new Publication();
+
+	/**
+	 * Decoded text of the current field.
+	 */
+	private char[] text = new char[256];
+
+	private int textLength = 0;
+
+	/**
+	 * Modification dates met so far: a date is created once.
+	 */
+	private final CharDictionary<String> mdates = new CharDictionary<String>(){
+		@Override
+		protected String create(String mdate){
+			return mdate;
+		}
+	};
+
+	/**
+	 * Bytes of an entity name.
+	 */
+	private final byte[] entityName = new byte[32];
+
+	/**
+	 * reads[field type]: does the handler read the fields of the type?
+	 */
+	private final boolean[] reads = new boolean[PAGES + 1];
+
+	public MappedEngine(){
+		this(false);
+	}
+
+	/**
+	 * @param builtInDtd: true to take the entities from DblpDtd instead of<br/>
+	 * loading the DTD file.
+	 */
+	public MappedEngine(boolean builtInDtd){
+		this(WINDOW);
+		if(builtInDtd)
+			entities = EntityTable.builtIn();
+	}
+
+	/**
+	 * @param windowSize: number of bytes which are mapped at once. Must be<br/>
+	 * larger than the largest publication.
+	 */
+	MappedEngine(int windowSize){
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Parses the file named by the system id of the source. Input streams<br/>
+	 * cannot be mapped and are refused.
+	 */
+	@Override
+	public void parse(InputSource source, PublicationHandler handler) throws IOException {
+		if(source.getByteStream() != null || source.getCharacterStream() != null || source.getSystemId() == null)
+			throw new IOException("The mapped engine can only read a file");
+		String systemId = source.getSystemId();
+		File file = systemId.startsWith("file:") ? new File(URI.create(systemId)) : new File(systemId);
+		try(RandomAccessFile raf = new RandomAccessFile(file, "r")){
+			FileChannel channel = raf.getChannel();
+			byte[] prolog = XmlChunk.readProlog(channel);
+			long end = XmlChunk.findEndOfDocument(channel);
+			long start = XmlChunk.findBoundary(channel, prolog.length, end);
+			parse(file, new XmlChunk(file, start, end, prolog), channel, handler);
+		}
+	}
+
+	/**
+	 * Parses a part of the XML document.
+	 * @param chunk
+	 * @param handler
+	 * @throws IOException
+	 */
+	public void parse(XmlChunk chunk, PublicationHandler handler) throws IOException {
+		try(RandomAccessFile raf = new RandomAccessFile(chunk.getFile(), "r")){
+			parse(chunk.getFile(), chunk, raf.getChannel(), handler);
+		}
+	}
+
+	private void parse(File file, XmlChunk chunk, FileChannel channel, PublicationHandler handler) throws IOException{
+		reads[AUTHOR] = handler.reads("author") || handler.reads("editor");
+		reads[TITLE] = handler.reads("title");
+		reads[YEAR] = handler.reads("year");
+		reads[EE] = handler.reads("ee");
+		reads[CROSSREF] = handler.reads("crossref");
+		reads[PAGES] = handler.reads("pages");
+		readProlog(file, chunk.getProlog());
+		long position = chunk.getStart();
+		long end = chunk.getEnd();
+		while(position < end){
+			int size = (int) Math.min(windowSize, end - position);
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+			base = position;
+			limit = size;
+			lastWindow = (position + size == end);
+			int resume = 0;
+			try{
+				while(true){
+					int next = nextPublication(resume);
+					if(next == END_OF_DOCUMENT)
+						return;
+					if(next == END_OF_MAPPING)
+						break;
+					resume = parsePublication(next, handler);
+				}
+				position = base + limit;
+			}catch(IOException e){
+				if(e != END_OF_WINDOW) throw e;
+				if(resume == 0)
+					throw new IOException("Publication larger than "+windowSize+" bytes at "+base);
+				publication.reset();
+				position = base + resume;
+			}
+		}
+	}
+
+	/**
+	 * Reads the encoding and the entities declared in the DTD.
+	 * @param file: XML document.
+	 * @param prolog: bytes of the XML document up to &lt;dblp&gt;.
+	 * @throws IOException
+	 */
+	private void readProlog(File file, byte[] prolog) throws IOException{
+		String text = new String(prolog, StandardCharsets.ISO_8859_1);
+		Matcher encoding = ENCODING.matcher(text);
+		String name = encoding.find() ? encoding.group(1).toUpperCase() : "UTF-8";
+		if(name.equals("UTF-8") || name.equals("UTF8"))
+			utf8 = true;
+		else if(name.equals("ISO-8859-1") || name.equals("LATIN1") || name.equals("US-ASCII"))
+			utf8 = false;
+		else
+			throw new IOException("The mapped engine cannot read the encoding "+name);
+		Matcher doctype = DOCTYPE.matcher(text);
+		if(entities == null)
+			entities = doctype.find() ? EntityTable.load(new File(file.getAbsoluteFile().getParentFile(), doctype.group(1)))
+					: new EntityTable();
+	}
+
+	/**
+	 * Goes to the next publication start tag at the level of &lt;dblp&gt;.<br/>
+	 * Skips white spaces and comments.
+	 * @param i: index in the window.
+	 * @return Index of the character '&lt;' of the start tag, END_OF_MAPPING<br/>
+	 * when the end of the window is reached or END_OF_DOCUMENT when<br/>
+	 * &lt;/dblp&gt; is reached.
+	 * @throws IOException
+	 */
+	private int nextPublication(int i) throws IOException{
+		while(i < limit){
+			if(buffer.get(i) != '<'){
+				++i;
+				continue;
+			}
+			byte next = at(i + 1);
+			if(next == '!')
+				i = skipMarkup(i);
+			else if(next == '?')
+				i = skipTag(i);
+			else if(next == '/')
+				return END_OF_DOCUMENT;
+			else
+				return i;
+		}
+		return END_OF_MAPPING;
+	}
+
+	/**
+	 * Reads a publication element and gives it to the handler.
+	 * @param i: index of the character '&lt;' of the start tag.
+	 * @param handler
+	 * @return Index after the end tag of the publication.
+	 * @throws IOException
+	 */
+	private int parsePublication(int i, PublicationHandler handler) throws IOException{
+		int typeStart = i + 1;
+		int typeEnd = nameEnd(typeStart);
+		i = typeEnd;
+		publication.setType(typeName(typeStart, typeEnd));
+		boolean empty = false;
+		while(true){//attributes
+			i = skipSpaces(i);
+			byte b = at(i);
+			if(b == '>'){
+				++i;
+				break;
+			}
+			if(b == '/'){
+				i += 2;
+				empty = true;
+				break;
+			}
+			int attributeStart = i;
+			int attributeEnd = nameEnd(i);
+			i = skipSpaces(attributeEnd);
+			if(at(i) != '=')
+				throw new IOException("Malformed attribute at "+(base + i));
+			i = skipSpaces(i + 1);
+			byte quote = at(i);
+			int valueStart = i + 1;
+			i = valueStart;
+			while(at(i) != quote)
+				++i;
+			if(isName(attributeStart, attributeEnd, "key"))
+				publication.setKey(decode(valueStart, i));
+			else if(isName(attributeStart, attributeEnd, "mdate")){
+				decodeText(valueStart, i);
+				publication.setMdate(mdates.get(text, 0, textLength));
+			}
+			++i;
+		}
+		String key = publication.getKey();
+		//the whole publication has to be in the window before the handler is asked
+		int end = empty ? i : endOfPublication(i, typeStart, typeEnd);
+		if(!handler.accept(publication.getType(), key, publication.getMdate())){
+			publication.reset();
+			return end;
+		}
+		while(!empty){//fields
+			while(at(i) != '<')//white spaces between the fields
+				++i;
+			byte next = at(i + 1);
+			if(next == '/'){
+				i = skipTag(i);
+				break;
+			}
+			if(next == '!' || next == '?'){
+				i = (next == '!') ? skipMarkup(i) : skipTag(i);
+				continue;
+			}
+			publication.incrementNumberOfFields();
+			int nameStart = i + 1;
+			int nameEnd = nameEnd(nameStart);
+			int field = fieldType(nameStart, nameEnd);
+			if(!reads[field])
+				field = OTHER;
+			boolean emptyField = at(tagEnd(i) - 1) == '/';
+			i = tagEnd(i) + 1;
+			if(field == EE)
+				publication.setEe(true);
+			if(emptyField)
+				continue;
+			switch(field){
+			case AUTHOR:
+				i = readText(i);
+				publication.appendPersonName(text, 0, textLength);
+				publication.endPersonName();
+				break;
+			case TITLE:
+				if(key.startsWith("homepages"))
+					i = skipElement(i);
+				else{
+					i = readText(i);
+					publication.appendTitle(text, 0, textLength);
+				}
+				break;
+			case YEAR:
+				i = readText(i);
+				publication.setYear(IntKey.valueOf(parseInt()));
+				if(!handler.acceptYear(publication.getYear())){
+					publication.reset();
+					return end;
+				}
+				break;
+			case CROSSREF:
+				i = readText(i);
+				publication.appendCrossref(text, 0, textLength);
+				break;
+			case PAGES:
+				i = readText(i);
+				publication.appendPages(text, 0, textLength);
+				break;
+			default:
+				i = skipElement(i);
+			}
+		}
+		if(handler.acceptYear(publication.getYear()))
+			handler.publish(publication);
+		publication.reset();
+		return i;
+	}
+
+	/**
+	 * Looks for the end tag of the publication.
+	 * @param i: index after the start tag.
+	 * @param typeStart: index of the name of the publication in the start tag.
+	 * @param typeEnd: index after the name of the publication in the start tag.
+	 * @return Index after the end tag.
+	 * @throws IOException
+	 */
+	private int endOfPublication(int i, int typeStart, int typeEnd) throws IOException{
+		int length = typeEnd - typeStart;
+		while(true){
+			if(at(i) == '<' && at(i + 1) == '/' && at(i + 2 + length) == '>'){
+				boolean same = true;
+				for(int j=0; j<length && same; j++)
+					same = at(i + 2 + j) == at(typeStart + j);
+				if(same)
+					return i + 3 + length;
+			}
+			++i;
+		}
+	}
+
+	/**
+	 * Decodes the text of an element and of the elements inside it into text.
+	 * @param i: index after the start tag.
+	 * @return Index after the end tag.
+	 * @throws IOException
+	 */
+	private int readText(int i) throws IOException{
+		textLength = 0;
+		int depth = 1;
+		while(true){
+			byte b = at(i);
+			if(b == '<'){
+				byte next = at(i + 1);
+				if(next == '/'){
+					i = skipTag(i);
+					if(--depth == 0)
+						return i;
+				}else if(next == '!'){
+					if(at(i + 2) == '['){//<![CDATA[ ... ]]>
+						i += 9;
+						while(!(at(i) == ']' && at(i + 1) == ']' && at(i + 2) == '>'))
+							i = decodeCharacter(i);
+						i += 3;
+					}else
+						i = skipMarkup(i);
+				}else{
+					int end = tagEnd(i);
+					if(at(end - 1) != '/' && next != '?')
+						++depth;
+					i = end + 1;
+				}
+			}else if(b == '&'){
+				i = decodeEntity(i);
+			}else if(b == '\r'){//line ends are normalized like a XML parser does
+				append('\n');
+				i = (at(i + 1) == '\n') ? i + 2 : i + 1;
+			}else
+				i = decodeCharacter(i);
+		}
+	}
+
+	/**
+	 * Goes to the end of an element without decoding its text.
+	 * @param i: index after the start tag.
+	 * @return Index after the end tag.
+	 * @throws IOException
+	 */
+	private int skipElement(int i) throws IOException{
+		int depth = 1;
+		while(true){
+			if(at(i) != '<'){
+				++i;
+				continue;
+			}
+			byte next = at(i + 1);
+			if(next == '/'){
+				i = skipTag(i);
+				if(--depth == 0)
+					return i;
+			}else if(next == '!')
+				i = skipMarkup(i);
+			else{
+				int end = tagEnd(i);
+				if(at(end - 1) != '/' && next != '?')
+					++depth;
+				i = end + 1;
+			}
+		}
+	}
+
+	/**
+	 * Appends the character at index i to the text.
+	 * @return Index of the next character.
+	 */
+	private int decodeCharacter(int i) throws IOException{
+		int b = at(i) & 0xff;
+		if(!utf8 || b < 0x80){
+			append((char) b);
+			return i + 1;
+		}
+		int length = (b >= 0xf0) ? 4 : (b >= 0xe0) ? 3 : 2;
+		int codePoint = b & (0x3f >> (length - 1));
+		for(int j=1; j<length; j++)
+			codePoint = (codePoint << 6) | (at(i + j) & 0x3f);
+		if(codePoint >= 0x10000){
+			append(Character.highSurrogate(codePoint));
+			append(Character.lowSurrogate(codePoint));
+		}else
+			append((char) codePoint);
+		return i + length;
+	}
+
+	/**
+	 * Appends the value of the entity or character reference at index i to the text.
+	 * @return Index after the character ';'.
+	 */
+	private int decodeEntity(int i) throws IOException{
+		int start = i + 1;
+		int end = start;
+		while(at(end) != ';'){
+			if(end - start >= entityName.length)
+				throw new IOException("Malformed entity reference at "+(base + i));
+			++end;
+		}
+		if(at(start) == '#'){
+			boolean hexadecimal = at(start + 1) == 'x';
+			int codePoint = 0;
+			for(int j = hexadecimal ? start + 2 : start + 1; j<end; j++)
+				codePoint = codePoint * (hexadecimal ? 16 : 10) + Character.digit(at(j), hexadecimal ? 16 : 10);
+			if(codePoint >= 0x10000){
+				append(Character.highSurrogate(codePoint));
+				append(Character.lowSurrogate(codePoint));
+			}else
+				append((char) codePoint);
+		}else{
+			for(int j=start; j<end; j++)
+				entityName[j - start] = at(j);
+			String value = entities.get(entityName, 0, end - start);
+			if(value == null)
+				throw new IOException("The entity \""+new String(entityName, 0, end - start, StandardCharsets.ISO_8859_1)
+						+"\" was referenced, but not declared");
+			for(int j=0; j<value.length(); j++)
+				append(value.charAt(j));
+		}
+		return end + 1;
+	}
+
+	private void append(char c){
+		if(textLength == text.length){
+			char[] larger = new char[text.length * 2];
+			System.arraycopy(text, 0, larger, 0, textLength);
+			text = larger;
+		}
+		text[textLength++] = c;
+	}
+
+	/**
+	 * @return The decoded text as an int like Integer.parseInt does.
+	 */
+	private int parseInt(){
+		int value = 0;
+		boolean negative = textLength > 1 && text[0] == '-';
+		for(int j = negative ? 1 : 0; j<textLength; j++){
+			int digit = Character.digit(text[j], 10);
+			if(digit < 0)
+				throw new NumberFormatException("For input string: \""+new String(text, 0, textLength)+"\"");
+			value = value * 10 + digit;
+		}
+		if(textLength == 0)
+			throw new NumberFormatException("For input string: \"\"");
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Decodes the value of an attribute.
+	 * @param start: index of the first byte.
+	 * @param end: index after the last byte.
+	 */
+	private String decode(int start, int end) throws IOException{
+		decodeText(start, end);
+		return new String(text, 0, textLength);
+	}
+
+	/**
+	 * Decodes the value of an attribute into text[0..textLength[.
+	 * @param start: index of the first byte.
+	 * @param end: index after the last byte.
+	 */
+	private void decodeText(int start, int end) throws IOException{
+		textLength = 0;
+		int i = start;
+		while(i < end)
+			i = (at(i) == '&') ? decodeEntity(i) : decodeCharacter(i);
+	}
+
+	/**
+	 * @return The name of the publication. The names of PUBLICATION_TYPES <br/>
+	 * are not created again for each publication.
+	 */
+	private String typeName(int start, int end) throws IOException{
+		for(int j=0; j<PUBLICATION_TYPES.length; j++){
+			if(isName(start, end, PUBLICATION_TYPES[j]))
+				return XmlChunk.PUBLICATION_TYPES[j];
+		}
+		return decode(start, end);
+	}
+
+	private int fieldType(int start, int end) throws IOException{
+		switch(end - start){
+		case 2:
+			return isName(start, end, "ee") ? EE : OTHER;
+		case 4:
+			return isName(start, end, "year") ? YEAR : OTHER;
+		case 5:
+			return isName(start, end, "title") ? TITLE : isName(start, end, "pages") ? PAGES : OTHER;
+		case 6:
+			return (isName(start, end, "author") || isName(start, end, "editor")) ? AUTHOR : OTHER;
+		case 8:
+			return isName(start, end, "crossref") ? CROSSREF : OTHER;
+		default:
+			return OTHER;
+		}
+	}
+
+	private boolean isName(int start, int end, String name) throws IOException{
+		if(end - start != name.length()) return false;
+		for(int j=0; j<name.length(); j++){
+			if(at(start + j) != name.charAt(j)) return false;
+		}
+		return true;
+	}
+
+	private boolean isName(int start, int end, byte[] name) throws IOException{
+		if(end - start != name.length) return false;
+		for(int j=0; j<name.length; j++){
+			if(at(start + j) != name[j]) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return Index after the last character of the name which begins at i.
+	 */
+	private int nameEnd(int i) throws IOException{
+		while(true){
+			byte b = at(i);
+			if(b == ' ' || b == '>' || b == '/' || b == '=' || b == '\t' || b == '\n' || b == '\r')
+				return i;
+			++i;
+		}
+	}
+
+	private int skipSpaces(int i) throws IOException{
+		while(true){
+			byte b = at(i);
+			if(b != ' ' && b != '\t' && b != '\n' && b != '\r')
+				return i;
+			++i;
+		}
+	}
+
+	/**
+	 * @param i: index of the character '&lt;' of a tag.
+	 * @return Index of the character '&gt;' which closes the tag. Quoted<br/>
+	 * attribute values may contain '&gt;'.
+	 */
+	private int tagEnd(int i) throws IOException{
+		byte quote = 0;
+		while(true){
+			byte b = at(++i);
+			if(quote != 0){
+				if(b == quote) quote = 0;
+			}else if(b == '"' || b == '\'')
+				quote = b;
+			else if(b == '>')
+				return i;
+		}
+	}
+
+	/**
+	 * @return Index after the tag which begins at i.
+	 */
+	private int skipTag(int i) throws IOException{
+		return tagEnd(i) + 1;
+	}
+
+	/**
+	 * Skips a comment &lt;!-- ... --&gt; or another declaration &lt;! ... &gt;.
+	 * @return Index after the markup which begins at i.
+	 */
+	private int skipMarkup(int i) throws IOException{
+		if(at(i + 2) == '-' && at(i + 3) == '-'){
+			i += 4;
+			while(!(at(i) == '-' && at(i + 1) == '-' && at(i + 2) == '>'))
+				++i;
+			return i + 3;
+		}
+		return skipTag(i);
+	}
+
+	/**
+	 * @param i: index in the window.
+	 * @return The byte at index i.
+	 * @throws IOException if i is outside the window.
+	 */
+	private byte at(int i) throws IOException{
+		if(i >= limit){
+			if(lastWindow)
+				throw new IOException("Unexpected end of the XML document at "+(base + i));
+			throw END_OF_WINDOW;
+		}
+		return buffer.get(i);
+	}
+}
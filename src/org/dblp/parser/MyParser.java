@@ -1,7 +1,9 @@
 package org.dblp.parser;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintWriter;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -12,24 +14,23 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 
+import org.dblp.analyzer.Analyzers;
 import org.dblp.field.Field;
-import org.dblp.field.Page;
-import org.dblp.field.Person;
-import org.dblp.field.Title;
-import org.dblp.helper.IntKey;
+import org.dblp.field.Publication;
 import org.dblp.helper.MyPath;
 import org.dblp.helper.StatisticalDistributionComputation;
-import org.dblp.mdate.MDate;
-import org.xml.sax.Attributes;
+import org.dblp.helper.TaskGraph;
+import org.dblp.parser.Options.EngineType;
+import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
-import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * Most important class of the application.<br/>
  * Contains the main method.
  * Constructs a SAXParser object that parses the dblp XML document.<br/>
- * Calls the methods of the classes Field, MDate or Operation when the input<br/>
+ * Or lets a ParallelParser parse the dblp XML document with several threads.<br/>
+ * Calls the methods of the class Field when the input<br/>
  * data that they need are ready.<br/>
  * Contains utilities methods to keep track on the SAX parser.<br/>
  * Releases the resources on the log file when logging operations are <br/>
@@ -38,7 +39,7 @@ import org.xml.sax.helpers.DefaultHandler;
  * @author SergeOliver
  * 
  */
-public class MyParser extends DefaultHandler implements MyPath {
+public class MyParser extends PublicationHandler implements MyPath {
 
 	/**
 	 * Stores the system time in milliseconds when the SAX parser is at the <br/> 
@@ -56,77 +57,47 @@ public class MyParser extends DefaultHandler implements MyPath {
 	 */
 	private String runtime = "Application runtime = ";
 	
-	/**
-	 * Stores the current position of the parser on the dbp.xml tree.<br/>
-	 * level 1: &lt;dblp&gt; or &lt;/dblp&gt;<br/>
-	 * level 2:		&lt;publication&gt; or &lt;/publication&gt; e.g. &lt;article&gt;...&lt;/article&gt;<br/>
-	 * level 3: 			&lt;field&gt;	or &lt;/field&gt; e.g. &lt;author&gt;...&lt;/author&gt;
-	 */
-	private int level = 0;
-	
 	/**
 	 * File which contains untrusted data from the XML document. These data should<br/>
 	 *	be analyzed later.
 	 */
 	private static PrintWriter log;
-	
-	private Field field = new Field();
-	
-	private MDate mDate = new MDate();
-	
-	
-	private StatisticalDistributionComputation sdComputation = new StatisticalDistributionComputation();
-	
-	/**
-	 * Stores the name of the publication that is being parsed.
-	 */
-	private String tagName = "";
-	
-	/**
-	 * Stores the key of the publication that is being parsed.
-	 */
-	private String key = "";
-	
-	/**
-	 * Builds a string from characters inside the cross reference element that is being parsed.
-	 */
-	private StringBuilder crossrefBuilder = new StringBuilder();
-	
+
 	/**
-	 * Builds a string from characters inside the page element that is being parsed.
+	 * Writer which getLog returns in the current thread instead of the log<br/>
+	 * file, e.g. the buffer of an analyzer whose result is rendered at the<br/>
+	 * same time as other ones (see Field.displayResult).
 	 */
-	private StringBuilder pageBuilder = new StringBuilder();
+	private static final ThreadLocal<PrintWriter> logSection = new ThreadLocal<>();
 	
-	/**
-	 * Builds a string from characters inside the author/editor element that is being parsed.
-	 */
-	private StringBuilder personNameBuilder = new StringBuilder();
+	private StatisticalDistributionComputation sdComputation = new StatisticalDistributionComputation();
 	
 	/**
-	 * Builds a string from characters inside the title element that is being parsed.
+	 * Handlers of the threads of a parallel parse. Their Field objects<br/>
+	 * are merged into the Field object of MyParser when the <br/>
+	 * document ends.
 	 */
-	private StringBuilder titleBuilder = new StringBuilder();
-	
+	private List<PublicationHandler> partialResults = new ArrayList<>();
+
 	/**
-	 * Is the SAX parser inside an electronic version element?
+	 * Result of the previous run in the incremental mode, or null for a full run.
 	 */
-	private boolean insideEe = false;
-	
+	private IncrementalState incremental;
+
 	/**
-	 * Is the SAX parser inside a title element?
+	 * File in which the result of the incremental mode is saved.
 	 */
-	private boolean insideTitle = false;
-	
+	private File incrementalFile;
+
 	/**
-	 * Stores the the name of authors/editors of the publication that is being parsed
+	 * Snapshot which is exported during the parse, or null.
 	 */
-	private List<Person> tmpPersonList = new ArrayList<>();
-	
+	private ColumnarSnapshot snapshot;
+
 	/**
-	 * Stores the publication year of the publication that is being parsed.
+	 * File in which the snapshot is exported.
 	 */
-	private IntKey tmpYear = new IntKey(-1);
-	
+	private File snapshotFile;
 	
 	/**
 	 * Maximal number of untrusted data that should be printed in the log file<br/>
@@ -134,6 +105,19 @@ public class MyParser extends DefaultHandler implements MyPath {
 	 */
 	private static final int MAX = 100;
 	
+	/**
+	 * Parses the XML document with one thread.
+	 * @param dblpxml: XML document to be parsed.
+	 * @throws ParserConfigurationException if a parser which satisfies the 
+	 * requested configuration cannot be created.
+	 * @throws SAXException if any SAX errors occur during processing.
+	 * @throws IOException  if any IO error occurs interacting with the
+     * InputStream.
+	 */
+	public MyParser(String dblpxml) throws ParserConfigurationException, SAXException, IOException{
+		this(dblpxml, new Options());
+	}
+	
 	/**
 	 * Defines a factory API that enables a MyParser instance to configure and 
 	 * obtain a SAX based parser to parse the XML document.
@@ -144,38 +128,128 @@ public class MyParser extends DefaultHandler implements MyPath {
 	 * Allow MyParser to register a content event handler.
 	 * Parse the XML document from a system identifier (IRU). It's equivalent to
 	 * xmlR.parse(new InputSource(XML document)). 
+	 * Only the analyzers selected in the options are run, and only the fields<br/>
+	 * which they need are read (see PublicationHandler.project). A filter<br/>
+ * skips the publications which are not analyzed (see RecordFilter).<br/>
+	 * In the incremental mode, the statistical data of the previous run are<br/>
+	 * loaded and only the publications which changed are parsed.<br/>
+	 * A gzip compressed XML document (*.gz) is decompressed by its own thread<br/>
+	 * while it is parsed (see PipelinedGzipInputStream).<br/>
+	 * With a snapshot, the publications are read from the ColumnarSnapshot<br/>
+	 * and the XML document is not parsed.<br/>
+	 * With checkpoints, a CheckpointParser parses the XML document part by part.<br/>
+	 * If more than one thread or another engine than SAX is wished, a<br/>
+	 * ParallelParser or the engine parses the XML document and MyParser only<br/>
+	 * receives the notifications of the beginning and the end of the document.
 	 * @param dblpxml: XML document to be parsed.
+	 * @param options: options given on the command line.
 	 * @throws ParserConfigurationException if a parser which satisfies the 
 	 * requested configuration cannot be created.
 	 * @throws SAXException if any SAX errors occur during processing.
 	 * @throws IOException  if any IO error occurs interacting with the
      * InputStream.
 	 */
-	public MyParser(String dblpxml) throws ParserConfigurationException, SAXException, IOException{
-		SAXParserFactory spf = SAXParserFactory.newInstance();
-		SAXParser sp = spf.newSAXParser();
-		XMLReader xmlR = sp.getXMLReader();
-		xmlR.setContentHandler(this);
-		xmlR.parse(dblpxml);
+	public MyParser(String dblpxml, Options options) throws ParserConfigurationException, SAXException, IOException{
+		Analyzers.select(options.getAnalyzers());
+		Analyzers.setApproximate(options.isApproximate());
+		field = new Field();
+		if(options.getIncremental() != null){
+			incrementalFile = new File(options.getIncremental());
+			incremental = IncrementalState.load(incrementalFile);
+			field = incremental.getField();
+		}
+		if(options.getExportSnapshot() != null){
+			snapshotFile = new File(options.getExportSnapshot());
+			snapshot = new ColumnarSnapshot();
+		}
+//		the saved facts of the publications have to be complete for any analyzer
+		project((incremental != null || snapshot != null) ? null : field.getElements());
+		setFilter(options.getFilter());
+		if(options.getSnapshot() != null){
+			startDocument();
+			System.out.println(ColumnarSnapshot.load(new File(options.getSnapshot()), field, options.getFilter())+" publications loaded from "+options.getSnapshot());
+			endDocument();
+		}else if(options.getParallelism() > 1){
+			startDocument();
+			partialResults = new ParallelParser(dblpxml, options.getParallelism(), options.getEngine(), options.isBuiltInDtd(), options.getFilter()).parse();
+			endDocument();
+		}else if(options.getCheckpoint() != null){
+			startDocument();
+			partialResults = new CheckpointParser(dblpxml, options).parse();
+			endDocument();
+		}else if(PipelinedGzipInputStream.isCompressed(dblpxml)){
+			try(InputStream in = new PipelinedGzipInputStream(new File(dblpxml))){
+				InputSource source = new InputSource(in);
+				source.setSystemId(new File(dblpxml).toURI().toString());//to find the DTD next to the XML document
+				parse(source, options);
+			}
+		}else if(options.getEngine() != EngineType.SAX){
+			parse(new InputSource(new File(dblpxml).toURI().toString()), options);
+		}else{
+			parse(new InputSource(dblpxml), options);
+		}
+	}
+
+	/**
+	 * Parses the XML document with one thread.<br/>
+	 * The SAX parser notifies MyParser of the beginning and the end of the<br/>
+	 * document itself; the other engines only notify the publications.<br/>
+	 * In the pipelined mode, the publications are analyzed by the threads<br/>
+	 * of a PublicationPipeline.
+	 * @param source: XML document to be parsed.
+	 * @param options: engine which reads the XML document and DTD to be used.
+	 * @throws ParserConfigurationException
+	 * @throws SAXException
+	 * @throws IOException
+	 */
+	private void parse(InputSource source, Options options) throws ParserConfigurationException, SAXException, IOException{
+		if(options.getPipeline() > 0){
+			startDocument();
+			partialResults = new PublicationPipeline(options.getPipeline(), options.getFilter()).parse(source, options.getEngine().newEngine(options.isBuiltInDtd()));
+			endDocument();
+		}else if(options.getEngine() != EngineType.SAX){
+			startDocument();
+			options.getEngine().newEngine(options.isBuiltInDtd()).parse(source, this);
+			endDocument();
+		}else{
+			SAXParserFactory spf = SAXParserFactory.newInstance();
+			SAXParser sp = spf.newSAXParser();
+			XMLReader xmlR = sp.getXMLReader();
+			xmlR.setContentHandler(this);
+			if(options.isBuiltInDtd())
+				xmlR.setEntityResolver(new DblpDtd());
+			xmlR.parse(source);
+		}
 	}
 
 	/**
 	 * Create a new MyParser instance to parse the short version of dblp.xml<br/>
 	 * (DBLPXMLMOCKUP) in order to test new functionalities of the software.<br/>
 	 * Or create a new MyParser instance to parse the dblp.xml (DBLPXML) in oder<br/>
-	 * to generate statistical data.
+	 * to generate statistical data.<br/>
+	 * The XML document and the options can be given on the command line (see Options).<br/>
+	 * Exits with status 1 if the options are wrong or the parse fails, e.g.<br/>
+	 * if a checkpoint file cannot be resumed.
 	 * @param args
 	 */
 	public static void main(String[] args) {
 		try {
+			Options options = Options.parse(args);
 //			new MyParser(MyPath.DBLPXMLMOCKUP);
-			new MyParser(MyPath.DBLPXML);
+			new MyParser(options.getInput(), options);
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+			System.out.println(Options.usage());
+			System.exit(1);
 		} catch (ParserConfigurationException e) {
 			e.printStackTrace();
+			System.exit(1);
 		} catch (SAXException e) {
 			e.printStackTrace();
+			System.exit(1);
 		} catch (IOException e) {
 			e.printStackTrace();
+			System.exit(1);
 		}
 	}
 	
@@ -199,137 +273,97 @@ public class MyParser extends DefaultHandler implements MyPath {
 	}
 	
 	/* (non-Javadoc)
-	 * @see org.xml.sax.helpers.DefaultHandler#startElement(java.lang.String, 
-	 * java.lang.String, java.lang.String, org.xml.sax.Attributes)
-	 * Receive notification of the start of an element.<br/>
-	 * Stores the key of the publication that is being parsed and reset the<br/> 
-	 * counter of fields to zero.<br/>
-	 * Stores the name of the current publication in order to use it later<br/>
-	 * in the methods characters.<br/>
-	 * Counts the fields inside the current publication.<br/>
-	 * Ignore the title of homepages because they are not relevant for the analysis.
-	 */
-	@Override
-	public void startElement(String url, String localName, String qName, Attributes atts){
-		
-		incrementLevel();
-		tagName = qName;
-		
-		if(level == 2){
-			key = atts.getValue("key");
-			Field.resetFieldCounter();
-			mDate.getDate(atts.getValue("mdate"), key);
-		}
-		
-		if(level == 3)
-			Field.incrementFieldCounter(key);
-		if(field.isEe(tagName))
-			insideEe = true;
-		if(field.isTitle(tagName) && !key.startsWith("homepages")){
-			insideTitle = true;
-		}
-	}
-	
-	
-	/* (non-Javadoc)
-	 * @see org.xml.sax.helpers.DefaultHandler#characters(char[], int, int)
-	 * Receive notification of character data inside an element.<br/>
-	 * Builds the appropriate string from the characters inside the element <br/>
-	 * that is being parsed.
+	 * @see org.xml.sax.helpers.DefaultHandler#endDocument()
+	 * Runs the steps after the parse in a TaskGraph, which reports the time<br/>
+	 * of each step:<br/>
+	 * merges the results of the threads of a parallel parse,<br/>
+	 * saves the statistical data for the next run of the incremental mode,<br/>
+	 * writes the exported snapshot,<br/>
+	 * lets the class field finish the statistical data and print them out.<br/>
+	 * Calculates the run time of the application and display it on the console.<br/>
+	 * Flushes an closes all output files.<br/>
+	 * @throws IllegalStateException if a step failed, e.g. an output file<br/>
+	 * could not be written.
 	 */
 	@Override
-	public void characters(char[] ch, int start, int length){
-		
-		if(field.isPerson(tagName)){
-			personNameBuilder.append(ch, start, length);
-		}
-		if(field.isYear(tagName)){
-			tmpYear = new IntKey(Integer.parseInt(new String(ch, start, length))); 
+	public void endDocument(){
+		TaskGraph graph = new TaskGraph("Post-parse");
+		List<Field> others = new ArrayList<>();
+		for(PublicationHandler partialResult : partialResults){
+			others.add(partialResult.getField());
 		}
-		if(insideTitle){
-			titleBuilder.append(ch, start, length);
+		List<String> ready = new ArrayList<>();
+		if(incremental != null){
+			graph.add("finish incremental", new Runnable(){
+				@Override
+				public void run(){
+					incremental.finish();
+					System.out.println(incremental.getSummary());
+				}
+			});
+			graph.add("save incremental", new Runnable(){
+				@Override
+				public void run(){
+					try {
+						incremental.save(incrementalFile);
+					} catch (IOException e) {
+						throw new IllegalStateException("Cannot write "+incrementalFile, e);
+					}
+				}
+			}, "finish incremental");
+//			the publications which are no longer in the document are taken out before the analyzers finish
+			ready.add("finish incremental");
 		}
-		if(field.isCrossref(tagName)){
-			crossrefBuilder.append(ch, start, length);
+		if(snapshot != null){
+			graph.add("export snapshot", new Runnable(){
+				@Override
+				public void run(){
+					try {
+						snapshot.write(snapshotFile);
+					} catch (IOException e) {
+						throw new IllegalStateException("Cannot write "+snapshotFile, e);
+					}
+				}
+			});
 		}
-		if(field.isPages(tagName)){
-			pageBuilder.append(ch, start, length);
+		field.displayResult(graph, others, ready);
+		try{
+			graph.run();
+			System.out.println(graph.getReport());
+//			calculate the run-time and display it
+			difference = (int) (System.currentTimeMillis() - start);
+			runtime += (difference >= 60000) ? difference/60000+"min:"+(difference%60000)/1000+"sec" : difference/1000+"sec";
+			System.out.println(runtime);
+		}finally{
+//			release ressources, also if a step failed
+			field.flushAndClose();
+			sdComputation.flushAndClose();
+			flushAndClose();
 		}
+		System.out.println("Parsing ended...");
 	}
-	
-	/* (non-Javadoc)
-	 * @see org.xml.sax.helpers.DefaultHandler#endElement(java.lang.String, 
-	 * java.lang.String, java.lang.String)
-	 * Receive notification of the end of an element.
-	 * Stores  a person object in the list, when the parser goes out of a author/editor<br/>
-	 * element.
-	 * Invokes the update methods of the class fields when the parse go out<br/>
-	 * goes out of a publication element.
+
+	/**
+	 * Skips the publications which the filter does not accept and, in the<br/>
+	 * incremental mode, the publications which did not change since the<br/>
+	 * previous run.
 	 */
 	@Override
-	public void endElement(String url, String localName, String qName){
-		
-		decrementLevel();
-
-		if(field.isPerson(qName)){//parser is outside a author/editor element.
-			if(!personNameBuilder.toString().isEmpty()){
-				tmpPersonList.add(new Person(personNameBuilder.toString(), key));
-				personNameBuilder.setLength(0);
-			}
-		}
-		
-		if(field.isTitle(qName))//parser is outside a title element.
-			insideTitle = false;
-		
-		
-		if(level == 1){//parser is outside a publication element.
-			
-			field.updateFieldDistributionList(qName, key);
-			field.updatePersonList(tmpPersonList, tmpYear);
-			if(!titleBuilder.toString().isEmpty())
-				field.updateTitleStat(new Title(titleBuilder.toString(), key));
-			if(insideEe){
-				if(tmpYear.getIntKeyValue() != -1)
-					field.updateEeStat(tmpYear);
-			}
-			if(!crossrefBuilder.toString().isEmpty() && !crossrefBuilder.toString().startsWith("homepages"))
-				field.updateCrossrefStat(crossrefBuilder.toString());
-			if(!pageBuilder.toString().isEmpty())
-				field.updatePagesStat(new Page(pageBuilder.toString(), key));
-			
-			tmpPersonList = new ArrayList<>();
-			tmpYear = new IntKey(-1);
-			insideEe = false;
-			titleBuilder.setLength(0);
-			crossrefBuilder.setLength(0);
-			pageBuilder.setLength(0);
-			key = "";
-		}
+	protected boolean accept(String type, String key, String mdate){
+		return super.accept(type, key, mdate) && (incremental == null || incremental.accept(key, mdate));
 	}
-	
-	/* (non-Javadoc)
-	 * @see org.xml.sax.helpers.DefaultHandler#endDocument()
-	 * Invokes the display methods of the classes field and mDate to print <br/>
-	 * the statistical data out.<br/>
-	 * Calculates the run time of the application and display it on the console.<br/>
-	 * Flushes an closes all output files.<br/>
+
+	/**
+	 * In the incremental mode, stores the contribution of the publication<br/>
+	 * for the next run. Adds the publication to the exported snapshot.
 	 */
 	@Override
-	public void endDocument(){
-		
-		mDate.displayResult();
-		field.displayResult();
-//		calculate the run-time and display it
-		difference = (int) (System.currentTimeMillis() - start);
-		runtime += (difference >= 60000) ? difference/60000+"min:"+(difference%60000)/1000+"sec" : difference/1000+"sec";
-		System.out.println(runtime);
-		
-//		release ressources
-		mDate.flushAndClose();
-		field.flushAndClose();
-		sdComputation.flushAndClose();
-		flushAndClose();
-		System.out.println("Parsing ended...");
+	protected void publish(Publication p){
+		super.publish(p);
+		if(incremental != null)
+			incremental.add(p);
+		if(snapshot != null)
+			snapshot.add(p);
 	}
 
 	@Override
@@ -338,28 +372,23 @@ public class MyParser extends DefaultHandler implements MyPath {
 		log.close();
 	}
 
-	public static PrintWriter getLog() {
-		return log;
-	}
-
-	public int getLevel (){ 
-		return level;
-	}
-
 	/**
-	 * Increments the level when the SAX parser get in an XML element.<br/>
-	 * ++level
+	 * @return The log file, or the writer of the current thread (see setLogSection).
 	 */
-	public void incrementLevel(){
-		++level;
+	public static PrintWriter getLog() {
+		PrintWriter section = logSection.get();
+		return (section != null) ? section : log;
 	}
 
 	/**
-	 * Decrements the level when the SAX parser get out of an XML element.<br/>
-	 * --level 
+	 * Lets getLog return another writer in the current thread.
+	 * @param section: writer, or null to write in the log file again.
 	 */
-	public void decrementLevel(){
-		--level;
+	public static void setLogSection(PrintWriter section) {
+		if(section == null)
+			logSection.remove();
+		else
+			logSection.set(section);
 	}
 
 	public static int getMAX(){
@@ -0,0 +1,380 @@
+package org.dblp.parser;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.dblp.analyzer.Analyzers;
+import org.dblp.helper.MyPath;
+
+/**
+ * Options of the application given on the command line.<br/>
+ * Usage: MyParser [options] [dblp.xml | dblp.xml.gz]<br/>
+ * --parallel : parses the XML document with all available cores.<br/>
+ * --threads n : parses the XML document with n threads.<br/>
+ * --engine sax|stax|mapped : reads the XML document with a SAX parser<br/>
+ * (default), a StAX pull parser or the bytes of the memory mapped file.<br/>
+ * --builtin-dtd : takes the entities of dblp.dtd from DblpDtd, the DTD file<br/>
+ * is never loaded.<br/>
+ * --incremental file : analyzes only the publications which were added or<br/>
+ * changed since the previous run, whose result is saved in the file (see<br/>
+ * IncrementalState). Parses with one thread.<br/>
+ * --checkpoint file : writes a checkpoint in the file every 64 MB of the XML<br/>
+ * document (see CheckpointParser). Parses with one thread.<br/>
+ * --checkpoint-interval mb : number of megabytes between two checkpoints.<br/>
+ * --resume : goes on with the run saved in the checkpoint file.<br/>
+ * --export-snapshot file : writes the facts of all publications in a<br/>
+ * ColumnarSnapshot. Parses with one thread.<br/>
+ * --pipeline n : one thread parses, n threads analyze the publications<br/>
+ * (see PublicationPipeline).<br/>
+ * --snapshot file : analyzes the publications of a ColumnarSnapshot instead<br/>
+ * of parsing the XML document. Cannot be combined with the options which<br/>
+ * change how the XML document is parsed: --threads, --incremental,<br/>
+ * --checkpoint, --export-snapshot and --pipeline.<br/>
+ * --analyzers a,b : runs only the analyzers a and b (see Analyzers), e.g.<br/>
+ * --analyzers new-authors,ee. All analyzers run by default.<br/>
+ * --filter expression : analyzes only the publications which the<br/>
+ * RecordFilter accepts, e.g. --filter "type=article;year=2010-2020". Cannot<br/>
+ * be combined with the incremental mode, checkpoints and the export of a<br/>
+ * snapshot, whose saved results are complete.<br/>
+ * --approximate : estimates the results which depend on each author/editor<br/>
+ * (new authors per year, person name lengths) with sketches in a bounded<br/>
+ * memory (see CareerSketch). Cannot be combined with the incremental mode,<br/>
+ * because a sketch cannot take a publication out.<br/>
+ * The XML document can be gzip compressed (*.gz), but is then parsed by<br/>
+ * one thread with the SAX or StAX engine.<br/>
+ * Without XML document, MyPath.DBLPXML is parsed.
+ * @author SergeOliver
+ *
+ */
+public class Options {
+
+	/**
+	 * Engines which can read the XML document.
+	 */
+	public enum EngineType {
+		SAX, STAX, MAPPED;
+
+		/**
+		 * @return A new engine of this type which loads the DTD file.
+		 */
+		public ParserEngine newEngine(){
+			return newEngine(false);
+		}
+
+		/**
+		 * @param builtInDtd: true if the engine takes the entities from DblpDtd<br/>
+		 * instead of loading the DTD file.
+		 * @return A new engine of this type.
+		 */
+		public ParserEngine newEngine(boolean builtInDtd){
+			switch(this){
+			case STAX:
+				return new StaxEngine(builtInDtd);
+			case MAPPED:
+				return new MappedEngine(builtInDtd);
+			default:
+				return new SaxEngine(builtInDtd);
+			}
+		}
+	}
+
+	/**
+	 * XML document to be parsed.
+	 */
+	private String input = MyPath.DBLPXML;
+
+	/**
+	 * Number of threads which parse the XML document.
+	 */
+	private int parallelism = 1;
+
+	/**
+	 * Engine which reads the XML document.
+	 */
+	private EngineType engine = EngineType.SAX;
+
+	/**
+	 * Take the entities of dblp.dtd from DblpDtd instead of loading the DTD file?
+	 */
+	private boolean builtInDtd = false;
+
+	/**
+	 * File of the incremental mode, or null for a full run.
+	 */
+	private String incremental = null;
+
+	/**
+	 * Checkpoint file, or null to parse without checkpoints.
+	 */
+	private String checkpoint = null;
+
+	/**
+	 * Number of megabytes of the XML document between two checkpoints.
+	 */
+	private int checkpointInterval = 64;
+
+	/**
+	 * Go on with the run saved in the checkpoint file?
+	 */
+	private boolean resume = false;
+
+	/**
+	 * File in which the ColumnarSnapshot is exported, or null.
+	 */
+	private String exportSnapshot = null;
+
+	/**
+	 * ColumnarSnapshot which is analyzed instead of the XML document, or null.
+	 */
+	private String snapshot = null;
+
+	/**
+	 * Number of aggregation threads of the PublicationPipeline, or 0 to<br/>
+	 * analyze the publications in the parser thread.
+	 */
+	private int pipeline = 0;
+
+	/**
+	 * Names of the analyzers to be run, or null to run all of them.
+	 */
+	private List<String> analyzers = null;
+
+	/**
+	 * Selects the publications which are analyzed, or null to analyze all of them.
+	 */
+	private RecordFilter filter = null;
+
+	/**
+	 * Estimate the results with sketches in a bounded memory?
+	 */
+	private boolean approximate = false;
+
+	/**
+	 * @param args: command line arguments.
+	 * @return The options given on the command line.
+	 * @throws IllegalArgumentException for unknown or incomplete options.
+	 */
+	public static Options parse(String[] args){
+		Options options = new Options();
+		for(int i=0; i<args.length; i++){
+			String arg = args[i];
+			if(arg.equals("--parallel")){
+				options.parallelism = Runtime.getRuntime().availableProcessors();
+			}else if(arg.equals("--threads")){
+				options.parallelism = Integer.parseInt(value(args, ++i, arg));
+				if(options.parallelism < 1)
+					throw new IllegalArgumentException("--threads must be at least 1");
+			}else if(arg.equals("--engine")){
+				String engine = value(args, ++i, arg);
+				try {
+					options.engine = EngineType.valueOf(engine.toUpperCase());
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("Unknown engine "+engine);
+				}
+			}else if(arg.equals("--builtin-dtd")){
+				options.builtInDtd = true;
+			}else if(arg.equals("--incremental")){
+				options.incremental = value(args, ++i, arg);
+			}else if(arg.equals("--checkpoint")){
+				options.checkpoint = value(args, ++i, arg);
+			}else if(arg.equals("--checkpoint-interval")){
+				options.checkpointInterval = Integer.parseInt(value(args, ++i, arg));
+				if(options.checkpointInterval < 1)
+					throw new IllegalArgumentException("--checkpoint-interval must be at least 1");
+			}else if(arg.equals("--resume")){
+				options.resume = true;
+			}else if(arg.equals("--export-snapshot")){
+				options.exportSnapshot = value(args, ++i, arg);
+			}else if(arg.equals("--pipeline")){
+				options.pipeline = Integer.parseInt(value(args, ++i, arg));
+				if(options.pipeline < 1)
+					throw new IllegalArgumentException("--pipeline must be at least 1");
+			}else if(arg.equals("--snapshot")){
+				options.snapshot = value(args, ++i, arg);
+			}else if(arg.equals("--analyzers")){
+				options.analyzers = Arrays.asList(value(args, ++i, arg).split(","));
+			}else if(arg.equals("--filter")){
+				options.filter = RecordFilter.parse(value(args, ++i, arg));
+			}else if(arg.equals("--approximate")){
+				options.approximate = true;
+			}else if(arg.startsWith("--")){
+				throw new IllegalArgumentException("Unknown option "+arg);
+			}else{
+				options.input = arg;
+			}
+		}
+		if(options.incremental != null && options.parallelism > 1)
+			throw new IllegalArgumentException("The incremental mode parses with one thread");
+		if(options.resume && options.checkpoint == null)
+			throw new IllegalArgumentException("--resume needs the --checkpoint file");
+		if(options.checkpoint != null){
+			if(options.parallelism > 1 || options.incremental != null)
+				throw new IllegalArgumentException("Checkpoints are written by one thread without the incremental mode");
+			if(PipelinedGzipInputStream.isCompressed(options.input))
+				throw new IllegalArgumentException("Checkpoints need an uncompressed XML document");
+		}
+		if(options.exportSnapshot != null && (options.parallelism > 1 || options.incremental != null || options.checkpoint != null))
+			throw new IllegalArgumentException("A snapshot is exported by one thread without the incremental mode and checkpoints");
+		if(options.pipeline > 0 && (options.parallelism > 1 || options.incremental != null
+				|| options.checkpoint != null || options.exportSnapshot != null))
+			throw new IllegalArgumentException("The pipeline cannot be combined with --threads, --incremental, --checkpoint or --export-snapshot");
+		if(options.snapshot != null && (options.parallelism > 1 || options.incremental != null || options.checkpoint != null
+				|| options.exportSnapshot != null || options.pipeline > 0))
+			throw new IllegalArgumentException("--snapshot cannot be combined with --threads, --incremental, --checkpoint, --export-snapshot or --pipeline");
+		if(options.filter != null && (options.incremental != null || options.checkpoint != null || options.exportSnapshot != null))
+			throw new IllegalArgumentException("--filter cannot be combined with --incremental, --checkpoint or --export-snapshot");
+		if(options.approximate && options.incremental != null)
+			throw new IllegalArgumentException("--approximate cannot be combined with --incremental");
+		if(PipelinedGzipInputStream.isCompressed(options.input)){
+			if(options.parallelism > 1)
+				throw new IllegalArgumentException("A compressed XML document cannot be parsed with several threads");
+			if(options.engine == EngineType.MAPPED)
+				throw new IllegalArgumentException("A compressed XML document cannot be read by the mapped engine");
+		}
+		return options;
+	}
+
+	/**
+	 * @return The value of the option at index i.
+	 */
+	private static String value(String[] args, int i, String option){
+		if(i >= args.length)
+			throw new IllegalArgumentException("Missing value of the option "+option);
+		return args[i];
+	}
+
+	/**
+	 * @return The list of options which is displayed when the command line is wrong.
+	 */
+	public static String usage(){
+		return "Usage: MyParser [options] [dblp.xml | dblp.xml.gz]\n"
+				+ "  --parallel    parse with all available cores\n"
+				+ "  --threads n   parse with n threads\n"
+				+ "  --engine e    sax (default), stax or mapped\n"
+				+ "  --builtin-dtd use the built-in entities of dblp.dtd, never load the DTD file\n"
+				+ "  --incremental f  only analyze the publications added or changed since the\n"
+				+ "                run which saved the file f, and update f\n"
+				+ "  --checkpoint f  write a checkpoint in the file f every 64 MB\n"
+				+ "  --checkpoint-interval mb  megabytes between two checkpoints\n"
+				+ "  --resume      go on with the run saved in the --checkpoint file\n"
+				+ "  --export-snapshot f  write the facts of all publications in the snapshot f\n"
+				+ "  --pipeline n  parse in one thread, analyze in n threads\n"
+				+ "  --snapshot f  analyze the snapshot f instead of the XML document\n"
+				+ "  --analyzers a,b  run only the analyzers a and b of "+Analyzers.getNames()+"\n"
+				+ "  --filter expr  only analyze the publications which match the expression,\n"
+				+ "                e.g. type=article,inproceedings;key=journals/*;year=2010-2020\n"
+				+ "  --approximate  estimate the author/editor results in a bounded memory\n";
+	}
+
+	public String getInput() {
+		return input;
+	}
+
+	public void setInput(String input) {
+		this.input = input;
+	}
+
+	public EngineType getEngine() {
+		return engine;
+	}
+
+	public void setEngine(EngineType engine) {
+		this.engine = engine;
+	}
+
+	public String getIncremental() {
+		return incremental;
+	}
+
+	public void setIncremental(String incremental) {
+		this.incremental = incremental;
+	}
+
+	public String getCheckpoint() {
+		return checkpoint;
+	}
+
+	public void setCheckpoint(String checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+
+	public int getCheckpointInterval() {
+		return checkpointInterval;
+	}
+
+	public void setCheckpointInterval(int checkpointInterval) {
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	public boolean isResume() {
+		return resume;
+	}
+
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+
+	public String getExportSnapshot() {
+		return exportSnapshot;
+	}
+
+	public void setExportSnapshot(String exportSnapshot) {
+		this.exportSnapshot = exportSnapshot;
+	}
+
+	public String getSnapshot() {
+		return snapshot;
+	}
+
+	public void setSnapshot(String snapshot) {
+		this.snapshot = snapshot;
+	}
+
+	public int getPipeline() {
+		return pipeline;
+	}
+
+	public void setPipeline(int pipeline) {
+		this.pipeline = pipeline;
+	}
+
+	public List<String> getAnalyzers() {
+		return analyzers;
+	}
+
+	public void setAnalyzers(List<String> analyzers) {
+		this.analyzers = analyzers;
+	}
+
+	public RecordFilter getFilter() {
+		return filter;
+	}
+
+	public void setFilter(RecordFilter filter) {
+		this.filter = filter;
+	}
+
+	public boolean isApproximate() {
+		return approximate;
+	}
+
+	public void setApproximate(boolean approximate) {
+		this.approximate = approximate;
+	}
+
+	public boolean isBuiltInDtd() {
+		return builtInDtd;
+	}
+
+	public void setBuiltInDtd(boolean builtInDtd) {
+		this.builtInDtd = builtInDtd;
+	}
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+}
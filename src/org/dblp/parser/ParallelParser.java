@@ -0,0 +1,186 @@
+package org.dblp.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.dblp.parser.Options.EngineType;
+import org.xml.sax.SAXException;
+
+/**
+ * Parses the dblp XML document with several threads.<br/>
+ * The document is split in parts which start and end on the boundary of<br/>
+ * publication elements (see XmlChunk). Each thread parses the parts it gets<br/>
+ * with its own parser engine and its own PublicationHandler, so it fills its own<br/>
+ * Field object. MyParser merges them when the document ends.<br/>
+ * The parts are distributed by a fork/join pool: a thread which is done<br/>
+ * with its parts steals parts of the busy threads, so that some parts <br/>
+ * being larger or slower than the others do not keep the other threads waiting.
+ * @author SergeOliver
+ *
+ */
+public class ParallelParser {
+
+	/**
+	 * Number of parts per thread. More parts make the work stealing finer.
+	 */
+	private static final int CHUNKS_PER_THREAD = 8;
+
+	private final File dblpxml;
+
+	private final int parallelism;
+
+	/**
+	 * Handlers of all threads which parsed at least one part.
+	 */
+	private final List<PublicationHandler> handlers = Collections.synchronizedList(new ArrayList<PublicationHandler>());
+
+	/**
+	 * Handler of the current thread.
+	 */
+	private final ThreadLocal<PublicationHandler> handler = new ThreadLocal<PublicationHandler>(){
+		@Override
+		protected PublicationHandler initialValue(){
+			PublicationHandler h = new PublicationHandler();
+			h.setFilter(filter);
+			handlers.add(h);
+			return h;
+		}
+	};
+
+	private final EngineType engine;
+
+	/**
+	 * Take the entities from DblpDtd instead of loading the DTD file?
+	 */
+	private final boolean builtInDtd;
+
+	/**
+	 * Selects the publications which are analyzed, or null.
+	 */
+	private final RecordFilter filter;
+
+	/**
+	 * @param dblpxml: XML document to be parsed.
+	 * @param parallelism: number of threads.
+	 * @param engine which reads the parts.
+	 */
+	public ParallelParser(String dblpxml, int parallelism, EngineType engine){
+		this(dblpxml, parallelism, engine, false);
+	}
+
+	/**
+	 * @param dblpxml: XML document to be parsed.
+	 * @param parallelism: number of threads.
+	 * @param engine which reads the parts.
+	 * @param builtInDtd: true to take the entities from DblpDtd.
+	 */
+	public ParallelParser(String dblpxml, int parallelism, EngineType engine, boolean builtInDtd){
+		this(dblpxml, parallelism, engine, builtInDtd, null);
+	}
+
+	/**
+	 * @param dblpxml: XML document to be parsed.
+	 * @param parallelism: number of threads.
+	 * @param engine which reads the parts.
+	 * @param builtInDtd: true to take the entities from DblpDtd.
+	 * @param filter: selects the publications which are analyzed, or null.
+	 */
+	public ParallelParser(String dblpxml, int parallelism, EngineType engine, boolean builtInDtd, RecordFilter filter){
+		this.dblpxml = new File(dblpxml);
+		this.parallelism = parallelism;
+		this.engine = engine;
+		this.builtInDtd = builtInDtd;
+		this.filter = filter;
+	}
+
+	/**
+	 * Parses all parts of the XML document.
+	 * @return The handlers of the threads. Their Field objects<br/>
+	 * have to be merged to get the result of the whole document.
+	 * @throws ParserConfigurationException
+	 * @throws SAXException
+	 * @throws IOException
+	 */
+	public List<PublicationHandler> parse() throws ParserConfigurationException, SAXException, IOException{
+		List<XmlChunk> chunks = XmlChunk.split(dblpxml, parallelism * CHUNKS_PER_THREAD);
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try{
+			if(!chunks.isEmpty())
+				pool.invoke(new ChunkTask(chunks, 0, chunks.size()));
+		}catch(ChunkException e){
+			Throwable cause = e;
+			while(cause instanceof ChunkException)
+				cause = cause.getCause();
+			if(cause instanceof SAXException) throw (SAXException) cause;
+			if(cause instanceof IOException) throw (IOException) cause;
+			if(cause instanceof ParserConfigurationException) throw (ParserConfigurationException) cause;
+			throw e;
+		}finally{
+			pool.shutdown();
+		}
+		return handlers;
+	}
+
+	/**
+	 * Parses one part with the handler of the current thread.
+	 * @param chunk
+	 * @throws ParserConfigurationException
+	 * @throws SAXException
+	 * @throws IOException
+	 */
+	private void parseChunk(XmlChunk chunk) throws ParserConfigurationException, SAXException, IOException{
+		chunk.parse(engine.newEngine(builtInDtd), handler.get());
+	}
+
+	/**
+	 * Parses the parts [from, to) by splitting them in two halves until only<br/>
+	 * one part is left.
+	 */
+	private class ChunkTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<XmlChunk> chunks;
+		private final int from;
+		private final int to;
+
+		ChunkTask(List<XmlChunk> chunks, int from, int to){
+			this.chunks = chunks;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from == 1){
+				try {
+					parseChunk(chunks.get(from));
+				} catch (ParserConfigurationException | SAXException | IOException e) {
+					throw new ChunkException(chunks.get(from), e);
+				}
+			}else{
+				int middle = (from + to) >>> 1;
+				invokeAll(new ChunkTask(chunks, from, middle), new ChunkTask(chunks, middle, to));
+			}
+		}
+	}
+
+	/**
+	 * Carries the checked exception of a part out of the fork/join pool.
+	 */
+	private static class ChunkException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		ChunkException(XmlChunk chunk, Throwable cause){
+			super("Error while parsing "+chunk, cause);
+		}
+	}
+}
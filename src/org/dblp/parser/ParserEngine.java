@@ -0,0 +1,28 @@
+package org.dblp.parser;
+
+import java.io.IOException;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads a dblp XML document and gives each publication to a PublicationHandler.<br/>
+ * Implemented by SaxEngine (SAX callbacks) and StaxEngine (StAX pull parser).
+ * @author SergeOliver
+ *
+ */
+public interface ParserEngine {
+
+	/**
+	 * Parses the XML document. A PublicationHandler ignores the beginning and<br/>
+	 * the end of the document, so an engine may notify them or not.
+	 * @param source: XML document. Its system id is used to find the DTD.
+	 * @param handler which receives the publications.
+	 * @throws ParserConfigurationException
+	 * @throws SAXException
+	 * @throws IOException
+	 */
+	void parse(InputSource source, PublicationHandler handler) throws ParserConfigurationException, SAXException, IOException;
+}
@@ -0,0 +1,221 @@
+package org.dblp.parser;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a gzip compressed XML document (e.g. dblp.xml.gz).<br/>
+ * The decompression runs on its own thread, which fills large blocks and<br/>
+ * passes them through a bounded queue to the thread which reads the stream<br/>
+ * (the parser thread). So the decompression of the next blocks overlaps with<br/>
+ * the parsing of the current block.<br/>
+ * The blocks are recycled through a second queue: no block is allocated<br/>
+ * after the start. The bounded queues let the decompression thread wait<br/>
+ * when the parser is slower, so the memory needed stays constant.
+ * @author SergeOliver
+ *
+ */
+public class PipelinedGzipInputStream extends InputStream {
+
+	/**
+	 * Size of a block in bytes.
+	 */
+	private static final int BLOCK_SIZE = 1 << 20;
+
+	/**
+	 * Number of decompressed blocks which can wait for the parser.
+	 */
+	private static final int QUEUE_CAPACITY = 8;
+
+	/**
+	 * Decompressed bytes which are passed to the parser.
+	 */
+	private static class Block {
+
+		private final byte[] data = new byte[BLOCK_SIZE];
+
+		private int length = 0;
+	}
+
+	/**
+	 * Marks the end of the compressed document or a failure of the decompression.
+	 */
+	private static final Block END = new Block();
+
+	/**
+	 * Blocks filled by the decompression thread.
+	 */
+	private final BlockingQueue<Block> filled = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 1);
+
+	/**
+	 * Blocks which can be filled again.
+	 */
+	private final BlockingQueue<Block> free = new ArrayBlockingQueue<>(QUEUE_CAPACITY + 1);
+
+	private final Thread inflater;
+
+	/**
+	 * Error of the decompression thread, thrown to the parser.
+	 */
+	private volatile IOException failure;
+
+	/**
+	 * Block which is read by the parser.
+	 */
+	private Block current;
+
+	private int position = 0;
+
+	private boolean ended = false;
+
+	/**
+	 * Time in nanoseconds the parser waited for decompressed blocks.
+	 */
+	private long readerWaitTime = 0;
+
+	/**
+	 * Time in nanoseconds the decompression thread waited for free blocks.
+	 */
+	private volatile long inflaterWaitTime = 0;
+
+	/**
+	 * Opens the file and starts the decompression thread.
+	 * @param file: gzip compressed document.
+	 * @throws IOException if the file cannot be opened or is not in gzip format.
+	 */
+	public PipelinedGzipInputStream(File file) throws IOException{
+		final InputStream in = new GZIPInputStream(new FileInputStream(file), 1 << 16);
+		for(int i=0; i<QUEUE_CAPACITY; i++)
+			free.add(new Block());
+		inflater = new Thread(new Runnable(){
+			@Override
+			public void run() {
+				inflate(in);
+			}
+		}, "gzip-inflater "+file.getName());
+		inflater.setDaemon(true);
+		inflater.start();
+	}
+
+	/**
+	 * Body of the decompression thread.
+	 * @param in: decompressing stream.
+	 */
+	private void inflate(InputStream in){
+		try(InputStream gzip = in){
+			while(true){
+				long wait = System.nanoTime();
+				Block block = free.take();
+				inflaterWaitTime += System.nanoTime() - wait;
+				block.length = 0;
+				int n = 0;
+				while(block.length < BLOCK_SIZE && (n = gzip.read(block.data, block.length, BLOCK_SIZE - block.length)) >= 0)
+					block.length += n;
+				if(block.length > 0)
+					filled.put(block);
+				if(n < 0)
+					break;
+			}
+		}catch(IOException e){
+			failure = e;
+		}catch(InterruptedException e){
+			return;//the stream was closed
+		}
+		filled.offer(END);
+	}
+
+	/**
+	 * @return True if a block with unread bytes is available, false at the end of the document.
+	 * @throws IOException if the decompression failed.
+	 */
+	private boolean nextBlock() throws IOException{
+		if(current != null && position < current.length)
+			return true;
+		if(ended)
+			return false;
+		if(current != null)
+			free.offer(current);
+		long wait = System.nanoTime();
+		try {
+			current = filled.take();
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException("Interrupted while waiting for the decompression");
+		}
+		readerWaitTime += System.nanoTime() - wait;
+		position = 0;
+		if(current == END){
+			ended = true;
+			current = null;
+			if(failure != null)
+				throw failure;
+			return false;
+		}
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if(!nextBlock())
+			return -1;
+		return current.data[position++] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if(len == 0)
+			return 0;
+		if(!nextBlock())
+			return -1;
+		int n = Math.min(len, current.length - position);
+		System.arraycopy(current.data, position, b, off, n);
+		position += n;
+		return n;
+	}
+
+	@Override
+	public int available() throws IOException {
+		return (current == null) ? 0 : current.length - position;
+	}
+
+	/**
+	 * Stops the decompression thread.
+	 */
+	@Override
+	public void close() throws IOException {
+		ended = true;
+		inflater.interrupt();
+		try {
+			inflater.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * @return Time in milliseconds the parser waited for the decompression.
+	 */
+	public long getReaderWaitTime() {
+		return readerWaitTime / 1000000;
+	}
+
+	/**
+	 * @return Time in milliseconds the decompression waited for the parser.
+	 */
+	public long getInflaterWaitTime() {
+		return inflaterWaitTime / 1000000;
+	}
+
+	/**
+	 * @param path
+	 * @return True if the file is gzip compressed according to its name.
+	 */
+	public static boolean isCompressed(String path){
+		return path.endsWith(".gz");
+	}
+}
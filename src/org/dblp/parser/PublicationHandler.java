@@ -0,0 +1,390 @@
+package org.dblp.parser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.dblp.field.Field;
+import org.dblp.field.Publication;
+import org.dblp.helper.IntKey;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX content handler which collects the data of each publication element<br/>
+ * of the dblp XML document and gives them to its Field object<br/>
+ * when the parser goes out of the publication element.<br/>
+ * It does not care about the beginning and the end of the document, so that<br/>
+ * the same handler can be used for several parts of the XML document<br/>
+ * (see ParallelParser). MyParser adds the output of the results.<br/>
+ * Only the fields which the analyzers of the Field object read are handled<br/>
+ * (see project): the text of the other fields is not copied.<br/>
+ * A RecordFilter selects the publications which are analyzed (see setFilter).
+ * @author SergeOliver
+ *
+ */
+public class PublicationHandler extends DefaultHandler {
+
+	/**
+	 * Stores the current position of the parser on the dbp.xml tree.<br/>
+	 * level 1: &lt;dblp&gt; or &lt;/dblp&gt;<br/>
+	 * level 2:		&lt;publication&gt; or &lt;/publication&gt; e.g. &lt;article&gt;...&lt;/article&gt;<br/>
+	 * level 3: 			&lt;field&gt;	or &lt;/field&gt; e.g. &lt;author&gt;...&lt;/author&gt;
+	 */
+	private int level = 0;
+
+	protected Field field = new Field();
+
+	/**
+	 * Stores the data of the publication that is being parsed.
+	 */
+	private Publication publication = new Publication();
+
+	/**
+	 * Is the SAX parser inside a title element?
+	 */
+	private boolean insideTitle = false;
+
+	/**
+	 * Is the SAX parser inside a publication which was not accepted?
+	 */
+	private boolean skipping = false;
+
+	/**
+	 * Tag dictionary: id of each element name met so far.
+	 */
+	private final Map<String, Integer> tagIds = new HashMap<>();
+
+	/**
+	 * List of (element name -> registered handler) pairs.
+	 */
+	private final Map<String, FieldHandler> handlers = new HashMap<>();
+
+	/**
+	 * Names of the field elements which are read, or null to read all of them.
+	 */
+	private Set<String> elements;
+
+	/**
+	 * Selects the publications which are published, or null to publish all of them.
+	 */
+	private RecordFilter filter;
+
+	/**
+	 * Handler table: fieldHandlers[id] handles the elements whose name has<br/>
+	 * the id, NONE if no handler was registered or the element is not read.
+	 */
+	private FieldHandler[] fieldHandlers = new FieldHandler[16];
+
+	/**
+	 * tagStack[level]: id of the element at the level of the current path.
+	 */
+	private int[] tagStack = new int[8];
+
+	/**
+	 * Handler of the character data at the current position of the parser.
+	 */
+	private FieldHandler textHandler = NONE;
+
+	/**
+	 * Handler of the elements without registered handler.
+	 */
+	private static final FieldHandler NONE = new FieldHandler();
+
+	private final FieldHandler personHandler = new FieldHandler(){
+		@Override
+		public void characters(Publication p, char[] ch, int start, int length){
+			p.appendPersonName(ch, start, length);
+		}
+
+		@Override
+		public void end(Publication p){
+			p.endPersonName();
+		}
+	};
+
+	/**
+	 * Ignores the title of homepages because they are not relevant for the analysis.<br/>
+	 * Gets the characters of the elements inside the title too, e.g. &lt;i&gt;.
+	 */
+	private final FieldHandler titleHandler = new FieldHandler(){
+		@Override
+		public void start(Publication p){
+			if(!p.getKey().startsWith("homepages"))
+				insideTitle = true;
+		}
+
+		@Override
+		public void characters(Publication p, char[] ch, int start, int length){
+			if(insideTitle)
+				p.appendTitle(ch, start, length);
+		}
+
+		@Override
+		public void end(Publication p){
+			insideTitle = false;
+		}
+	};
+
+	public PublicationHandler(){
+		register("author", personHandler);
+		register("editor", personHandler);
+		register("title", titleHandler);
+		register("year", new FieldHandler(){
+			@Override
+			public void characters(Publication p, char[] ch, int start, int length){
+				p.setYear(IntKey.valueOf(IntKey.parseInt(ch, start, length)));
+			}
+
+			@Override
+			public void end(Publication p){
+				if(!acceptYear(p.getYear()))
+					discard();
+			}
+		});
+		register("ee", new FieldHandler(){
+			@Override
+			public void start(Publication p){
+				p.setEe(true);
+			}
+		});
+		register("crossref", new FieldHandler(){
+			@Override
+			public void characters(Publication p, char[] ch, int start, int length){
+				p.appendCrossref(ch, start, length);
+			}
+		});
+		register("pages", new FieldHandler(){
+			@Override
+			public void characters(Publication p, char[] ch, int start, int length){
+				p.appendPages(ch, start, length);
+			}
+		});
+		project(field.getElements());
+	}
+
+	/**
+	 * Registers the handler of an element name. It replaces the handler<br/>
+	 * which was registered before for the name, if any. The handler is only<br/>
+	 * called if the element is read (see project).
+	 * @param tagName: name of the element, e.g. "author".
+	 * @param handler
+	 */
+	public void register(String tagName, FieldHandler handler){
+		handlers.put(tagName, handler);
+		fieldHandlers[tagId(tagName)] = reads(tagName) ? handler : NONE;
+	}
+
+	/**
+	 * Projection: reads only the data of some field elements. The handlers<br/>
+	 * of the other elements are not called, so their text is neither copied<br/>
+	 * nor converted, and the engines skip it (see reads). The other elements<br/>
+	 * are still counted as fields of the publication.
+	 * @param elements: names of the elements to be read, e.g. the ones which<br/>
+	 * the analyzers need (see Field.getElements), or null to read all of them.
+	 */
+	public void project(Set<String> elements){
+		this.elements = elements;
+		for(Entry<String, FieldHandler> e : handlers.entrySet())
+			fieldHandlers[tagId(e.getKey())] = reads(e.getKey()) ? e.getValue() : NONE;
+	}
+
+	/**
+	 * @param tagName: name of a field element.
+	 * @return True if the data of the element are read. The year is always<br/>
+	 * read if the filter has a condition on it.
+	 */
+	public boolean reads(String tagName){
+		return elements == null || elements.contains(tagName)
+				|| (filter != null && filter.hasYears() && tagName.equals("year"));
+	}
+
+	/**
+	 * Predicate pushdown: only the publications which the filter accepts are<br/>
+	 * published. The others are skipped as soon as possible, i.e. at their<br/>
+	 * start tag (type and key, see accept) or after their year element<br/>
+	 * (see acceptYear), so the rest of their text is not read.
+	 * @param filter or null to publish all publications.
+	 */
+	public void setFilter(RecordFilter filter){
+		this.filter = filter;
+		project(elements);
+	}
+
+	/**
+	 * Looks an element name up in the tag dictionary and adds it if it is new.
+	 * @param tagName
+	 * @return The id of the element name.
+	 */
+	private int tagId(String tagName){
+		Integer id = tagIds.get(tagName);
+		if(id == null){
+			id = tagIds.size();
+			tagIds.put(tagName, id);
+			if(id == fieldHandlers.length)
+				fieldHandlers = Arrays.copyOf(fieldHandlers, id * 2);
+			fieldHandlers[id] = NONE;
+		}
+		return id;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.xml.sax.helpers.DefaultHandler#startElement(java.lang.String,
+	 * java.lang.String, java.lang.String, org.xml.sax.Attributes)
+	 * Receive notification of the start of an element.<br/>
+	 * Stores the key and the modification date of the publication that is<br/>
+	 * being parsed.<br/>
+	 * Looks the id of the element up once, so that the methods characters<br/>
+	 * and endElement go straight to the handler of the element.<br/>
+	 * Counts the fields inside the current publication.
+	 */
+	@Override
+	public void startElement(String url, String localName, String qName, Attributes atts){
+
+		incrementLevel();
+		if(skipping) return;
+
+		if(level == 2){
+			if(!accept(qName, atts.getValue("key"), atts.getValue("mdate"))){
+				skipping = true;
+				textHandler = NONE;
+				return;
+			}
+			publication.setType(qName);
+			publication.setKey(atts.getValue("key"));
+			publication.setMdate(atts.getValue("mdate"));
+		}
+
+		if(level == 3)
+			publication.incrementNumberOfFields();
+		int id = tagId(qName);
+		if(level == tagStack.length)
+			tagStack = Arrays.copyOf(tagStack, level * 2);
+		tagStack[level] = id;
+		fieldHandlers[id].start(publication);
+		textHandler = insideTitle ? titleHandler : fieldHandlers[id];
+	}
+
+
+	/* (non-Javadoc)
+	 * @see org.xml.sax.helpers.DefaultHandler#characters(char[], int, int)
+	 * Receive notification of character data inside an element.<br/>
+	 * Gives the characters to the handler of the element that is being parsed.
+	 */
+	@Override
+	public void characters(char[] ch, int start, int length){
+
+		if(skipping) return;
+		textHandler.characters(publication, ch, start, length);
+	}
+
+	/* (non-Javadoc)
+	 * @see org.xml.sax.helpers.DefaultHandler#endElement(java.lang.String,
+	 * java.lang.String, java.lang.String)
+	 * Receive notification of the end of an element.
+	 * Notifies the handler of the element, e.g. stores the name of a person<br/>
+	 * in the publication, when the parser goes out of a author/editor element.
+	 * Gives the publication to the Field object when the parser<br/>
+	 * goes out of a publication element.
+	 */
+	@Override
+	public void endElement(String url, String localName, String qName){
+
+		if(skipping){
+			decrementLevel();
+			if(level == 1)//parser is outside the publication which is not accepted.
+				skipping = false;
+			return;
+		}
+
+		int id = tagStack[level];
+		decrementLevel();
+		fieldHandlers[id].end(publication);
+		textHandler = insideTitle ? titleHandler : NONE;//white spaces after the end tag belong to no field
+
+		if(level == 1){//parser is outside a publication element.
+
+			if(acceptYear(publication.getYear()))//the publication may have no year element
+				publish(publication);
+
+			publication.reset();
+		}
+	}
+
+	/**
+	 * Goes out of the publication which is being parsed without publishing<br/>
+	 * it: the rest of the publication is skipped.
+	 */
+	private void discard(){
+		publication.reset();
+		insideTitle = false;
+		textHandler = NONE;
+		skipping = true;
+	}
+
+	/**
+	 * Called by the engines at the start tag of each publication, before<br/>
+	 * its content is read. A publication which is not accepted is skipped<br/>
+	 * as a whole: its text is not decoded and it is not published.<br/>
+	 * Accepts the publications whose type and key the filter accepts.
+	 * @param type: name of the publication element.
+	 * @param key: key attribute of the publication.
+	 * @param mdate: modification date of the publication or null.
+	 * @return True if the publication has to be read and published.
+	 */
+	protected boolean accept(String type, String key, String mdate){
+		return filter == null || filter.accept(type, key);
+	}
+
+	/**
+	 * Called by the engines after the year element of a publication and<br/>
+	 * before the publication is published. A publication which is not<br/>
+	 * accepted is skipped and not published.
+	 * @param year of the publication, -1 if it has no year element.
+	 * @return True if the filter accepts the year.
+	 */
+	public boolean acceptYear(IntKey year){
+		return filter == null || filter.acceptYear(year.getIntKeyValue());
+	}
+
+	/**
+	 * @return The filter or null.
+	 */
+	public RecordFilter getFilter(){
+		return filter;
+	}
+
+	/**
+	 * Gives the publication which was parsed completely to the Field object.
+	 * @param p
+	 */
+	protected void publish(Publication p){
+		field.update(p);
+	}
+
+	public Field getField() {
+		return field;
+	}
+
+	public int getLevel (){
+		return level;
+	}
+
+	/**
+	 * Increments the level when the SAX parser get in an XML element.<br/>
+	 * ++level
+	 */
+	public void incrementLevel(){
+		++level;
+	}
+
+	/**
+	 * Decrements the level when the SAX parser get out of an XML element.<br/>
+	 * --level
+	 */
+	public void decrementLevel(){
+		--level;
+	}
+}
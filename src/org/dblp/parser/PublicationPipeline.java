@@ -0,0 +1,283 @@
+package org.dblp.parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.dblp.field.Publication;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Separates the parse of the dblp XML document from the analysis of the<br/>
+ * publications.<br/>
+ * The parser thread only reads the XML document: it copies each publication<br/>
+ * into the next slot of a ring buffer of preallocated Publication objects,<br/>
+ * which are reused. The analysis (Field.update, including<br/>
+ * the construction of the Person, Title and Page objects, see Publication)<br/>
+ * is done by one or more aggregation threads, each with its own<br/>
+ * PublicationHandler. MyParser merges their Field objects when the<br/>
+ * document ends, as for a ParallelParser.<br/>
+ * Slots are handed over in batches of BATCH publications, to keep the<br/>
+ * threads from waking each other for every publication: batch b is analyzed<br/>
+ * by the aggregation thread b % number of threads. The parser thread waits<br/>
+ * when the slot it needs was not analyzed yet (backpressure), an aggregation<br/>
+ * thread waits when its next batch was not parsed yet.<br/>
+ * The time each thread was busy and waited is printed, which shows how much<br/>
+ * parse and analysis overlapped.
+ * @author SergeOliver
+ *
+ */
+public class PublicationPipeline {
+
+	/**
+	 * Number of slots of the ring buffer. Power of two.
+	 */
+	private static final int SIZE = 1 << 12;
+
+	/**
+	 * Number of publications which are handed over at once.
+	 */
+	private static final int BATCH = 64;
+
+	/**
+	 * Number of times a waiting thread checks again before it parks.
+	 */
+	private static final int SPINS = 100;
+
+	private final Publication[] slots = new Publication[SIZE];
+
+	private final int numberOfAggregators;
+
+	/**
+	 * Selects the publications which the parser thread copies, or null.
+	 */
+	private final RecordFilter filter;
+
+	/**
+	 * Number of publications which were copied into the ring buffer and can<br/>
+	 * be analyzed. Grows by whole batches while the document is parsed.
+	 */
+	private volatile long published = 0;
+
+	/**
+	 * Has the parser thread published the last publication?
+	 */
+	private volatile boolean done = false;
+
+	/**
+	 * progress[i]: first publication of the batch which the aggregation<br/>
+	 * thread i analyzes next. Long.MAX_VALUE when the thread has finished.
+	 */
+	private final AtomicLongArray progress;
+
+	/**
+	 * First error of an aggregation thread, which stops the parse.
+	 */
+	private volatile Throwable error;
+
+	/**
+	 * Nanoseconds the parser thread waited for free slots.
+	 */
+	private long parserWait = 0;
+
+	/**
+	 * @param numberOfAggregators: number of threads which analyze the publications.
+	 */
+	public PublicationPipeline(int numberOfAggregators){
+		this(numberOfAggregators, null);
+	}
+
+	/**
+	 * @param numberOfAggregators: number of threads which analyze the publications.
+	 * @param filter: selects the publications which are analyzed, or null.
+	 */
+	public PublicationPipeline(int numberOfAggregators, RecordFilter filter){
+		if(SIZE < 2 * BATCH * numberOfAggregators)
+			throw new IllegalArgumentException("Too many aggregation threads: "+numberOfAggregators);
+		this.numberOfAggregators = numberOfAggregators;
+		this.filter = filter;
+		progress = new AtomicLongArray(numberOfAggregators);
+		for(int i=0; i<numberOfAggregators; i++)
+			progress.set(i, (long) i * BATCH);
+		for(int i=0; i<SIZE; i++)
+			slots[i] = new Publication();
+	}
+
+	/**
+	 * Parses the XML document with the engine in the current thread and<br/>
+	 * analyzes the publications in the aggregation threads.
+	 * @param source: XML document.
+	 * @param engine which reads the XML document.
+	 * @return The handlers of the aggregation threads. Their Field objects<br/>
+	 * objects have to be merged to get the result of the whole document.
+	 * @throws ParserConfigurationException
+	 * @throws SAXException
+	 * @throws IOException
+	 */
+	public List<PublicationHandler> parse(InputSource source, ParserEngine engine) throws ParserConfigurationException, SAXException, IOException{
+		List<Aggregator> aggregators = new ArrayList<>();
+		for(int i=0; i<numberOfAggregators; i++){
+			Aggregator aggregator = new Aggregator(i);
+			aggregators.add(aggregator);
+			aggregator.start();
+		}
+		long start = System.nanoTime();
+		Producer producer = new Producer();
+		producer.setFilter(filter);
+		try{
+			engine.parse(source, producer);
+		}finally{
+			producer.finish();
+			for(Aggregator aggregator : aggregators){
+				try {
+					aggregator.join();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+		long parserTime = System.nanoTime() - start;
+		if(error != null)
+			throw new SAXException("Error while analyzing the publications", error instanceof Exception ? (Exception) error : new Exception(error));
+
+		StringBuilder report = new StringBuilder("Pipeline: parse thread busy ")
+			.append(millis(parserTime - parserWait)).append(" ms, waited ").append(millis(parserWait)).append(" ms for free slots");
+		List<PublicationHandler> handlers = new ArrayList<>();
+		for(Aggregator aggregator : aggregators){
+			report.append("\nPipeline: aggregation thread ").append(aggregator.index)
+				.append(" busy ").append(millis(aggregator.busy)).append(" ms, waited ")
+				.append(millis(aggregator.waited)).append(" ms for publications");
+			handlers.add(aggregator.handler);
+		}
+		System.out.println(report);
+		return handlers;
+	}
+
+	private static long millis(long nanos){
+		return nanos / 1000000;
+	}
+
+	/**
+	 * Lets a waiting thread spin a little before it parks.
+	 * @param spins: number of times the thread has waited so far.
+	 */
+	private static void pause(int spins){
+		if(spins < SPINS)
+			Thread.yield();
+		else
+			LockSupport.parkNanos(50000);
+	}
+
+	/**
+	 * Handler of the parser thread: copies the publications into the ring buffer.
+	 */
+	private class Producer extends PublicationHandler {
+
+		/**
+		 * Sequence number of the next publication.
+		 */
+		private long next = 0;
+
+		@Override
+		protected void publish(Publication p){
+			waitForSlot(next);
+			slots[(int) (next & (SIZE - 1))].set(p);
+			++next;
+			if(next % BATCH == 0)
+				published = next;
+		}
+
+		/**
+		 * Waits until the slot of a publication was analyzed by the aggregation<br/>
+		 * thread of the previous round.
+		 * @param sequence: sequence number of the publication.
+		 */
+		private void waitForSlot(long sequence){
+			long previous = sequence - SIZE;
+			if(previous < 0) return;
+			int owner = (int) ((previous / BATCH) % numberOfAggregators);
+			if(progress.get(owner) > previous) return;
+			long start = System.nanoTime();
+			for(int spins=0; progress.get(owner) <= previous; spins++){
+				if(error != null)
+					throw new IllegalStateException("An aggregation thread failed", error);
+				pause(spins);
+			}
+			parserWait += System.nanoTime() - start;
+		}
+
+		/**
+		 * Publishes the last, incomplete batch.
+		 */
+		void finish(){
+			published = next;
+			done = true;
+		}
+	}
+
+	/**
+	 * Aggregation thread: analyzes its batches with its own handler.
+	 */
+	private class Aggregator extends Thread {
+
+		private final int index;
+
+		private final PublicationHandler handler = new PublicationHandler();
+
+		/**
+		 * Nanoseconds spent analyzing and waiting.
+		 */
+		private long busy = 0, waited = 0;
+
+		Aggregator(int index){
+			super("dblp-aggregator-"+index);
+			this.index = index;
+			setDaemon(true);
+		}
+
+		@Override
+		public void run(){
+			try{
+				for(long first = (long) index * BATCH; ; first += (long) BATCH * numberOfAggregators){
+					long available = waitForBatch(first + BATCH);
+					if(available <= first) break;
+					long start = System.nanoTime();
+					long end = Math.min(first + BATCH, available);
+					for(long sequence=first; sequence<end; sequence++)
+						handler.publish(slots[(int) (sequence & (SIZE - 1))]);
+					busy += System.nanoTime() - start;
+					progress.set(index, first + (long) BATCH * numberOfAggregators);
+				}
+			}catch(Throwable t){
+				if(error == null)
+					error = t;
+			}finally{
+				progress.set(index, Long.MAX_VALUE);
+			}
+		}
+
+		/**
+		 * @param end: sequence number after the batch.
+		 * @return The number of published publications: at least end, or less<br/>
+		 * if the document has ended.
+		 */
+		private long waitForBatch(long end){
+			long available = published;
+			if(available >= end) return available;
+			long start = System.nanoTime();
+			for(int spins=0; ; spins++){
+				boolean last = done;
+				available = published;
+				if(available >= end || last) break;
+				pause(spins);
+			}
+			waited += System.nanoTime() - start;
+			return available;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+package org.dblp.parser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Selects the publications which are analyzed, e.g. the articles of journals<br/>
+ * from 2010 to 2020: "type=article;key=journals/*;year=2010-2020".<br/>
+ * The expression is a list of conditions separated by ';' which must all<br/>
+ * hold. A condition lists the values it allows, separated by ',':<br/>
+ * type=t1,t2 : name of the publication element.<br/>
+ * key=p1,p2 : beginning of the key, with or without a final '*'.<br/>
+ * year=y1-y2 : year from y1 to y2. y1 or y2 can be left out, e.g. 2010- or<br/>
+ * -2020, and a single year is written y1. Publications without year are<br/>
+ * rejected.<br/>
+ * The type and the key are checked at the start tag of the publication<br/>
+ * (see PublicationHandler.accept), the year as soon as the year element was<br/>
+ * read (see PublicationHandler.acceptYear); the rest of a rejected<br/>
+ * publication is skipped.
+ * @author SergeOliver
+ *
+ */
+public class RecordFilter {
+
+	/**
+	 * Allowed publication types, empty to allow all of them.
+	 */
+	private final Set<String> types = new HashSet<>();
+
+	/**
+	 * Allowed beginnings of keys, empty to allow all keys.
+	 */
+	private final List<String> keyPrefixes = new ArrayList<>();
+
+	/**
+	 * Is there a condition on the year?
+	 */
+	private boolean years = false;
+
+	private int fromYear = Integer.MIN_VALUE;
+
+	private int toYear = Integer.MAX_VALUE;
+
+	private final String expression;
+
+	private RecordFilter(String expression){
+		this.expression = expression;
+	}
+
+	/**
+	 * @param expression e.g. "type=article,inproceedings;year=2010-2020".
+	 * @return The filter.
+	 * @throws IllegalArgumentException if the expression is malformed.
+	 */
+	public static RecordFilter parse(String expression){
+		RecordFilter filter = new RecordFilter(expression);
+		for(String condition : expression.split(";")){
+			condition = condition.trim();
+			if(condition.isEmpty()) continue;
+			int equals = condition.indexOf('=');
+			if(equals < 0)
+				throw new IllegalArgumentException("Malformed filter condition "+condition);
+			String name = condition.substring(0, equals).trim();
+			String[] values = condition.substring(equals + 1).split(",");
+			if(name.equals("type")){
+				for(String value : values)
+					filter.types.add(value.trim());
+			}else if(name.equals("key")){
+				for(String value : values){
+					value = value.trim();
+					filter.keyPrefixes.add(value.endsWith("*") ? value.substring(0, value.length() - 1) : value);
+				}
+			}else if(name.equals("year")){
+				if(values.length != 1)
+					throw new IllegalArgumentException("The filter allows one range of years: "+condition);
+				filter.parseYears(values[0].trim());
+			}else
+				throw new IllegalArgumentException("Unknown filter condition "+name+", known conditions: type, key, year");
+		}
+		return filter;
+	}
+
+	/**
+	 * @param range: y1-y2, y1-, -y2 or y1.
+	 */
+	private void parseYears(String range){
+		try {
+			int dash = range.indexOf('-');
+			if(dash < 0){
+				fromYear = toYear = Integer.parseInt(range);
+			}else{
+				if(dash > 0)
+					fromYear = Integer.parseInt(range.substring(0, dash).trim());
+				if(dash < range.length() - 1)
+					toYear = Integer.parseInt(range.substring(dash + 1).trim());
+			}
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Malformed range of years "+range);
+		}
+		years = true;
+	}
+
+	/**
+	 * @param type: name of the publication element.
+	 * @param key of the publication or null.
+	 * @return True if the type and the key of the publication are allowed.
+	 */
+	public boolean accept(String type, String key){
+		if(!types.isEmpty() && !types.contains(type))
+			return false;
+		if(keyPrefixes.isEmpty())
+			return true;
+		if(key == null)
+			return false;
+		for(String prefix : keyPrefixes){
+			if(key.startsWith(prefix))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return True if the filter has a condition on the year.
+	 */
+	public boolean hasYears(){
+		return years;
+	}
+
+	/**
+	 * @param year of the publication, -1 if it has no valid year.
+	 * @return True if the year is allowed.
+	 */
+	public boolean acceptYear(int year){
+		return !years || (year != -1 && year >= fromYear && year <= toYear);
+	}
+
+	@Override
+	public String toString(){
+		return expression;
+	}
+}
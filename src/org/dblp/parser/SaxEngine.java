@@ -0,0 +1,47 @@
+package org.dblp.parser;
+
+import java.io.IOException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+/**
+ * Parses the XML document with a SAX parser which notifies the handler of<br/>
+ * each element and character data.
+ * @author SergeOliver
+ *
+ */
+public class SaxEngine implements ParserEngine {
+
+	private final SAXParserFactory spf = SAXParserFactory.newInstance();
+
+	/**
+	 * Resolves the DTD, or null to load the DTD file.
+	 */
+	private final DblpDtd dtd;
+
+	public SaxEngine(){
+		this(false);
+	}
+
+	/**
+	 * @param builtInDtd: true to take the entities from DblpDtd instead of<br/>
+	 * loading the DTD file.
+	 */
+	public SaxEngine(boolean builtInDtd){
+		dtd = builtInDtd ? new DblpDtd() : null;
+	}
+
+	@Override
+	public void parse(InputSource source, PublicationHandler handler) throws ParserConfigurationException, SAXException, IOException {
+		XMLReader xmlR = spf.newSAXParser().getXMLReader();
+		xmlR.setContentHandler(handler);
+		if(dtd != null)
+			xmlR.setEntityResolver(dtd);
+		xmlR.parse(source);
+	}
+}
@@ -0,0 +1,224 @@
+package org.dblp.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.dblp.field.Publication;
+import org.dblp.helper.IntKey;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * Parses the XML document with a StAX pull parser (XMLStreamReader).<br/>
+ * Pulls one publication element at a time and reads only the text of the<br/>
+ * fields which are analyzed: author, editor, title, year, crossref and pages,<br/>
+ * if the handler reads them (see PublicationHandler.project).<br/>
+ * The other fields are skipped without reading their text.<br/>
+ * Which publications are skipped is decided by the handler (see<br/>
+ * PublicationHandler.accept), as for the other engines, so it gives the<br/>
+ * same publications to the handler as the SAX parser.
+ * @author SergeOliver
+ *
+ */
+public class StaxEngine implements ParserEngine {
+
+	private final XMLInputFactory factory = XMLInputFactory.newInstance();
+
+	private final Publication publication = new Publication();
+
+	/**
+	 * Text of the current field.
+	 */
+	private char[] text = new char[256];
+
+	private int textLength = 0;
+
+	/**
+	 * Which fields does the handler read?
+	 */
+	private boolean readPersons, readTitle, readYear, readEe, readCrossref, readPages;
+
+	public StaxEngine(){
+		this(false);
+	}
+
+	/**
+	 * @param builtInDtd: true to take the entities from DblpDtd instead of<br/>
+	 * loading the DTD file.
+	 */
+	public StaxEngine(boolean builtInDtd){
+		if(builtInDtd)
+			factory.setXMLResolver(new DblpDtd());
+		factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.TRUE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+	}
+
+	@Override
+	public void parse(InputSource source, PublicationHandler handler) throws SAXException, IOException {
+		readPersons = handler.reads("author") || handler.reads("editor");
+		readTitle = handler.reads("title");
+		readYear = handler.reads("year");
+		readEe = handler.reads("ee");
+		readCrossref = handler.reads("crossref");
+		readPages = handler.reads("pages");
+		InputStream in = source.getByteStream();
+		boolean opened = (in == null);
+		if(opened)
+			in = new URL(source.getSystemId()).openStream();
+		try {
+			XMLStreamReader reader = factory.createXMLStreamReader(source.getSystemId(), in);
+			int level = 0;
+			while(reader.hasNext()){
+				int event = reader.next();
+				if(event == XMLStreamConstants.START_ELEMENT){
+					if(++level == 2){
+						parsePublication(reader, handler);
+						--level;//the reader is on the end tag of the publication
+					}
+				}else if(event == XMLStreamConstants.END_ELEMENT)
+					--level;
+			}
+			reader.close();
+		} catch (XMLStreamException e) {
+			throw new SAXException(e.getMessage(), e);
+		} finally {
+			if(opened)
+				in.close();
+		}
+	}
+
+	/**
+	 * Reads a publication element up to its end tag and gives it to the handler.
+	 * @param reader: positioned on the start tag of the publication.
+	 * @param handler
+	 * @throws XMLStreamException
+	 */
+	private void parsePublication(XMLStreamReader reader, PublicationHandler handler) throws XMLStreamException{
+		String type = reader.getLocalName();
+		String key = reader.getAttributeValue(null, "key");
+		String mdate = reader.getAttributeValue(null, "mdate");
+		if(!handler.accept(type, key, mdate)){
+			skipElement(reader);
+			return;
+		}
+		publication.setType(type);
+		publication.setKey(key);
+		publication.setMdate(mdate);
+		while(reader.next() != XMLStreamConstants.END_ELEMENT){
+			if(reader.getEventType() != XMLStreamConstants.START_ELEMENT)
+				continue;//white spaces between the fields
+			publication.incrementNumberOfFields();
+			String name = reader.getLocalName();
+			switch(name){
+			case "author":
+			case "editor":
+				if(!readPersons){
+					skipElement(reader);
+					break;
+				}
+				readText(reader);
+				publication.appendPersonName(text, 0, textLength);
+				publication.endPersonName();
+				break;
+			case "title":
+				if(!readTitle || key.startsWith("homepages"))
+					skipElement(reader);
+				else{
+					readText(reader);
+					publication.appendTitle(text, 0, textLength);
+				}
+				break;
+			case "year":
+				if(!readYear){
+					skipElement(reader);
+					break;
+				}
+				readText(reader);
+				publication.setYear(IntKey.valueOf(IntKey.parseInt(text, 0, textLength)));
+				if(!handler.acceptYear(publication.getYear())){
+					skipElement(reader);//rest of the publication
+					publication.reset();
+					return;
+				}
+				break;
+			case "ee":
+				publication.setEe(readEe);
+				skipElement(reader);
+				break;
+			case "crossref":
+				if(readCrossref){
+					readText(reader);
+					publication.appendCrossref(text, 0, textLength);
+				}else
+					skipElement(reader);
+				break;
+			case "pages":
+				if(readPages){
+					readText(reader);
+					publication.appendPages(text, 0, textLength);
+				}else
+					skipElement(reader);
+				break;
+			default:
+				skipElement(reader);
+			}
+		}
+		if(handler.acceptYear(publication.getYear()))
+			handler.publish(publication);
+		publication.reset();
+	}
+
+	/**
+	 * Concatenates the text of an element and of the elements inside it<br/>
+	 * into text[0..textLength[<br/>
+	 * e.g. &lt;title&gt;2&lt;sup&gt;m&lt;/sup&gt; DFTs&lt;/title&gt; -> 2m DFTs
+	 * @param reader: positioned on the start tag of the element. It is then<br/>
+	 * positioned on the end tag of the element.
+	 * @throws XMLStreamException
+	 */
+	private void readText(XMLStreamReader reader) throws XMLStreamException{
+		textLength = 0;
+		int depth = 1;
+		while(depth > 0){
+			int event = reader.next();
+			if(event == XMLStreamConstants.START_ELEMENT)
+				++depth;
+			else if(event == XMLStreamConstants.END_ELEMENT)
+				--depth;
+			else if(event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+					|| event == XMLStreamConstants.SPACE)
+				append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+		}
+	}
+
+	private void append(char[] ch, int start, int length){
+		if(textLength + length > text.length)
+			text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + length));
+		System.arraycopy(ch, start, text, textLength, length);
+		textLength += length;
+	}
+
+	/**
+	 * Goes to the end tag of an element without reading its text.
+	 * @param reader: positioned on the start tag of the element.
+	 * @throws XMLStreamException
+	 */
+	private void skipElement(XMLStreamReader reader) throws XMLStreamException{
+		int depth = 1;
+		while(depth > 0){
+			int event = reader.next();
+			if(event == XMLStreamConstants.START_ELEMENT)
+				++depth;
+			else if(event == XMLStreamConstants.END_ELEMENT)
+				--depth;
+		}
+	}
+}
@@ -0,0 +1,315 @@
+package org.dblp.parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * A part of the dblp XML document which starts and ends on the boundary of<br/>
+ * publication elements (level 2 of the dblp XML tree).<br/>
+ * The part is read as a XML document on its own: the prolog of the dblp XML<br/>
+ * document (xml declaration, doctype and &lt;dblp&gt;), the bytes of the part<br/>
+ * and &lt;/dblp&gt;.
+ * @author SergeOliver
+ *
+ */
+public class XmlChunk {
+
+	/**
+	 * Names of the publication elements of the dblp XML document.
+	 */
+	public static final String[] PUBLICATION_TYPES = {
+		"article", "inproceedings", "proceedings", "book", "incollection",
+		"phdthesis", "mastersthesis", "www", "person", "data"
+	};
+
+	/**
+	 * Number of bytes read at once while looking for a boundary.
+	 */
+	private static final int WINDOW = 1 << 20;
+
+	private static final byte[] END_OF_DOCUMENT = "</dblp>".getBytes();
+
+	private final File file;
+
+	/**
+	 * Offset of the first byte of the part.
+	 */
+	private final long start;
+
+	/**
+	 * Offset of the first byte after the part.
+	 */
+	private final long end;
+
+	/**
+	 * Bytes of the dblp XML document from the beginning up to &lt;dblp&gt;.
+	 */
+	private final byte[] prolog;
+
+	public XmlChunk(File file, long start, long end, byte[] prolog){
+		this.file = file;
+		this.start = start;
+		this.end = end;
+		this.prolog = prolog;
+	}
+
+	/**
+	 * @return The part as an input stream of a XML document which has the same<br/>
+	 * prolog as the dblp XML document. The caller has to close the stream.
+	 * @throws IOException
+	 */
+	public InputStream openStream() throws IOException{
+		List<InputStream> streams = new ArrayList<>();
+		streams.add(new ByteArrayInputStream(prolog));
+		streams.add(new RangeInputStream(file, start, end));
+		streams.add(new ByteArrayInputStream(END_OF_DOCUMENT));
+		return new SequenceInputStream(Collections.enumeration(streams));
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return Bytes of the dblp XML document from the beginning up to &lt;dblp&gt;.
+	 */
+	public byte[] getProlog() {
+		return prolog;
+	}
+
+	public long getStart() {
+		return start;
+	}
+
+	public long getEnd() {
+		return end;
+	}
+
+	/**
+	 * Splits the dblp XML document in parts of nearly the same size.
+	 * @param file: dblp XML document.
+	 * @param numberOfChunks: wished number of parts.
+	 * @return List of parts in the order of the document. Can be shorter than<br/>
+	 * numberOfChunks for small documents.
+	 * @throws IOException
+	 */
+	public static List<XmlChunk> split(File file, int numberOfChunks) throws IOException{
+		List<XmlChunk> chunks = new ArrayList<>();
+		try(RandomAccessFile raf = new RandomAccessFile(file, "r")){
+			FileChannel channel = raf.getChannel();
+			byte[] prolog = readProlog(channel);
+			long bodyEnd = findEndOfDocument(channel);
+			long bodyStart = findBoundary(channel, prolog.length, bodyEnd);
+			long previous = bodyStart;
+			for(int i=1; i<=numberOfChunks; i++){
+				long next = (i == numberOfChunks) ? bodyEnd :
+					findBoundary(channel, bodyStart + (bodyEnd - bodyStart) * i / numberOfChunks, bodyEnd);
+				if(next > previous){
+					chunks.add(new XmlChunk(file, previous, next, prolog));
+					previous = next;
+				}
+			}
+		}
+		return chunks;
+	}
+
+	/**
+	 * Splits the dblp XML document, from a given offset on, in parts of<br/>
+	 * nearly the same number of bytes.
+	 * @param file: dblp XML document.
+	 * @param position: offset of the first part, which is a boundary returned<br/>
+	 * by getEnd, or 0 for the beginning of the document.
+	 * @param size: wished number of bytes of a part.
+	 * @return List of parts in the order of the document. Empty if there is<br/>
+	 * no publication after position.
+	 * @throws IOException
+	 */
+	public static List<XmlChunk> split(File file, long position, long size) throws IOException{
+		List<XmlChunk> chunks = new ArrayList<>();
+		try(RandomAccessFile raf = new RandomAccessFile(file, "r")){
+			FileChannel channel = raf.getChannel();
+			byte[] prolog = readProlog(channel);
+			long bodyEnd = findEndOfDocument(channel);
+			long previous = findBoundary(channel, Math.max(position, prolog.length), bodyEnd);
+			while(previous < bodyEnd){
+				long next = findBoundary(channel, previous + size, bodyEnd);
+				chunks.add(new XmlChunk(file, previous, next, prolog));
+				previous = next;
+			}
+		}
+		return chunks;
+	}
+
+	/**
+	 * Parses the part with an engine.
+	 * @param engine
+	 * @param handler which receives the publications of the part.
+	 * @throws ParserConfigurationException
+	 * @throws SAXException
+	 * @throws IOException
+	 */
+	public void parse(ParserEngine engine, PublicationHandler handler) throws ParserConfigurationException, SAXException, IOException{
+		if(engine instanceof MappedEngine){//maps the part directly
+			((MappedEngine) engine).parse(this, handler);
+			return;
+		}
+		try(InputStream in = openStream()){
+			InputSource source = new InputSource(in);
+			source.setSystemId(file.toURI().toString());//to find the DTD next to the XML document
+			engine.parse(source, handler);
+		}
+	}
+
+	/**
+	 * @param channel
+	 * @return Bytes from the beginning of the document up to and including &lt;dblp&gt;.
+	 * @throws IOException
+	 */
+	static byte[] readProlog(FileChannel channel) throws IOException{
+		byte[] head = read(channel, 0, WINDOW);
+		int root = indexOf(head, "<dblp".getBytes(), 0);
+		int close = (root < 0) ? -1 : indexOf(head, new byte[]{'>'}, root);
+		if(close < 0)
+			throw new IOException("The root element <dblp> was not found");
+		return Arrays.copyOf(head, close + 1);
+	}
+
+	/**
+	 * @param channel
+	 * @return Offset of &lt;/dblp&gt;.
+	 * @throws IOException
+	 */
+	static long findEndOfDocument(FileChannel channel) throws IOException{
+		long size = channel.size();
+		long from = Math.max(0, size - WINDOW);
+		byte[] tail = read(channel, from, (int) (size - from));
+		for(int i = tail.length - END_OF_DOCUMENT.length; i >= 0; i--){
+			if(startsWith(tail, i, END_OF_DOCUMENT))
+				return from + i;
+		}
+		throw new IOException("The end tag </dblp> was not found");
+	}
+
+	/**
+	 * Looks for the first publication start tag at the beginning of a line<br/>
+	 * e.g. "\n&lt;article ".
+	 * @param channel
+	 * @param position: offset from which the search starts.
+	 * @param limit: offset at which the search stops.
+	 * @return Offset of the character '&lt;' of the start tag, or limit if there is none.
+	 * @throws IOException
+	 */
+	static long findBoundary(FileChannel channel, long position, long limit) throws IOException{
+		long from = Math.max(0, position - 1);
+		while(from < limit){
+			int length = (int) Math.min(WINDOW, limit - from);
+			byte[] window = read(channel, from, length);
+			for(int i=0; i+1<window.length; i++){
+				if(window[i] == '\n' && window[i+1] == '<' && isPublicationStart(window, i + 1))
+					return from + i + 1;
+			}
+			if(from + length >= limit) break;
+			from += length - 32;//a start tag can overlap two windows
+		}
+		return limit;
+	}
+
+	/**
+	 * @param bytes
+	 * @param offset: position of the character '&lt;'.
+	 * @return True if a publication start tag begins at offset and false else.
+	 */
+	static boolean isPublicationStart(byte[] bytes, int offset){
+		for(String type : PUBLICATION_TYPES){
+			int next = offset + 1 + type.length();
+			if(next < bytes.length && startsWith(bytes, offset + 1, type.getBytes())
+					&& (bytes[next] == ' ' || bytes[next] == '>'))
+				return true;
+		}
+		return false;
+	}
+
+	private static byte[] read(FileChannel channel, long position, int length) throws IOException{
+		length = (int) Math.max(0, Math.min(length, channel.size() - position));
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while(buffer.hasRemaining()){
+			if(channel.read(buffer, position + buffer.position()) < 0) break;
+		}
+		return Arrays.copyOf(buffer.array(), buffer.position());
+	}
+
+	private static int indexOf(byte[] bytes, byte[] pattern, int from){
+		for(int i=from; i+pattern.length<=bytes.length; i++){
+			if(startsWith(bytes, i, pattern))
+				return i;
+		}
+		return -1;
+	}
+
+	private static boolean startsWith(byte[] bytes, int offset, byte[] pattern){
+		if(offset + pattern.length > bytes.length) return false;
+		for(int j=0; j<pattern.length; j++){
+			if(bytes[offset + j] != pattern[j]) return false;
+		}
+		return true;
+	}
+
+	@Override
+	public String toString(){
+		return file.getName()+" ["+start+", "+end+")";
+	}
+
+	/**
+	 * Reads the bytes [start, end) of a file.<br/>
+	 * Uses positional reads, so that several threads can read the same file.
+	 */
+	private static class RangeInputStream extends InputStream {
+
+		private final RandomAccessFile raf;
+		private final FileChannel channel;
+		private long position;
+		private final long end;
+
+		RangeInputStream(File file, long start, long end) throws IOException{
+			raf = new RandomAccessFile(file, "r");
+			channel = raf.getChannel();
+			position = start;
+			this.end = end;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return (read(b, 0, 1) < 0) ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if(position >= end) return -1;
+			len = (int) Math.min(len, end - position);
+			int n = channel.read(ByteBuffer.wrap(b, off, len), position);
+			if(n > 0) position += n;
+			return n;
+		}
+
+		@Override
+		public void close() throws IOException {
+			raf.close();
+		}
+	}
+}
@@ -1,11 +1,13 @@
 /**
- * Contains the only one class MyParser.java<br/>
- * It is the main class of the application because it contains the main method <br/>
+ * Contains the class MyParser.java and the classes it uses to parse the dblp XML document.<br/>
+ * MyParser.java is the main class of the application because it contains the main method <br/>
  * and the functionalities of the SAX parser. 
+ * PublicationHandler.java collects the data of each publication, ParallelParser.java<br/>
+ * parses parts of the document (XmlChunk.java) with several threads.
  * 
  */
 /**
  * @author SergeOliver
  *
  */
-package org.dblp.parser;
\ No newline at end of file
+package org.dblp.parser;